@@ -0,0 +1,449 @@
+package com.example.template.common.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 业务缓存配置属性
+ * 用于配置 Cache 中各类缓存策略的行为
+ *
+ * @author hzh
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache")
+public class CacheProperties {
+
+    /**
+     * 空值缓存的过期时间，单位：秒，用于防止缓存穿透
+     */
+    private long nullValueTtl = 60;
+
+    /**
+     * 缓存失效传播配置
+     */
+    private Invalidation invalidation = new Invalidation();
+
+    /**
+     * 异步写回配置
+     */
+    private WriteBehind writeBehind = new WriteBehind();
+
+    /**
+     * 提前刷新配置
+     */
+    private Refresh refresh = new Refresh();
+
+    /**
+     * 布隆过滤器配置
+     */
+    private BloomFilter bloomFilter = new BloomFilter();
+
+    /**
+     * 热点 key 探测配置
+     */
+    private HotKey hotKey = new HotKey();
+
+    /**
+     * 缓存编解码配置
+     */
+    private Codec codec = new Codec();
+
+    /**
+     * 缓存预热配置
+     */
+    private Warmup warmup = new Warmup();
+
+    /**
+     * 本地缓存快照配置
+     */
+    private Snapshot snapshot = new Snapshot();
+
+    /**
+     * 标签失效配置
+     */
+    private Tag tag = new Tag();
+
+    /**
+     * 近端缓存配置
+     */
+    private NearCache nearCache = new NearCache();
+
+    /**
+     * 分区缓存配置
+     */
+    private Partition partition = new Partition();
+
+    /**
+     * 缓存指标配置
+     */
+    private Metrics metrics = new Metrics();
+
+    /**
+     * Invalidation 类用于配置集群内本地缓存失效传播的属性
+     */
+    @Data
+    public static class Invalidation {
+        /**
+         * 是否开启失效传播
+         */
+        private boolean enable = true;
+
+        /**
+         * 失效消息发布订阅的频道名称
+         */
+        private String topic = "cache:invalidation";
+
+        /**
+         * 失效消息合并发送的时间窗口，单位：毫秒
+         */
+        private long flushInterval = 10;
+
+        /**
+         * 单条失效消息最多携带的 key 数量，达到后立即发送
+         */
+        private int maxBatchSize = 500;
+    }
+
+    /**
+     * WriteBehind 类用于配置异步写回（Write-Behind）的属性
+     */
+    @Data
+    public static class WriteBehind {
+        /**
+         * 缓冲区在 Redis 中的 key 前缀，每个命名空间一个 Hash
+         */
+        private String keyPrefix = "cache:write-behind:";
+
+        /**
+         * 定时刷新间隔，单位：毫秒
+         */
+        private long flushInterval = 1000;
+
+        /**
+         * 批量写入数据库的大小，缓冲写入次数达到该值时立即触发刷新
+         */
+        private int batchSize = 200;
+    }
+
+    /**
+     * Refresh 类用于配置过期后仍可读和提前刷新的属性
+     */
+    @Data
+    public static class Refresh {
+        /**
+         * XFetch 提前刷新系数，大于 1 更倾向于提前刷新，小于 1 更倾向于接近软过期时才刷新
+         */
+        private double beta = 1.0;
+    }
+
+    /**
+     * BloomFilter 类用于配置防止缓存穿透的布隆过滤器属性
+     */
+    @Data
+    public static class BloomFilter {
+        /**
+         * 布隆过滤器在 Redis 中的 key 前缀
+         */
+        private String keyPrefix = "cache:bloom:";
+
+        /**
+         * 全量重建间隔，单位：分钟
+         */
+        private long rebuildInterval = 360;
+
+        /**
+         * 本地刷新当前过滤器名称和检查是否需要重建的间隔，单位：秒
+         */
+        private long checkInterval = 30;
+
+        /**
+         * 重建期间新增元素的保留时间，单位：分钟，用于弥补重建过程中的写入
+         */
+        private long recentRetention = 10;
+
+        /**
+         * 用户账号、邮箱、手机号过滤器的预计元素数量
+         */
+        private long userExpectedInsertions = 1000000;
+    }
+
+    /**
+     * HotKey 类用于配置热点 key 自动探测的属性
+     */
+    @Data
+    public static class HotKey {
+        /**
+         * 是否开启热点 key 探测
+         */
+        private boolean enable = true;
+
+        /**
+         * 采样率，每 N 次 Redis 读取记录一次，1 表示全部记录
+         */
+        private int sampleRate = 1;
+
+        /**
+         * 计数矩阵宽度，会向上取整为 2 的幂
+         */
+        private int sketchWidth = 65536;
+
+        /**
+         * 热点阈值，采样计数达到该值的 key 被视为热点
+         */
+        private int threshold = 100;
+
+        /**
+         * 计数减半的间隔，单位：秒
+         */
+        private long decayInterval = 60;
+
+        /**
+         * 热点 key 在本地缓存中的过期时间，单位：秒
+         */
+        private long hotTtl = 3600;
+
+        /**
+         * 保留和持久化的热点 key 数量上限
+         */
+        private int topN = 100;
+
+        /**
+         * 持久化热点集合的间隔，单位：秒
+         */
+        private long persistInterval = 60;
+
+        /**
+         * 持久化热点集合的 Redis key
+         */
+        private String redisKey = "cache:hot-keys";
+    }
+
+    /**
+     * Codec 类用于配置 RedisTemplate 和 Redisson 共用的缓存编解码器
+     */
+    @Data
+    public static class Codec {
+        /**
+         * 默认写入格式，可选 JSON、SMILE
+         */
+        private String format = "SMILE";
+
+        /**
+         * 压缩阈值，序列化结果超过该字节数时使用 LZ4 压缩，单位：字节，小于等于 0 表示不压缩
+         */
+        private int compressThreshold = 1024;
+
+        /**
+         * 按命名空间单独指定写入格式，key 为命名空间，value 为格式
+         */
+        private Map<String, String> namespaces = new HashMap<>();
+    }
+
+    /**
+     * Warmup 类用于配置应用启动后缓存预热的属性
+     */
+    @Data
+    public static class Warmup {
+        /**
+         * 是否开启缓存预热
+         */
+        private boolean enable = true;
+
+        /**
+         * 每个分片的 key 数量，一个分片对应一次 MGET
+         */
+        private int chunkSize = 200;
+
+        /**
+         * 并行处理分片的线程数
+         */
+        private int parallelism = 4;
+
+        /**
+         * 预热的时间预算，超时后取消未完成的分片，单位：秒
+         */
+        private long timeBudget = 30;
+    }
+
+    /**
+     * Snapshot 类用于配置本地缓存磁盘快照的属性
+     */
+    @Data
+    public static class Snapshot {
+        /**
+         * 是否开启本地缓存快照
+         */
+        private boolean enable = false;
+
+        /**
+         * 快照目录
+         */
+        private String directory = "./data/cache-snapshot";
+
+        /**
+         * 快照间隔，单位：秒
+         */
+        private long interval = 300;
+
+        /**
+         * 快照保存的最大条目数，按热度从高到低选取
+         */
+        private int maxEntries = 10000;
+
+        /**
+         * 单个段文件的最大字节数
+         */
+        private long segmentSize = 64L * 1024 * 1024;
+
+        /**
+         * 快照的最长保留时间，启动时超过该时间的快照不再加载，单位：秒
+         */
+        private long maxAge = 600;
+    }
+
+    /**
+     * Tag 类用于配置基于标签的批量失效的属性
+     */
+    @Data
+    public static class Tag {
+        /**
+         * 标签代号的 Redis key 前缀
+         */
+        private String keyPrefix = "cache:tag:";
+
+        /**
+         * 标签失效消息频道
+         */
+        private String topic = "cache:tag-invalidation";
+
+        /**
+         * 标签代号在本地缓存的时间，单位：秒，未收到失效消息时最迟在该时间后感知失效
+         */
+        private long generationTtl = 5;
+
+        /**
+         * 本地缓存的标签数量上限
+         */
+        private long maxLocalTags = 100000;
+    }
+
+    /**
+     * NearCache 类用于配置基于 Redisson RLocalCachedMap 的近端缓存的属性
+     */
+    @Data
+    public static class NearCache {
+        /**
+         * 近端缓存 Hash 的 Redis key 前缀，每个命名空间一个 Hash
+         */
+        private String keyPrefix = "cache:near:";
+
+        /**
+         * 每个命名空间本地保存的条目数量上限
+         */
+        private int cacheSize = 10000;
+
+        /**
+         * 本地条目的存活时间，单位：秒，条目变化时由 Redis 通知失效，该时间只用于回收长期不变的条目
+         */
+        private long localTtl = 600;
+
+        /**
+         * 过期字段清理间隔，单位：秒，小于等于 0 表示只在读取时删除
+         */
+        private long sweepInterval = 300;
+
+        /**
+         * 过期字段清理时每次扫描和删除的字段数量
+         */
+        private int sweepBatchSize = 500;
+    }
+
+    /**
+     * Partition 类用于配置按一致性哈希划分 key 所有者的分区缓存的属性
+     */
+    @Data
+    public static class Partition {
+        /**
+         * 是否启用分区缓存，未启用时分区缓存等同于两级缓存
+         */
+        private boolean enable = false;
+
+        /**
+         * 节点间通信的监听地址，同时对其他节点公布，为空时使用本机地址，应配置为内网地址
+         */
+        private String host = "";
+
+        /**
+         * 节点间通信的共享密钥，建立连接后以 HMAC-SHA256 签名认证，启用时必须配置
+         */
+        private String secret = "";
+
+        /**
+         * 认证签名允许的时间偏差，单位：毫秒
+         */
+        private long authMaxSkew = 30000;
+
+        /**
+         * 节点间通信端口
+         */
+        private int port = 9900;
+
+        /**
+         * 节点成员列表的 Redis key
+         */
+        private String membersKey = "cache:partition:members";
+
+        /**
+         * 心跳间隔，单位：秒
+         */
+        private long heartbeatInterval = 5;
+
+        /**
+         * 节点超过该时间没有心跳视为下线，单位：秒
+         */
+        private long memberTimeout = 15;
+
+        /**
+         * 每个节点在哈希环上的虚拟节点数量
+         */
+        private int virtualNodes = 160;
+
+        /**
+         * 连接超时时间，单位：毫秒
+         */
+        private int connectTimeout = 500;
+
+        /**
+         * 连接失败后的重连退避时间，单位：毫秒，退避期内发往该节点的请求直接回退
+         */
+        private long reconnectBackoff = 1000;
+
+        /**
+         * 请求超时时间，单位：毫秒，超时后回退到直接读取 Redis
+         */
+        private long requestTimeout = 200;
+
+        /**
+         * 单个消息的最大字节数
+         */
+        private int maxFrameLength = 16 * 1024 * 1024;
+    }
+
+    /**
+     * Metrics 类用于配置缓存指标的属性
+     */
+    @Data
+    public static class Metrics {
+        /**
+         * 单独统计的命名空间，其余命名空间统一以 "other" 作为标签，避免标签数量随 key 无限增长
+         */
+        private Set<String> namespaces = new HashSet<>();
+    }
+}
@@ -4,6 +4,11 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Caffeine配置属性
  *
@@ -30,9 +35,113 @@ public class CaffeineProperties {
      */
     private Integer maxCapacity = 10000;
 
+    /**
+     * 缓存最大字节数，按序列化后的大小估算，大于 0 时代替 maxCapacity 限制容量
+     */
+    private Long maxWeight = 0L;
+
     /**
      * 是否允许空值null作为缓存的value
      */
     private Boolean allowNullValue = true;
 
+    /**
+     * 本地缓存分区，key 为分区名称
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    /**
+     * 堆外存储配置
+     */
+    private OffHeap offHeap = new OffHeap();
+
+    /**
+     * 过期策略
+     */
+    public enum ExpirePolicy {
+        /**
+         * 写入后固定时间过期
+         */
+        AFTER_WRITE,
+        /**
+         * 最后一次访问后固定时间过期
+         */
+        AFTER_ACCESS,
+        /**
+         * 写入后固定时间过期，允许单个条目（如空值、热点 key）指定不同的过期时间
+         */
+        VARIABLE
+    }
+
+    /**
+     * Region 类用于配置单个本地缓存分区的属性
+     */
+    @Data
+    public static class Region {
+        /**
+         * 过期时间，单位：秒
+         */
+        private Long expired = 1800L;
+
+        /**
+         * 过期策略
+         */
+        private ExpirePolicy policy = ExpirePolicy.VARIABLE;
+
+        /**
+         * 最大条目数，maxWeight 大于 0 时不生效
+         */
+        private Integer maxCapacity = 10000;
+
+        /**
+         * 最大字节数，按序列化后的大小估算，小于等于 0 表示按条目数限制
+         */
+        private Long maxWeight = 64L * 1024 * 1024;
+
+        /**
+         * 路由到该分区的命名空间（缓存 key 第一个 ':' 之前的部分），为空时使用分区名称
+         */
+        private List<String> namespaces = new ArrayList<>();
+    }
+
+    /**
+     * OffHeap 类用于配置本地缓存堆外存储的属性
+     */
+    @Data
+    public static class OffHeap {
+        /**
+         * 是否开启堆外存储
+         */
+        private boolean enable = false;
+
+        /**
+         * 字节预算，单位：字节，需小于 JVM 参数 -XX:MaxDirectMemorySize
+         */
+        private long maxBytes = 256L * 1024 * 1024;
+
+        /**
+         * 序列化后超过该字节数的值写入堆外存储，单位：字节
+         */
+        private int threshold = 16 * 1024;
+
+        /**
+         * 块大小，单位：字节
+         */
+        private int blockSize = 4 * 1024;
+
+        /**
+         * 每次向操作系统申请的直接内存大小，单位：字节
+         */
+        private int slabSize = 4 * 1024 * 1024;
+
+        /**
+         * 分段数，每段平分字节预算并各自加锁，会向上取整为 2 的幂
+         */
+        private int segments = 16;
+
+        /**
+         * 过期条目清理间隔，单位：秒，小于等于 0 表示只在读取时回收
+         */
+        private long sweepInterval = 60;
+    }
 }
\ No newline at end of file
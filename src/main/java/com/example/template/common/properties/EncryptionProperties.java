@@ -30,6 +30,36 @@ public class EncryptionProperties {
      */
     private Integer hashIterations;
 
+    /**
+     * PBKDF2 单次哈希的目标耗时，单位：毫秒，启动时据此校准迭代次数
+     */
+    private long kdfTargetMillis = 50;
+
+    /**
+     * PBKDF2 最小迭代次数，校准结果不低于该值
+     */
+    private int kdfMinIterations = 100000;
+
+    /**
+     * PBKDF2 最大迭代次数，校准结果不高于该值
+     */
+    private int kdfMaxIterations = 2000000;
+
+    /**
+     * PBKDF2 固定迭代次数，大于 0 时不再校准，直接使用该值
+     */
+    private int kdfIterations = 0;
+
+    /**
+     * 集群共用迭代次数的 Redis key，首个完成校准的节点写入，其他节点读取，保证所有节点使用同一个值
+     */
+    private String kdfIterationsKey = "auth:kdf:iterations";
+
+    /**
+     * 等待密码哈希完成的超时时间，单位：毫秒
+     */
+    private long hashTimeout = 3000;
+
     /**
      * 密钥长度，用于确定加密密钥的长度
      */
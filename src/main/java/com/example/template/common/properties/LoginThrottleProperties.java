@@ -0,0 +1,54 @@
+package com.example.template.common.properties;
+
+import com.example.template.common.constant.CacheConstants;
+import com.example.template.common.constant.UserConstants;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 登录失败限制配置属性
+ * 按账号和 IP 分别统计失败次数，达到上限后锁定，锁定时间随连续锁定次数成倍增长
+ *
+ * @author hzh
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "login-throttle")
+public class LoginThrottleProperties {
+
+    /**
+     * Redis key 前缀
+     */
+    private String keyPrefix = "SA-TOKEN:login:throttle:";
+
+    /**
+     * 失败次数统计窗口，单位：秒
+     */
+    private long failureWindow = CacheConstants.LOGIN_FAILED_TIMES_EXPIRATION * 60L;
+
+    /**
+     * 单个账号在统计窗口内允许的失败次数
+     */
+    private int maxAccountFailures = UserConstants.MAX_LOGIN_FAILED_TIMES;
+
+    /**
+     * 单个 IP 在统计窗口内允许的失败次数
+     */
+    private int maxIpFailures = 50;
+
+    /**
+     * 首次锁定时间，单位：秒，之后每次锁定翻倍
+     */
+    private long baseLockout = 60;
+
+    /**
+     * 最长锁定时间，单位：秒
+     */
+    private long maxLockout = 24 * 60 * 60;
+
+    /**
+     * 锁定次数的保留时间，单位：秒，超过后锁定时间重新从首次锁定时间开始
+     */
+    private long lockoutLevelTtl = 24 * 60 * 60;
+}
@@ -31,6 +31,21 @@ public class PoolProperties {
      */
     private CustomPool custom;
 
+    /**
+     * 用于配置缓存后台刷新线程池的属性
+     */
+    private CustomPool cacheRefresh;
+
+    /**
+     * 用于配置缓存异步加载线程池的属性
+     */
+    private CustomPool cacheLoad;
+
+    /**
+     * 用于配置密码哈希线程池的属性，核心线程数和最大线程数为 0 时取 CPU 核数
+     */
+    private CustomPool passwordHash;
+
 
     /**
      * ScheduledPool 类用于配置调度任务线程池的属性
@@ -0,0 +1,298 @@
+package com.example.template.config.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * 缓存编解码器，RedisTemplate 和 Redisson 共用同一套编码格式
+ * <p>
+ * 支持 JSON 和 Smile（二进制 JSON）两种格式，序列化结果超过阈值时使用 LZ4 压缩。
+ * 读取时根据首字节自动识别格式，因此可以兼容切换前以 JSON 写入的历史数据：
+ * <ul>
+ *     <li>0x01：LZ4 压缩帧，后跟 4 字节原始长度和压缩数据</li>
+ *     <li>0x02：空值标记 {@link NullValue}</li>
+ *     <li>':'：Smile 数据（Smile 头部为 ":)\n"）</li>
+ *     <li>其他：JSON 数据</li>
+ * </ul>
+ *
+ * @author hzh
+ */
+public class CacheCodec extends BaseCodec implements RedisSerializer<Object> {
+
+    /**
+     * 编码格式
+     */
+    public enum Format {
+        JSON, SMILE
+    }
+
+    // LZ4 压缩帧标记
+    private static final byte LZ4_MAGIC = 0x01;
+
+    // 空值标记
+    private static final byte NULL_VALUE_MAGIC = 0x02;
+
+    // Smile 头部首字节
+    private static final byte SMILE_MAGIC = ':';
+
+    // 压缩帧头部长度：标记 1 字节 + 原始长度 4 字节
+    private static final int LZ4_HEADER_LENGTH = 5;
+
+    private static final byte[] NULL_VALUE_BYTES = {NULL_VALUE_MAGIC};
+
+    private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+
+    private static final LZ4FastDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+
+    private final ObjectMapper jsonMapper;
+
+    private final ObjectMapper smileMapper;
+
+    // 写入使用的格式
+    private final Format format;
+
+    // 压缩阈值，序列化结果超过该字节数时压缩，小于等于 0 表示不压缩
+    private final int compressThreshold;
+
+    // 命名空间与写入格式的映射
+    private final Map<String, Format> namespaceFormats;
+
+    private final Encoder encoder = this::encode;
+
+    private final Decoder<Object> decoder = (buf, state) -> decode(buf);
+
+    /**
+     * 创建编解码器
+     *
+     * @param format            默认写入格式
+     * @param compressThreshold 压缩阈值（字节）
+     * @param namespaceFormats  命名空间单独指定的写入格式
+     */
+    public CacheCodec(Format format, int compressThreshold, Map<String, Format> namespaceFormats) {
+        this(createMapper(new ObjectMapper()), createMapper(new ObjectMapper(new SmileFactory())),
+                format, compressThreshold, namespaceFormats);
+    }
+
+    /**
+     * Redisson 在使用自定义类加载器时通过该构造函数复制编解码器
+     */
+    public CacheCodec(ClassLoader classLoader, CacheCodec codec) {
+        this(codec.jsonMapper, codec.smileMapper, codec.format, codec.compressThreshold, codec.namespaceFormats);
+    }
+
+    private CacheCodec(ObjectMapper jsonMapper, ObjectMapper smileMapper, Format format,
+                       int compressThreshold, Map<String, Format> namespaceFormats) {
+        this.jsonMapper = jsonMapper;
+        this.smileMapper = smileMapper;
+        this.format = format;
+        this.compressThreshold = compressThreshold;
+        this.namespaceFormats = namespaceFormats;
+    }
+
+    /**
+     * 获取命名空间对应的编解码器，未单独配置时返回当前编解码器
+     * 可用于 Redisson 按对象指定编解码器，例如 redissonClient.getBucket(name, codec.forNamespace(namespace))
+     *
+     * @param namespace 命名空间
+     * @return 编解码器
+     */
+    public CacheCodec forNamespace(String namespace) {
+        Format namespaceFormat = namespaceFormats.get(namespace);
+        if (namespaceFormat == null || namespaceFormat == format) {
+            return this;
+        }
+        return new CacheCodec(jsonMapper, smileMapper, namespaceFormat, compressThreshold, namespaceFormats);
+    }
+
+    /**
+     * 序列化
+     *
+     * @param value 值
+     * @return 字节数组
+     */
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        return serializeWithLength(value).bytes();
+    }
+
+    /**
+     * 序列化，同时返回压缩前的字节数，供本地缓存在堆外存储和堆内权重之间复用同一次序列化
+     *
+     * @param value 值
+     * @return 序列化结果
+     */
+    public Serialized serializeWithLength(Object value) throws SerializationException {
+        if (value == null) {
+            return new Serialized(new byte[0], 0);
+        }
+        if (value instanceof NullValue) {
+            return new Serialized(NULL_VALUE_BYTES, NULL_VALUE_BYTES.length);
+        }
+        byte[] bytes;
+        try {
+            bytes = (format == Format.SMILE ? smileMapper : jsonMapper).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("缓存序列化失败：" + e.getMessage(), e);
+        }
+        return new Serialized(compressThreshold > 0 && bytes.length > compressThreshold ? compress(bytes) : bytes,
+                bytes.length);
+    }
+
+    /**
+     * 计算未压缩的序列化字节数，写入计数流而不分配字节数组，也不压缩，用于估算本地缓存条目的堆内存占用
+     *
+     * @param value 值
+     * @return 字节数
+     */
+    public int serializedLength(Object value) throws SerializationException {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof NullValue) {
+            return NULL_VALUE_BYTES.length;
+        }
+        CountingOutputStream out = new CountingOutputStream();
+        try {
+            (format == Format.SMILE ? smileMapper : jsonMapper).writeValue(out, value);
+        } catch (IOException e) {
+            throw new SerializationException("缓存序列化失败：" + e.getMessage(), e);
+        }
+        return out.count;
+    }
+
+    /**
+     * 反序列化
+     *
+     * @param bytes 字节数组
+     * @return 值
+     */
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == NULL_VALUE_MAGIC) {
+            return NullValue.INSTANCE;
+        }
+        if (bytes[0] == LZ4_MAGIC) {
+            bytes = decompress(bytes);
+        }
+        try {
+            return (bytes[0] == SMILE_MAGIC ? smileMapper : jsonMapper).readValue(bytes, Object.class);
+        } catch (IOException e) {
+            throw new SerializationException("缓存反序列化失败：" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+
+    private ByteBuf encode(Object value) {
+        byte[] bytes = serialize(value);
+        ByteBuf out = ByteBufAllocator.DEFAULT.buffer(bytes.length);
+        out.writeBytes(bytes);
+        return out;
+    }
+
+    private Object decode(ByteBuf buf) {
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        return deserialize(bytes);
+    }
+
+    /**
+     * LZ4 压缩，头部记录原始长度
+     */
+    private static byte[] compress(byte[] bytes) {
+        int maxLength = COMPRESSOR.maxCompressedLength(bytes.length);
+        byte[] out = new byte[LZ4_HEADER_LENGTH + maxLength];
+        out[0] = LZ4_MAGIC;
+        ByteBuffer.wrap(out, 1, 4).putInt(bytes.length);
+        int compressedLength = COMPRESSOR.compress(bytes, 0, bytes.length, out, LZ4_HEADER_LENGTH, maxLength);
+        // 压缩后没有变小则保留原始数据
+        if (LZ4_HEADER_LENGTH + compressedLength >= bytes.length) {
+            return bytes;
+        }
+        byte[] result = new byte[LZ4_HEADER_LENGTH + compressedLength];
+        System.arraycopy(out, 0, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * LZ4 解压
+     */
+    private static byte[] decompress(byte[] bytes) {
+        int originalLength = ByteBuffer.wrap(bytes, 1, 4).getInt();
+        byte[] out = new byte[originalLength];
+        DECOMPRESSOR.decompress(bytes, LZ4_HEADER_LENGTH, out, 0, originalLength);
+        return out;
+    }
+
+    /**
+     * 序列化结果
+     *
+     * @param bytes     序列化后（可能已压缩）的字节
+     * @param rawLength 压缩前的字节数
+     */
+    public record Serialized(byte[] bytes, int rawLength) {
+    }
+
+    /**
+     * 只计数不保存的输出流
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private int count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    /**
+     * 配置 ObjectMapper，写入类型信息以支持任意对象的还原
+     */
+    private static ObjectMapper createMapper(ObjectMapper mapper) {
+        mapper.registerModule(new JavaTimeModule());
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.EVERYTHING, JsonTypeInfo.As.PROPERTY);
+        return mapper;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.template.config.cache;
 import com.example.template.common.properties.CaffeineProperties;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import jakarta.annotation.PostConstruct;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +11,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -26,18 +28,93 @@ public class CaffeineConfig {
     private final CaffeineProperties caffeineProperties;
 
     /**
-     * 创建 Caffeine 本地缓存实例
+     * 创建 Caffeine 本地缓存实例，即默认分区
      */
     @Bean(name = "localCache")
-    public Cache<String, Object> localCache() {
-        return Caffeine.newBuilder()
-                // 设置缓存过期时间
-                .expireAfterWrite(caffeineProperties.getExpired(), TimeUnit.SECONDS)
+    public Cache<String, Object> localCache(CacheCodec cacheCodec) {
+        return buildCache(caffeineProperties.getExpired(), CaffeineProperties.ExpirePolicy.VARIABLE,
+                caffeineProperties.getInitCapacity(), caffeineProperties.getMaxCapacity(),
+                caffeineProperties.getMaxWeight(), cacheCodec);
+    }
+
+    /**
+     * 创建本地缓存分区，按 caffeine.regions 为每个命名空间创建独立的缓存
+     */
+    @Bean
+    public LocalCacheRegions localCacheRegions(Cache<String, Object> localCache, CacheCodec cacheCodec) {
+        LocalCacheRegions localCacheRegions = new LocalCacheRegions(localCache, caffeineProperties.getExpired(), cacheCodec);
+        caffeineProperties.getRegions().forEach((name, region) -> {
+            Cache<String, Object> cache = buildCache(region.getExpired(), region.getPolicy(),
+                    caffeineProperties.getInitCapacity(), region.getMaxCapacity(), region.getMaxWeight(), cacheCodec);
+            List<String> namespaces = region.getNamespaces().isEmpty() ? List.of(name) : region.getNamespaces();
+            localCacheRegions.addRegion(name, cache, region.getExpired(), namespaces);
+            log.info("==> 本地缓存分区：{}，命名空间：{}，过期策略：{}", name, namespaces, region.getPolicy());
+        });
+
+        CaffeineProperties.OffHeap offHeap = caffeineProperties.getOffHeap();
+        if (offHeap.isEnable()) {
+            OffHeapStore offHeapStore = new OffHeapStore(offHeap.getMaxBytes(), offHeap.getBlockSize(), offHeap.getSlabSize(),
+                    offHeap.getSegments(), offHeap.getSweepInterval());
+            localCacheRegions.enableOffHeap(offHeapStore, cacheCodec, offHeap.getThreshold());
+            log.info("==> 本地缓存堆外存储已开启，字节预算：{}，阈值：{}", offHeap.getMaxBytes(), offHeap.getThreshold());
+        }
+        return localCacheRegions;
+    }
+
+    /**
+     * 构建 Caffeine 缓存
+     *
+     * @param expired     过期时间，单位：秒
+     * @param policy      过期策略
+     * @param initCapacity 初始容量
+     * @param maxCapacity 最大条目数，maxWeight 大于 0 时不生效
+     * @param maxWeight   按序列化大小估算的最大字节数，小于等于 0 表示按条目数限制
+     * @param cacheCodec  缓存编解码器，用于估算条目大小
+     * @return Caffeine 缓存
+     */
+    private static Cache<String, Object> buildCache(long expired, CaffeineProperties.ExpirePolicy policy,
+                                                    int initCapacity, int maxCapacity, long maxWeight,
+                                                    CacheCodec cacheCodec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
                 // 设置初始容量
-                .initialCapacity(caffeineProperties.getInitCapacity())
-                // 设置最大容量
-                .maximumSize(caffeineProperties.getMaxCapacity())
-                .build();
+                .initialCapacity(initCapacity)
+                // 记录命中、加载和淘汰统计，由 CacheMetrics 发布到 Actuator
+                .recordStats();
+
+        switch (policy) {
+            case AFTER_WRITE -> builder.expireAfterWrite(expired, TimeUnit.SECONDS);
+            case AFTER_ACCESS -> builder.expireAfterAccess(expired, TimeUnit.SECONDS);
+            case VARIABLE -> {
+                long expiredNanos = TimeUnit.SECONDS.toNanos(expired);
+                // 写入后固定时间过期，同时允许单个条目（如空值、热点 key）指定不同的过期时间
+                builder.expireAfter(new Expiry<Object, Object>() {
+                    @Override
+                    public long expireAfterCreate(Object key, Object value, long currentTime) {
+                        return expiredNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                        return expiredNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                });
+            }
+        }
+
+        if (maxWeight > 0) {
+            // 按未压缩的序列化字节数估算条目权重，限制缓存占用的堆内存
+            builder.maximumWeight(maxWeight)
+                    .weigher(new SerializedSizeWeigher(cacheCodec));
+        } else {
+            // 设置最大容量
+            builder.maximumSize(maxCapacity);
+        }
+        return builder.build();
     }
 
     /**
@@ -0,0 +1,300 @@
+package com.example.template.config.cache;
+
+import com.example.template.util.CacheKeyUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import org.springframework.cache.support.NullValue;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地缓存分区，每个分区是一个独立的 Caffeine 缓存，拥有各自的过期策略和容量上限
+ * <p>
+ * 缓存 key 按命名空间（第一个 ':' 之前的部分）路由到分区，未配置的命名空间使用默认分区，
+ * 避免某个命名空间的大对象挤占其他命名空间的热点数据。
+ * <p>
+ * 开启堆外存储后，序列化大小（压缩前）超过阈值的值写入 {@link OffHeapStore} 而不是 Caffeine，
+ * 读取时先查 Caffeine 再查堆外存储，从而在不增加堆内存和 GC 停顿的情况下缓存更多大对象。
+ * 堆外条目只支持写入后过期，过期时间取所属分区的过期时间，访问后过期的分区写入堆外的值按写入时间计算过期。
+ *
+ * @author hzh
+ */
+public class LocalCacheRegions {
+
+    /**
+     * 默认分区名称
+     */
+    public static final String DEFAULT_REGION = "localCache";
+
+    // 默认分区
+    private final Cache<String, Object> defaultRegion;
+
+    // 分区名称与分区的映射，包含默认分区
+    private final Map<String, Cache<String, Object>> regions = new LinkedHashMap<>();
+
+    // 命名空间与分区的映射
+    private final Map<String, Cache<String, Object>> namespaceRegions = new HashMap<>();
+
+    // 分区的过期时间，单位：秒，用于写入堆外存储的条目
+    private final Map<Cache<String, Object>, Long> regionTtls = new IdentityHashMap<>();
+
+    // 按序列化大小计算权重的分区
+    private final Set<Cache<String, Object>> weightedRegions = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // 条目权重计算器
+    private final SerializedSizeWeigher weigher;
+
+    // 堆外存储，未开启时为 null
+    private OffHeapStore offHeapStore;
+
+    // 用于堆外存储的编解码器
+    private CacheCodec offHeapCodec;
+
+    // 写入堆外存储的阈值，单位：字节
+    private int offHeapThreshold;
+
+    public LocalCacheRegions(Cache<String, Object> defaultRegion, long defaultTtl, CacheCodec cacheCodec) {
+        this.defaultRegion = defaultRegion;
+        this.weigher = new SerializedSizeWeigher(cacheCodec);
+        this.regions.put(DEFAULT_REGION, defaultRegion);
+        this.regionTtls.put(defaultRegion, defaultTtl);
+        registerWeighted(defaultRegion);
+    }
+
+    /**
+     * 开启堆外存储
+     *
+     * @param offHeapStore 堆外存储
+     * @param codec        编解码器
+     * @param threshold    写入堆外存储的阈值，单位：字节
+     */
+    void enableOffHeap(OffHeapStore offHeapStore, CacheCodec codec, int threshold) {
+        this.offHeapStore = offHeapStore;
+        this.offHeapCodec = codec;
+        this.offHeapThreshold = threshold;
+    }
+
+    /**
+     * 获取本地缓存中的值，依次查询 Caffeine 和堆外存储
+     *
+     * @param key 缓存的键
+     * @return 缓存的值，未命中返回 null
+     */
+    public Object getIfPresent(String key) {
+        Object value = regionFor(key).getIfPresent(key);
+        if (value != null || offHeapStore == null) {
+            return value;
+        }
+        byte[] bytes = offHeapStore.get(key);
+        return bytes == null ? null : offHeapCodec.deserialize(bytes);
+    }
+
+    /**
+     * 以分区的过期时间写入本地缓存
+     *
+     * @param key   缓存的键
+     * @param value 缓存的值
+     */
+    public void put(String key, Object value) {
+        put(key, value, 0);
+    }
+
+    /**
+     * 写入本地缓存，较大的值写入堆外存储
+     *
+     * @param key   缓存的键
+     * @param value 缓存的值
+     * @param ttl   过期时间，单位：秒，小于等于 0 时使用分区的过期时间；分区不支持单条目过期时间时忽略
+     */
+    public void put(String key, Object value, long ttl) {
+        Cache<String, Object> region = regionFor(key);
+        Integer valueWeight = null;
+        if (offHeapStore != null && !(value instanceof NullValue)) {
+            // 只序列化一次，堆外存储使用序列化结果，堆内权重使用压缩前的字节数
+            CacheCodec.Serialized serialized = serializeQuietly(value);
+            if (serialized != null && serialized.rawLength() >= offHeapThreshold
+                    && offHeapStore.put(key, serialized.bytes(), offHeapTtlMillis(region, ttl))) {
+                region.invalidate(key);
+                return;
+            }
+            offHeapStore.invalidate(key);
+            valueWeight = serialized != null ? serialized.rawLength() : SerializedSizeWeigher.UNKNOWN_WEIGHT;
+        }
+        if (weightedRegions.contains(region)) {
+            // 写入前计算一次大小，Caffeine 计算权重时直接使用
+            int weight = valueWeight != null ? valueWeight : weigher.estimate(value);
+            SerializedSizeWeigher.withWeight(weight, () -> putOnHeap(region, key, value, ttl));
+        } else {
+            putOnHeap(region, key, value, ttl);
+        }
+    }
+
+    /**
+     * 关闭堆外存储的后台清理
+     */
+    public void shutdown() {
+        if (offHeapStore != null) {
+            offHeapStore.close();
+        }
+    }
+
+    /**
+     * 堆外条目的过期时间，与写入 Caffeine 时一致：分区支持单条目过期时间时使用指定的过期时间，否则使用分区的过期时间
+     */
+    private long offHeapTtlMillis(Cache<String, Object> region, long ttl) {
+        boolean variable = region.policy().expireVariably().isPresent();
+        return TimeUnit.SECONDS.toMillis(ttl > 0 && variable ? ttl : regionTtls.get(region));
+    }
+
+    /**
+     * 序列化值，失败时返回 null，由 Caffeine 保存原对象
+     */
+    private CacheCodec.Serialized serializeQuietly(Object value) {
+        try {
+            return offHeapCodec.serializeWithLength(value);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 写入 Caffeine 分区
+     */
+    private static void putOnHeap(Cache<String, Object> region, String key, Object value, long ttl) {
+        if (ttl <= 0) {
+            region.put(key, value);
+            return;
+        }
+        region.policy().expireVariably().ifPresentOrElse(
+                expiration -> expiration.put(key, value, ttl, TimeUnit.SECONDS),
+                () -> region.put(key, value));
+    }
+
+    /**
+     * 剔除本地缓存中的数据
+     *
+     * @param key 缓存的键
+     */
+    public void invalidate(String key) {
+        regionFor(key).invalidate(key);
+        if (offHeapStore != null) {
+            offHeapStore.invalidate(key);
+        }
+    }
+
+    /**
+     * 获取本地缓存条目的剩余存活时间
+     *
+     * @param key 缓存的键
+     * @return 剩余存活时间，条目不存在或分区未设置过期时间时为空
+     */
+    public Optional<Duration> remainingTtl(String key) {
+        Cache<String, Object> region = regionFor(key);
+        Policy<String, Object> policy = region.policy();
+        Optional<Duration> variable = policy.expireVariably().flatMap(expiration -> expiration.getExpiresAfter(key));
+        if (variable.isPresent()) {
+            return variable;
+        }
+        return policy.expireAfterWrite().or(policy::expireAfterAccess)
+                .flatMap(expiration -> expiration.ageOf(key).map(age -> expiration.getExpiresAfter().minus(age)));
+    }
+
+    /**
+     * 获取堆外存储
+     *
+     * @return 堆外存储，未开启时为 null
+     */
+    public OffHeapStore getOffHeapStore() {
+        return offHeapStore;
+    }
+
+    /**
+     * 注册分区
+     *
+     * @param name       分区名称
+     * @param region     分区缓存
+     * @param ttl        分区的过期时间，单位：秒
+     * @param namespaces 路由到该分区的命名空间
+     */
+    void addRegion(String name, Cache<String, Object> region, long ttl, List<String> namespaces) {
+        regions.put(name, region);
+        regionTtls.put(region, ttl);
+        namespaces.forEach(namespace -> namespaceRegions.put(namespace, region));
+        registerWeighted(region);
+    }
+
+    /**
+     * 记录按权重淘汰的分区
+     */
+    private void registerWeighted(Cache<String, Object> region) {
+        if (region.policy().eviction().map(Policy.Eviction::isWeighted).orElse(false)) {
+            weightedRegions.add(region);
+        }
+    }
+
+    /**
+     * 获取 key 所属的分区
+     *
+     * @param key 缓存的键
+     * @return 分区缓存
+     */
+    public Cache<String, Object> regionFor(String key) {
+        if (namespaceRegions.isEmpty()) {
+            return defaultRegion;
+        }
+        Cache<String, Object> region = namespaceRegions.get(CacheKeyUtils.namespaceOf(key));
+        return region != null ? region : defaultRegion;
+    }
+
+    /**
+     * 获取全部分区
+     *
+     * @return 分区名称与分区的映射
+     */
+    public Map<String, Cache<String, Object>> getRegions() {
+        return Collections.unmodifiableMap(regions);
+    }
+
+    /**
+     * 批量获取本地缓存中已存在的数据
+     *
+     * @param keys 缓存的键
+     * @return 命中的键与值
+     */
+    public Map<String, Object> getAllPresent(Collection<String> keys) {
+        if (namespaceRegions.isEmpty() && offHeapStore == null) {
+            return defaultRegion.getAllPresent(keys);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            Object value = getIfPresent(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 批量剔除本地缓存中的数据
+     *
+     * @param keys 缓存的键
+     */
+    public void invalidateAll(Collection<String> keys) {
+        if (namespaceRegions.isEmpty() && offHeapStore == null) {
+            defaultRegion.invalidateAll(keys);
+            return;
+        }
+        keys.forEach(this::invalidate);
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.template.config.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 堆外存储，将序列化后的缓存值保存在直接内存中，不占用 Java 堆，也不参与 GC 扫描
+ * <p>
+ * 存储按 key 的哈希划分为若干段，每段平分字节预算并各自加锁，不同段的读写互不阻塞。
+ * 段内直接内存按 slab 分配，每个 slab 切分为固定大小的块，一个值占用若干个块（无需连续）。
+ * 段内空间不足时按最近最少使用顺序淘汰条目；过期条目在读取时回收，同时由后台线程定期清理。
+ * slab 按需分配，分配后不再释放，由空闲块列表复用。
+ *
+ * @author hzh
+ */
+public class OffHeapStore implements AutoCloseable {
+
+    // 分段
+    private final Segment[] segments;
+
+    // 定位分段的掩码
+    private final int segmentMask;
+
+    // 过期条目清理调度器
+    private final ScheduledExecutorService sweepScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-off-heap-sweep");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 创建堆外存储
+     *
+     * @param maxBytes      字节预算
+     * @param blockSize     块大小，单位：字节
+     * @param slabSize      slab 大小，单位：字节，会向下取整为块大小的整数倍
+     * @param segmentCount  分段数，会向上取整为 2 的幂
+     * @param sweepInterval 过期条目清理间隔，单位：秒，小于等于 0 表示不清理
+     */
+    public OffHeapStore(long maxBytes, int blockSize, int slabSize, int segmentCount, long sweepInterval) {
+        int count = Integer.highestOneBit(Math.max(segmentCount, 1) * 2 - 1);
+        this.segments = new Segment[count];
+        this.segmentMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(maxBytes / count, blockSize, slabSize);
+        }
+        if (sweepInterval > 0) {
+            sweepScheduler.scheduleWithFixedDelay(this::sweepExpired, sweepInterval, sweepInterval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 读取值，过期时删除并返回 null
+     *
+     * @param key 缓存的键
+     * @return 序列化后的值
+     */
+    public byte[] get(String key) {
+        return segmentFor(key).get(key);
+    }
+
+    /**
+     * 写入值，空间不足时淘汰所在段最近最少使用的条目
+     *
+     * @param key       缓存的键
+     * @param bytes     序列化后的值
+     * @param ttlMillis 过期时间，单位：毫秒
+     * @return 写入成功返回 true，值超过单段字节预算时返回 false
+     */
+    public boolean put(String key, byte[] bytes, long ttlMillis) {
+        return segmentFor(key).put(key, bytes, ttlMillis);
+    }
+
+    /**
+     * 删除值
+     *
+     * @param key 缓存的键
+     */
+    public void invalidate(String key) {
+        segmentFor(key).invalidate(key);
+    }
+
+    /**
+     * 清理全部过期条目，逐段加锁
+     *
+     * @return 清理的条目数
+     */
+    public int sweepExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (Segment segment : segments) {
+            removed += segment.sweepExpired(now);
+        }
+        return removed;
+    }
+
+    /**
+     * 当前条目数
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * 当前占用的字节数（按块计算）
+     */
+    public long usedBytes() {
+        long usedBytes = 0;
+        for (Segment segment : segments) {
+            usedBytes += segment.usedBytes();
+        }
+        return usedBytes;
+    }
+
+    /**
+     * 累计淘汰次数
+     */
+    public long evictionCount() {
+        long evictionCount = 0;
+        for (Segment segment : segments) {
+            evictionCount += segment.evictionCount();
+        }
+        return evictionCount;
+    }
+
+    /**
+     * 停止过期条目清理
+     */
+    @Override
+    public void close() {
+        sweepScheduler.shutdownNow();
+    }
+
+    private Segment segmentFor(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & segmentMask];
+    }
+
+    /**
+     * 分段，所有操作在段锁内执行
+     */
+    private static final class Segment {
+
+        // 每个块的字节数
+        private final int blockSize;
+
+        // 每个 slab 包含的块数
+        private final int blocksPerSlab;
+
+        // 字节预算对应的最大块数
+        private final int maxBlocks;
+
+        // 已分配的 slab
+        private final List<ByteBuffer> slabs = new ArrayList<>();
+
+        // 空闲块编号
+        private final ArrayDeque<Integer> freeBlocks = new ArrayDeque<>();
+
+        // 条目索引，按访问顺序排列，队首为最近最少使用的条目
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        // 已从 slab 中切分出的块数
+        private int allocatedBlocks;
+
+        // 当前占用的块数
+        private int usedBlocks;
+
+        // 累计淘汰次数
+        private long evictionCount;
+
+        Segment(long maxBytes, int blockSize, int slabSize) {
+            this.blockSize = blockSize;
+            this.blocksPerSlab = Math.max(slabSize / blockSize, 1);
+            this.maxBlocks = (int) Math.min(maxBytes / blockSize, Integer.MAX_VALUE);
+        }
+
+        synchronized byte[] get(String key) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired(System.currentTimeMillis())) {
+                remove(key);
+                return null;
+            }
+            byte[] bytes = new byte[entry.length()];
+            int offset = 0;
+            for (int block : entry.blocks()) {
+                int length = Math.min(blockSize, bytes.length - offset);
+                slabOf(block).get(offsetOf(block), bytes, offset, length);
+                offset += length;
+            }
+            return bytes;
+        }
+
+        synchronized boolean put(String key, byte[] bytes, long ttlMillis) {
+            remove(key);
+            int needed = (bytes.length + blockSize - 1) / blockSize;
+            if (needed > maxBlocks) {
+                return false;
+            }
+
+            int[] blocks = new int[needed];
+            for (int i = 0; i < needed; i++) {
+                int block = allocateBlock();
+                while (block < 0) {
+                    evictEldest();
+                    block = allocateBlock();
+                }
+                blocks[i] = block;
+            }
+
+            int offset = 0;
+            for (int block : blocks) {
+                int length = Math.min(blockSize, bytes.length - offset);
+                slabOf(block).put(offsetOf(block), bytes, offset, length);
+                offset += length;
+            }
+            usedBlocks += needed;
+            entries.put(key, new Entry(blocks, bytes.length, System.currentTimeMillis() + ttlMillis));
+            return true;
+        }
+
+        synchronized void invalidate(String key) {
+            remove(key);
+        }
+
+        synchronized int sweepExpired(long now) {
+            int removed = 0;
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.isExpired(now)) {
+                    iterator.remove();
+                    release(entry);
+                    removed++;
+                }
+            }
+            return removed;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized long usedBytes() {
+            return (long) usedBlocks * blockSize;
+        }
+
+        synchronized long evictionCount() {
+            return evictionCount;
+        }
+
+        private void remove(String key) {
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                release(entry);
+            }
+        }
+
+        /**
+         * 淘汰最近最少使用的条目
+         */
+        private void evictEldest() {
+            // put 前已确认所需块数不超过预算，空间不足时必然存在可淘汰的条目
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            release(eldest);
+            evictionCount++;
+        }
+
+        private void release(Entry entry) {
+            for (int block : entry.blocks()) {
+                freeBlocks.push(block);
+            }
+            usedBlocks -= entry.blocks().length;
+        }
+
+        /**
+         * 分配一个块，预算用尽时返回 -1
+         */
+        private int allocateBlock() {
+            if (!freeBlocks.isEmpty()) {
+                return freeBlocks.pop();
+            }
+            if (allocatedBlocks >= maxBlocks) {
+                return -1;
+            }
+            if (allocatedBlocks / blocksPerSlab >= slabs.size()) {
+                int slabBlocks = Math.min(blocksPerSlab, maxBlocks - allocatedBlocks);
+                slabs.add(ByteBuffer.allocateDirect(slabBlocks * blockSize));
+            }
+            return allocatedBlocks++;
+        }
+
+        private ByteBuffer slabOf(int block) {
+            return slabs.get(block / blocksPerSlab);
+        }
+
+        private int offsetOf(int block) {
+            return (block % blocksPerSlab) * blockSize;
+        }
+    }
+
+    /**
+     * 堆外条目
+     *
+     * @param blocks   占用的块编号
+     * @param length   值的字节数
+     * @param expireAt 过期时间戳
+     */
+    private record Entry(int[] blocks, int length, long expireAt) {
+
+        boolean isExpired(long now) {
+            return now >= expireAt;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.template.config.cache;
 
+import com.example.template.common.properties.CacheProperties;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CachingConfigurer;
@@ -7,9 +8,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Redis配置类
  *
@@ -19,22 +22,38 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 @Slf4j
 public class RedisConfig implements CachingConfigurer {
 
+    /**
+     * 配置缓存编解码器，RedisTemplate 和 Redisson 共用
+     *
+     * @return 缓存编解码器
+     */
+    @Bean
+    public CacheCodec cacheCodec(CacheProperties cacheProperties) {
+        CacheProperties.Codec codec = cacheProperties.getCodec();
+        Map<String, CacheCodec.Format> namespaceFormats = new HashMap<>();
+        codec.getNamespaces().forEach((namespace, format) ->
+                namespaceFormats.put(namespace, CacheCodec.Format.valueOf(format.toUpperCase())));
+        return new CacheCodec(CacheCodec.Format.valueOf(codec.getFormat().toUpperCase()),
+                codec.getCompressThreshold(), namespaceFormats);
+    }
+
     /**
      * 配置 RedisTemplate，设置序列化方式
      *
      * @return 配置好的 RedisTemplate 实例
      */
     @Bean
-    public RedisTemplate<Object, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
+    public RedisTemplate<Object, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory,
+                                                       CacheCodec cacheCodec) {
         // 创建 RedisTemplate 实例
         RedisTemplate<Object, Object> redisTemplate = new RedisTemplate<>();
         // 设置键和设置 Hash 键的序列化器，使用 String 类型
         redisTemplate.setKeySerializer(new StringRedisSerializer());
         redisTemplate.setHashKeySerializer(new StringRedisSerializer());
 
-        // 设置值和 Hash 值的序列化器，使用 JSON 类型，支持复杂对象
-        redisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        redisTemplate.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        // 设置值和 Hash 值的序列化器，使用与 Redisson 共用的缓存编解码器，支持复杂对象
+        redisTemplate.setValueSerializer(cacheCodec);
+        redisTemplate.setHashValueSerializer(cacheCodec);
 
         // 设置 Redis 连接工厂，用于建立 Redis 连接
         redisTemplate.setConnectionFactory(redisConnectionFactory);
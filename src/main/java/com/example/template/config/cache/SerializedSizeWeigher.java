@@ -0,0 +1,64 @@
+package com.example.template.config.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+/**
+ * 本地缓存条目权重，按未压缩的序列化字节数估算堆内存占用
+ * <p>
+ * 通过 {@link LocalCacheRegions} 写入时，序列化长度在写入前已计算好，经 {@link #withWeight} 交给 Caffeine，
+ * 权重计算不再重复序列化；其他途径写入时回退到 {@link CacheCodec#serializedLength}，同样不压缩、不分配字节数组。
+ * Caffeine 在写入线程中同步计算权重，因此可以用线程变量传递。
+ *
+ * @author hzh
+ */
+final class SerializedSizeWeigher implements Weigher<Object, Object> {
+
+    // 无法序列化的对象按 1KB 估算
+    static final int UNKNOWN_WEIGHT = 1024;
+
+    // 当前线程正在写入的条目的值大小
+    private static final ThreadLocal<Integer> PENDING_WEIGHT = new ThreadLocal<>();
+
+    private final CacheCodec cacheCodec;
+
+    SerializedSizeWeigher(CacheCodec cacheCodec) {
+        this.cacheCodec = cacheCodec;
+    }
+
+    /**
+     * 以已知的值大小执行写入
+     *
+     * @param valueWeight 值的序列化字节数
+     * @param put         写入操作
+     */
+    static void withWeight(int valueWeight, Runnable put) {
+        PENDING_WEIGHT.set(valueWeight);
+        try {
+            put.run();
+        } finally {
+            PENDING_WEIGHT.remove();
+        }
+    }
+
+    /**
+     * key 按 UTF-16 计算，value 优先使用写入前计算好的大小
+     */
+    @Override
+    public int weigh(Object key, Object value) {
+        long weight = 2L * ((String) key).length();
+        Integer pending = PENDING_WEIGHT.get();
+        weight += pending != null ? pending : estimate(value);
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 估算值的序列化字节数，失败时返回 {@link #UNKNOWN_WEIGHT}
+     */
+    int estimate(Object value) {
+        try {
+            return cacheCodec.serializedLength(value);
+        } catch (Exception e) {
+            return UNKNOWN_WEIGHT;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.template.config.cache;
+
+import com.example.template.common.properties.CacheProperties;
+import com.example.template.manager.auth.CredentialCache;
+import com.example.template.manager.auth.UserIdentifierSource;
+import com.example.template.manager.cache.BloomFilterSource;
+import com.example.template.module.mapper.UserMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户标识布隆过滤器配置，为账号、邮箱、手机号各注册一个数据源
+ *
+ * @author hzh
+ */
+@Configuration
+@AllArgsConstructor
+public class UserBloomFilterConfig {
+
+    private final CacheProperties cacheProperties;
+
+    @Bean
+    public BloomFilterSource userAccountBloomFilterSource(UserMapper userMapper) {
+        return source(CredentialCache.IdentifierType.ACCOUNT, userMapper);
+    }
+
+    @Bean
+    public BloomFilterSource userEmailBloomFilterSource(UserMapper userMapper) {
+        return source(CredentialCache.IdentifierType.EMAIL, userMapper);
+    }
+
+    @Bean
+    public BloomFilterSource userPhoneBloomFilterSource(UserMapper userMapper) {
+        return source(CredentialCache.IdentifierType.PHONE, userMapper);
+    }
+
+    private BloomFilterSource source(CredentialCache.IdentifierType type, UserMapper userMapper) {
+        return new UserIdentifierSource(type, userMapper, cacheProperties.getBloomFilter().getUserExpectedInsertions());
+    }
+}
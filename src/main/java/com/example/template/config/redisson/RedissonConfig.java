@@ -1,13 +1,12 @@
 package com.example.template.config.redisson;
 
 import com.example.template.common.properties.RedissonProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.template.config.cache.CacheCodec;
 import jakarta.annotation.PostConstruct;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
-import org.redisson.codec.JsonJacksonCodec;
 import org.redisson.config.Config;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -26,7 +25,7 @@ import org.springframework.context.annotation.Configuration;
 public class RedissonConfig {
 
     private final RedissonProperties redissonProperties;
-    private final ObjectMapper objectMapper;
+    private final CacheCodec cacheCodec;
 
     /**
      * 配置 Redisson 单机模式客户端
@@ -38,7 +37,7 @@ public class RedissonConfig {
         Config config = new Config();
         config.setThreads(redissonProperties.getThreads())
                 .setNettyThreads(redissonProperties.getNettyThreads())
-                .setCodec(new JsonJacksonCodec(objectMapper));
+                .setCodec(cacheCodec);
 
         RedissonProperties.SingleServerConfig singleConfig = redissonProperties.getSingleServerConfig();
         config.useSingleServer()
@@ -64,7 +63,7 @@ public class RedissonConfig {
 //        Config config = new Config();
 //        config.setThreads(redissonProperties.getThreads())
 //                .setNettyThreads(redissonProperties.getNettyThreads())
-//                .setCodec(new JsonJacksonCodec(objectMapper));
+//                .setCodec(cacheCodec);
 //
 //        RedissonProperties.ClusterServersConfig clusterConfig = redissonProperties.getClusterServersConfig();
 //        config.useClusterServers()
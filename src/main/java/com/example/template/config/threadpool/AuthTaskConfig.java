@@ -0,0 +1,65 @@
+package com.example.template.config.threadpool;
+
+import com.example.template.common.properties.PoolProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 认证线程池配置类
+ * 密码哈希是 CPU 密集型任务，放在与 CPU 核数相当的有界线程池中执行，队列满时快速拒绝，
+ * 避免登录高峰占满 Web 容器的请求线程，影响其他接口
+ *
+ * @author hzh
+ */
+@Configuration
+@Slf4j
+@AllArgsConstructor
+public class AuthTaskConfig {
+
+    private final PoolProperties poolProperties;
+
+    /**
+     * 创建密码哈希线程池
+     *
+     * @return ThreadPoolExecutor 实例
+     */
+    @Bean(name = "passwordHashExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashExecutor() {
+        PoolProperties.CustomPool pool = poolProperties.getPasswordHash();
+        int processors = Runtime.getRuntime().availableProcessors();
+        int coreSize = pool.getCoreSize() > 0 ? pool.getCoreSize() : processors;
+        int maxSize = Math.max(coreSize, pool.getMaxSize() > 0 ? pool.getMaxSize() : processors);
+        AtomicInteger threadCount = new AtomicInteger(1);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                coreSize,
+                maxSize,
+                pool.getKeepAliveTime(),
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(pool.getQueueCapacity()),
+                r -> {
+                    Thread thread = new Thread(r, pool.getThreadNamePrefix() + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // 队列满时直接拒绝，由调用方返回限流错误
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @PostConstruct
+    private void initConfig() {
+        log.info("===================== {} 注入完成 =====================",
+                this.getClass().getSimpleName().split("\\$\\$")[0]);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.template.config.threadpool;
+
+import com.example.template.common.properties.PoolProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 缓存线程池配置类
+ * 提供缓存后台刷新和异步加载使用的有界线程池，队列满时拒绝任务，由调用方继续使用旧值或以失败结束
+ *
+ * @author hzh
+ */
+@Configuration
+@Slf4j
+@AllArgsConstructor
+public class CacheTaskConfig {
+
+    private final PoolProperties poolProperties;
+
+    /**
+     * 创建缓存刷新线程池
+     *
+     * @return ThreadPoolExecutor 实例
+     */
+    @Bean(name = "cacheRefreshExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor cacheRefreshExecutor() {
+        return buildExecutor(poolProperties.getCacheRefresh());
+    }
+
+    /**
+     * 创建缓存异步加载线程池，异步缓存接口在此执行同步的数据加载器
+     *
+     * @return ThreadPoolExecutor 实例
+     */
+    @Bean(name = "cacheLoadExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor cacheLoadExecutor() {
+        return buildExecutor(poolProperties.getCacheLoad());
+    }
+
+    private static ThreadPoolExecutor buildExecutor(PoolProperties.CustomPool pool) {
+        AtomicInteger threadCount = new AtomicInteger(1);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                pool.getCoreSize(),
+                pool.getMaxSize(),
+                pool.getKeepAliveTime(),
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(pool.getQueueCapacity()),
+                r -> {
+                    Thread thread = new Thread(r, pool.getThreadNamePrefix() + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // 队列满时直接拒绝，由调用方决定是否放弃
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @PostConstruct
+    private void initConfig() {
+        log.info("===================== {} 注入完成 =====================",
+                this.getClass().getSimpleName().split("\\$\\$")[0]);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.template.manager.auth;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.example.template.common.constant.CacheConstants;
+import com.example.template.manager.cache.Cache;
+import com.example.template.module.domain.entity.User;
+import com.example.template.module.mapper.UserMapper;
+import com.example.template.module.service.UserService;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 登录凭证缓存，基于 {@link Cache} 的两级缓存
+ * <p>
+ * 标识（账号、邮箱、手机号）到用户 ID 的映射复用 {@link UserService#getIdByUnique} 的唯一列缓存（"t_user:属性名:值"），
+ * 不存在的标识以空值缓存；本类只按用户 ID 缓存 {@link UserCredential}，只查询登录校验所需的字段。
+ * 用户修改、删除后需剔除 {@link #keysOf} 返回的 key，由 UserServiceImpl 在写操作后完成。
+ *
+ * @author hzh
+ */
+@Component
+@AllArgsConstructor
+public class CredentialCache {
+
+    // 缓存 key 前缀
+    private static final String KEY_PREFIX = "credential:";
+
+    private final Cache cache;
+    // 用户服务，提供唯一列到用户 ID 的映射缓存
+    private final UserService userService;
+    // 用户数据库操作对象，直接查询投影字段
+    private final UserMapper userMapper;
+
+    /**
+     * 按标识获取用户凭证
+     *
+     * @param type       标识类型
+     * @param identifier 标识
+     * @return 用户凭证，用户不存在返回 null
+     */
+    public UserCredential get(IdentifierType type, String identifier) {
+        Long userId = getId(type, identifier);
+        if (ObjectUtil.isNull(userId)) {
+            return null;
+        }
+
+        return (UserCredential) cache.getTwoLevelCache(idKey(userId), () -> {
+            User user = userMapper.selectOne(new LambdaQueryWrapper<User>()
+                    .select(User::getId, User::getUserPassword, User::getPasswordSalt, User::getUserRole)
+                    .eq(User::getId, userId));
+            return ObjectUtil.isNull(user) ? null
+                    : new UserCredential(user.getId(), user.getUserPassword(), user.getPasswordSalt(), user.getUserRole());
+        }, CacheConstants.DEFAULT_EXPIRATION);
+    }
+
+    /**
+     * 按标识获取用户ID
+     *
+     * @param type       标识类型
+     * @param identifier 标识
+     * @return 用户ID，用户不存在返回 null
+     */
+    public Long getId(IdentifierType type, String identifier) {
+        Object id = userService.getIdByUnique(type.getColumn(), identifier);
+        return ObjectUtil.isNull(id) ? null : ((Number) id).longValue();
+    }
+
+    /**
+     * 获取用户的凭证缓存 key
+     *
+     * @param users 用户，可包含修改前后的数据，ID 为空时忽略
+     * @return 缓存 key
+     */
+    public static List<String> keysOf(User... users) {
+        List<String> keys = new ArrayList<>();
+        for (User user : users) {
+            if (ObjectUtil.isNotNull(user) && ObjectUtil.isNotNull(user.getId())) {
+                keys.add(idKey(user.getId()));
+            }
+        }
+        return keys;
+    }
+
+    private static String idKey(Long id) {
+        return KEY_PREFIX + "id:" + id;
+    }
+
+    /**
+     * 登录标识类型
+     */
+    @Getter
+    @AllArgsConstructor
+    public enum IdentifierType {
+        ACCOUNT(User::getUserAccount, "user_account"),
+        EMAIL(User::getUserEmail, "user_email"),
+        PHONE(User::getUserPhone, "user_phone");
+
+        private final SFunction<User, ?> column;
+
+        // 数据库列名
+        private final String columnName;
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.template.manager.auth;
+
+import com.example.template.common.base.ErrorCode;
+import com.example.template.common.properties.LoginThrottleProperties;
+import com.example.template.exception.customize.ClientException;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RScript;
+import org.redisson.api.RScriptAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * 登录失败限制，按账号和 IP 分别统计失败次数
+ * <p>
+ * 失败记录用 Lua 脚本原子完成，不存在先读后写的竞态：
+ * 登录前检查账号和 IP 是否处于锁定中，密码或验证码校验失败后再累加失败次数，
+ * 达到上限时写入锁定 key，锁定时间为 baseLockout * 2^(锁定次数-1)，不超过 maxLockout。
+ * 脚本累加前会再次检查锁定，检查通过后被并发请求锁定时不再累加，直接返回剩余锁定时间。
+ * 登录成功后清除账号的失败次数和锁定次数，IP 的统计不清除。
+ * <p>
+ * 账号和 IP 各执行一次脚本，每次只操作同一个标识的 key。key 格式为 前缀 + 维度:{标识}:类型，
+ * 标识作为 hash tag，Redis 集群模式下同一标识的 key 位于同一个槽，不同标识分散在各个槽。
+ * 两个维度的命令通过批量请求一起发送：登录前检查和记录失败各一次往返，集群模式下按节点并行发送。
+ *
+ * @author hzh
+ */
+@Component
+@Slf4j
+public class LoginThrottle {
+
+    /**
+     * 已锁定时直接返回剩余锁定时间，否则累加失败次数，达到上限时锁定，返回锁定时间（秒），未锁定返回 0
+     * KEYS: 失败次数、锁定、锁定次数
+     * ARGV: 统计窗口、失败上限、首次锁定时间、最长锁定时间、锁定次数保留时间
+     */
+    private static final String FAILURE_SCRIPT = """
+            local locked = redis.call('pttl', KEYS[2])
+            if locked > 0 then
+                return math.ceil(locked / 1000)
+            end
+            local count = redis.call('incr', KEYS[1])
+            if count == 1 then
+                redis.call('expire', KEYS[1], ARGV[1])
+            end
+            if count < tonumber(ARGV[2]) then
+                return 0
+            end
+            local level = redis.call('incr', KEYS[3])
+            redis.call('expire', KEYS[3], ARGV[5])
+            local lockout = math.floor(math.min(tonumber(ARGV[3]) * 2 ^ (level - 1), tonumber(ARGV[4])))
+            redis.call('set', KEYS[2], level, 'EX', lockout)
+            redis.call('del', KEYS[1])
+            return lockout
+            """;
+
+    // 账号维度
+    private static final String ACCOUNT = "account";
+
+    // IP 维度
+    private static final String IP = "ip";
+
+    // 未能获取请求 IP 时使用的标识
+    private static final String UNKNOWN_IP = "unknown";
+
+    // Redisson 客户端
+    private final RedissonClient redissonClient;
+    // 登录失败限制配置
+    private final LoginThrottleProperties properties;
+
+    private String failureSha;
+
+    public LoginThrottle(RedissonClient redissonClient, LoginThrottleProperties properties) {
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+    }
+
+    /**
+     * 预加载脚本，之后通过 EVALSHA 执行
+     */
+    @PostConstruct
+    public void loadScripts() {
+        failureSha = script().scriptLoad(FAILURE_SCRIPT);
+    }
+
+    /**
+     * 登录前检查账号和当前请求 IP 是否处于锁定中，两个维度在一次批量请求中查询
+     *
+     * @param account 账号、手机号或邮箱
+     */
+    public void check(String account) {
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        RFuture<Long> accountLock = batch.getBucket(key(ACCOUNT, account, "lock"), StringCodec.INSTANCE).remainTimeToLiveAsync();
+        RFuture<Long> ipLock = batch.getBucket(key(IP, currentIp(), "lock"), StringCodec.INSTANCE).remainTimeToLiveAsync();
+        batch.execute();
+        long remainingMillis = Math.max(accountLock.toCompletableFuture().join(), ipLock.toCompletableFuture().join());
+        if (remainingMillis > 0) {
+            throw new ClientException(ErrorCode.USER_ERROR_A0211,
+                    "登录失败次数过多，请" + Math.max(1, remainingMillis / 1000) + "秒后再试");
+        }
+    }
+
+    /**
+     * 记录一次登录失败，两个维度的脚本在一次批量请求中执行
+     *
+     * @param account 账号、手机号或邮箱
+     * @return 剩余锁定时间（秒），未锁定返回 0
+     */
+    public long recordFailure(String account) {
+        String ip = currentIp();
+        long lockout = recordFailures(List.of(
+                failureCall(ACCOUNT, account, properties.getMaxAccountFailures()),
+                failureCall(IP, ip, properties.getMaxIpFailures())));
+        if (lockout > 0) {
+            log.warn("==> 登录失败次数超限，账号：{}，IP：{}，锁定：{}秒", account, ip, lockout);
+        }
+        return lockout;
+    }
+
+    /**
+     * 登录成功，清除账号的失败次数和锁定次数
+     *
+     * @param account 账号、手机号或邮箱
+     */
+    public void reset(String account) {
+        redissonClient.getKeys().delete(key(ACCOUNT, account, "fail"), key(ACCOUNT, account, "level"));
+    }
+
+    /**
+     * 单个维度的失败脚本参数
+     */
+    private FailureCall failureCall(String dimension, String identifier, int maxFailures) {
+        List<Object> keys = List.of(
+                key(dimension, identifier, "fail"),
+                key(dimension, identifier, "lock"),
+                key(dimension, identifier, "level"));
+        Object[] args = Stream.of(
+                        properties.getFailureWindow(),
+                        maxFailures,
+                        properties.getBaseLockout(),
+                        properties.getMaxLockout(),
+                        properties.getLockoutLevelTtl())
+                .map(String::valueOf)
+                .toArray();
+        return new FailureCall(keys, args);
+    }
+
+    /**
+     * 通过 EVALSHA 批量执行失败脚本，返回各维度中最长的锁定时间（秒）
+     * <p>
+     * Redis 重启导致脚本缓存丢失时，未成功执行的脚本单独回退到 EVAL，之后重新加载脚本
+     */
+    private long recordFailures(List<FailureCall> calls) {
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        RScriptAsync batchScript = batch.getScript(StringCodec.INSTANCE);
+        List<CompletableFuture<Long>> futures = calls.stream()
+                .map(call -> batchScript.<Long>evalShaAsync(RScript.Mode.READ_WRITE, failureSha,
+                        RScript.ReturnType.INTEGER, call.keys(), call.args()).toCompletableFuture())
+                .toList();
+        boolean scriptMissing = false;
+        try {
+            batch.execute();
+        } catch (RedisException e) {
+            if (!isNoScript(e)) {
+                throw e;
+            }
+            scriptMissing = true;
+        }
+
+        long lockout = 0;
+        for (int i = 0; i < calls.size(); i++) {
+            CompletableFuture<Long> future = futures.get(i);
+            Long result;
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                result = future.join();
+            } else {
+                FailureCall call = calls.get(i);
+                result = script().eval(RScript.Mode.READ_WRITE, FAILURE_SCRIPT, RScript.ReturnType.INTEGER,
+                        call.keys(), call.args());
+            }
+            lockout = Math.max(lockout, result == null ? 0L : result);
+        }
+        if (scriptMissing) {
+            loadScripts();
+        }
+        return lockout;
+    }
+
+    /**
+     * 是否为脚本缓存丢失导致的异常
+     */
+    private static boolean isNoScript(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private RScript script() {
+        return redissonClient.getScript(StringCodec.INSTANCE);
+    }
+
+    /**
+     * 生成 key，标识作为 hash tag
+     */
+    private String key(String dimension, String identifier, String type) {
+        return properties.getKeyPrefix() + dimension + ":{" + identifier + "}:" + type;
+    }
+
+    /**
+     * 获取当前请求的客户端 IP，非请求线程中返回 unknown
+     * <p>
+     * 不直接读取 X-Forwarded-For 等请求头，客户端可任意伪造。部署在反向代理之后时，
+     * 由 server.forward-headers-strategy 和 server.tomcat.remoteip.internal-proxies 配置可信代理，
+     * 只有来自可信代理的转发头才会被容器采纳并反映到 getRemoteAddr 中。
+     */
+    private static String currentIp() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            return request.getRemoteAddr();
+        }
+        return UNKNOWN_IP;
+    }
+
+    /**
+     * 单个维度的失败脚本调用
+     *
+     * @param keys 失败次数、锁定、锁定次数的 key
+     * @param args 脚本参数
+     */
+    private record FailureCall(List<Object> keys, Object[] args) {
+    }
+}
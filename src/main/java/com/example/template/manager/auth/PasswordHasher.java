@@ -0,0 +1,237 @@
+package com.example.template.manager.auth;
+
+import com.example.template.common.base.ErrorCode;
+import com.example.template.common.properties.EncryptionProperties;
+import com.example.template.exception.customize.ServiceException;
+import com.example.template.util.EncryptUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 密码哈希器，使用 PBKDF2-HMAC-SHA256，所有哈希计算都在密码哈希线程池中执行
+ * <p>
+ * 哈希结果格式为：$pbkdf2-sha256$迭代次数$盐（Base64）$哈希（Base64），迭代次数和盐随哈希保存，
+ * 迭代次数优先使用配置的固定值，否则在启动时按目标耗时校准，并以 Redis 中首个节点写入的校准结果为准，
+ * 避免硬件不同的节点得到不同的迭代次数而反复升级彼此的哈希。校验时若哈希为旧的多轮 SHA-256 格式或迭代次数低于当前值，
+ * 返回需要重新哈希，由调用方在登录成功后升级。
+ * 线程池队列已满或等待超时时抛出限流异常，不会在请求线程上执行哈希。
+ *
+ * @author hzh
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    // 哈希格式前缀
+    private static final String PREFIX = "$pbkdf2-sha256$";
+
+    // 算法名称
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    // 哈希长度，单位：位
+    private static final int KEY_LENGTH = 256;
+
+    // 校准时使用的迭代次数
+    private static final int CALIBRATION_ITERATIONS = 20000;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // 加密配置
+    private final EncryptionProperties encryptionProperties;
+    // 密码哈希线程池
+    private final ThreadPoolExecutor passwordHashExecutor;
+    // Redisson 客户端，保存集群共用的迭代次数
+    private final RedissonClient redissonClient;
+
+    // 当前迭代次数
+    private volatile int iterations;
+
+    public PasswordHasher(EncryptionProperties encryptionProperties,
+                          @Qualifier("passwordHashExecutor") ThreadPoolExecutor passwordHashExecutor,
+                          RedissonClient redissonClient) {
+        this.encryptionProperties = encryptionProperties;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.redissonClient = redissonClient;
+    }
+
+    /**
+     * 确定迭代次数：配置的固定值优先，其次为集群共用的校准结果
+     */
+    @PostConstruct
+    public void init() {
+        if (encryptionProperties.getKdfIterations() > 0) {
+            iterations = encryptionProperties.getKdfIterations();
+            log.info("==> 密码哈希迭代次数使用固定值：{}", iterations);
+            return;
+        }
+        int calibrated = calibrate();
+        try {
+            // 只有第一个节点的校准结果生效，其余节点沿用
+            RAtomicLong shared = redissonClient.getAtomicLong(encryptionProperties.getKdfIterationsKey());
+            shared.compareAndSet(0, calibrated);
+            iterations = (int) Math.min(encryptionProperties.getKdfMaxIterations(),
+                    Math.max(encryptionProperties.getKdfMinIterations(), shared.get()));
+        } catch (Exception e) {
+            iterations = calibrated;
+            log.warn("==> 读取集群迭代次数失败，使用本机校准结果：{}，异常信息：{}", calibrated, e.getMessage());
+        }
+        log.info("==> 密码哈希迭代次数：{}，本机校准结果：{}", iterations, calibrated);
+    }
+
+    /**
+     * 按目标耗时校准迭代次数
+     *
+     * @return 校准结果
+     */
+    private int calibrate() {
+        byte[] salt = new byte[encryptionProperties.getSaltLength()];
+        // 预热一次，排除类加载和 JIT 的影响
+        pbkdf2("calibration", salt, CALIBRATION_ITERATIONS);
+        long start = System.nanoTime();
+        pbkdf2("calibration", salt, CALIBRATION_ITERATIONS);
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+
+        long target = TimeUnit.MILLISECONDS.toNanos(encryptionProperties.getKdfTargetMillis());
+        long calibrated = CALIBRATION_ITERATIONS * target / elapsedNanos;
+        return (int) Math.min(encryptionProperties.getKdfMaxIterations(),
+                Math.max(encryptionProperties.getKdfMinIterations(), calibrated));
+    }
+
+    /**
+     * 哈希密码
+     *
+     * @param password 明文密码
+     * @return 哈希结果
+     */
+    public String hash(String password) {
+        return await(hashAsync(password));
+    }
+
+    /**
+     * 异步哈希密码
+     *
+     * @param password 明文密码
+     * @return 哈希结果，线程池已满时异常完成
+     */
+    public CompletableFuture<String> hashAsync(String password) {
+        return submit(() -> {
+            byte[] salt = new byte[encryptionProperties.getSaltLength()];
+            RANDOM.nextBytes(salt);
+            int currentIterations = iterations;
+            byte[] hash = pbkdf2(password, salt, currentIterations);
+            Base64.Encoder encoder = Base64.getEncoder();
+            return PREFIX + currentIterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+        });
+    }
+
+    /**
+     * 校验密码
+     *
+     * @param password   明文密码
+     * @param storedHash 保存的哈希
+     * @param legacySalt 旧格式哈希的盐，新格式忽略
+     * @return 校验结果
+     */
+    public VerifyResult verify(String password, String storedHash, String legacySalt) {
+        if (StringUtils.isEmpty(password) || StringUtils.isEmpty(storedHash)) {
+            return new VerifyResult(false, false);
+        }
+        return await(submit(() -> {
+            if (!storedHash.startsWith(PREFIX)) {
+                // 旧的多轮 SHA-256 格式，校验通过后升级
+                String legacy = EncryptUtils.hashPasswordWithSalt(password, legacySalt);
+                boolean matched = legacy != null && MessageDigest.isEqual(
+                        legacy.getBytes(StandardCharsets.UTF_8), storedHash.getBytes(StandardCharsets.UTF_8));
+                return new VerifyResult(matched, matched);
+            }
+
+            String[] parts = storedHash.substring(PREFIX.length()).split("\\$");
+            if (parts.length != 3) {
+                return new VerifyResult(false, false);
+            }
+            int storedIterations = Integer.parseInt(parts[0]);
+            byte[] salt = Base64.getDecoder().decode(parts[1]);
+            byte[] expected = Base64.getDecoder().decode(parts[2]);
+            boolean matched = MessageDigest.isEqual(expected, pbkdf2(password, salt, storedIterations));
+            return new VerifyResult(matched, matched && storedIterations < iterations);
+        }));
+    }
+
+    /**
+     * 获取当前迭代次数
+     *
+     * @return 迭代次数
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, passwordHashExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 在请求线程上等待哈希结果
+     */
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(encryptionProperties.getHashTimeout(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException(ErrorCode.SYSTEM_ERROR_B0001, "密码校验被中断");
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new ServiceException(ErrorCode.SYSTEM_ERROR_B0210, "登录请求过多，请稍后再试");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                throw new ServiceException(ErrorCode.SYSTEM_ERROR_B0210, "登录请求过多，请稍后再试");
+            }
+            log.error("==> 密码哈希失败，异常信息：{}", e.getCause().getMessage());
+            throw new ServiceException(ErrorCode.SYSTEM_ERROR_B0001);
+        }
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_LENGTH);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 不可用", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * 密码校验结果
+     *
+     * @param matched     密码是否正确
+     * @param needsRehash 是否需要以当前参数重新哈希
+     */
+    public record VerifyResult(boolean matched, boolean needsRehash) {
+    }
+}
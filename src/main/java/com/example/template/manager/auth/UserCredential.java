@@ -0,0 +1,42 @@
+package com.example.template.manager.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 用户凭证，登录校验所需的最少字段
+ *
+ * @author hzh
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserCredential implements Serializable {
+
+    /**
+     * 用户ID
+     */
+    private Long id;
+
+    /**
+     * 密码哈希
+     */
+    private String userPassword;
+
+    /**
+     * 密码盐，仅旧格式哈希使用
+     */
+    private String passwordSalt;
+
+    /**
+     * 用户角色：user/admin/ban
+     */
+    private String userRole;
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,62 @@
+package com.example.template.manager.auth;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.example.template.manager.cache.CachePenetrationGuard;
+import com.example.template.module.domain.entity.User;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户标识过滤器，判断账号、邮箱、手机号是否一定未注册
+ * <p>
+ * 基于 {@link CachePenetrationGuard} 的布隆过滤器，数据由 {@link UserIdentifierSource} 在启动时和定时重建时全量构建，
+ * 新增或修改用户后由 UserServiceImpl 调用 {@link #put} 补录。返回不存在时可直接跳过数据库查询，
+ * 过滤器未就绪或异常时一律视为可能存在。
+ *
+ * @author hzh
+ */
+@Component
+@AllArgsConstructor
+public class UserIdentifierFilter {
+
+    // 命名空间前缀
+    private static final String NAMESPACE_PREFIX = "user:";
+
+    // 缓存穿透防护
+    private final CachePenetrationGuard cachePenetrationGuard;
+
+    /**
+     * 判断标识是否可能已注册
+     *
+     * @param type       标识类型
+     * @param identifier 标识
+     * @return 可能已注册返回 true，一定未注册返回 false
+     */
+    public boolean mightExist(CredentialCache.IdentifierType type, String identifier) {
+        return cachePenetrationGuard.mightContain(namespace(type), identifier);
+    }
+
+    /**
+     * 记录用户的全部非空标识
+     *
+     * @param user 用户
+     */
+    public void put(User user) {
+        for (CredentialCache.IdentifierType type : CredentialCache.IdentifierType.values()) {
+            Object identifier = type.getColumn().apply(user);
+            if (ObjectUtil.isNotNull(identifier)) {
+                cachePenetrationGuard.put(namespace(type), identifier.toString());
+            }
+        }
+    }
+
+    /**
+     * 获取标识类型对应的布隆过滤器命名空间
+     *
+     * @param type 标识类型
+     * @return 命名空间
+     */
+    public static String namespace(CredentialCache.IdentifierType type) {
+        return NAMESPACE_PREFIX + type.name().toLowerCase();
+    }
+}
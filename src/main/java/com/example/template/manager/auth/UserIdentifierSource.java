@@ -0,0 +1,42 @@
+package com.example.template.manager.auth;
+
+import com.example.template.manager.cache.BloomFilterSource;
+import com.example.template.module.mapper.UserMapper;
+
+import java.util.function.Consumer;
+
+/**
+ * 用户标识布隆过滤器数据源，通过流式查询遍历账号、邮箱或手机号
+ *
+ * @author hzh
+ */
+public class UserIdentifierSource implements BloomFilterSource {
+
+    // 标识类型
+    private final CredentialCache.IdentifierType type;
+    // 用户数据库操作对象
+    private final UserMapper userMapper;
+    // 预计元素数量
+    private final long expectedInsertions;
+
+    public UserIdentifierSource(CredentialCache.IdentifierType type, UserMapper userMapper, long expectedInsertions) {
+        this.type = type;
+        this.userMapper = userMapper;
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    @Override
+    public String namespace() {
+        return UserIdentifierFilter.namespace(type);
+    }
+
+    @Override
+    public long expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    @Override
+    public void forEach(Consumer<String> sink) {
+        userMapper.scanIdentifiers(type.getColumnName(), context -> sink.accept(context.getResultObject()));
+    }
+}
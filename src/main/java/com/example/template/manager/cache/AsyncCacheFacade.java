@@ -0,0 +1,220 @@
+package com.example.template.manager.cache;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.example.template.common.properties.CacheProperties;
+import com.example.template.common.properties.CaffeineProperties;
+import com.example.template.config.cache.LocalCacheRegions;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.support.NullValue;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 异步缓存接口，返回 {@link CompletableFuture}，调用方可以同时发起多个查询再组合结果，不必为每次查询占用一个线程
+ * <p>
+ * 本地缓存命中时立即返回已完成的 future；未命中时通过 Redisson 的异步 RBucket 读取 Redis，
+ * Redis 也未命中时调用异步数据加载器并异步写回两级缓存。
+ * 同一节点上同一个 key 的并发未命中由 Caffeine {@link AsyncCache} 合并为一次加载，加载完成后即移除，
+ * 数据本身仍保存在 {@link LocalCacheRegions} 中，与同步的 {@link Cache} 共享。
+ * 异步路径不使用分布式锁，跨节点的并发加载由空值缓存兜底防止穿透。
+ *
+ * @author hzh
+ */
+@Component
+public class AsyncCacheFacade {
+
+    // 本地缓存分区
+    private final LocalCacheRegions localCacheRegions;
+    // Redisson 客户端
+    private final RedissonClient redissonClient;
+    // 缓存异步加载线程池，用于执行同步的数据加载器
+    private final ThreadPoolExecutor cacheLoadExecutor;
+    // 业务缓存配置
+    private final CacheProperties cacheProperties;
+    // 本地缓存配置
+    private final CaffeineProperties caffeineProperties;
+    // 缓存指标
+    private final CacheMetrics cacheMetrics;
+
+    // 正在进行中的加载，同一个 key 的并发未命中共享同一个 future
+    private final AsyncCache<String, Object> inFlightLoads;
+
+    public AsyncCacheFacade(LocalCacheRegions localCacheRegions,
+                            RedissonClient redissonClient,
+                            @Qualifier("cacheLoadExecutor") ThreadPoolExecutor cacheLoadExecutor,
+                            CacheProperties cacheProperties,
+                            CaffeineProperties caffeineProperties,
+                            CacheMetrics cacheMetrics) {
+        this.localCacheRegions = localCacheRegions;
+        this.redissonClient = redissonClient;
+        this.cacheLoadExecutor = cacheLoadExecutor;
+        this.cacheProperties = cacheProperties;
+        this.caffeineProperties = caffeineProperties;
+        this.cacheMetrics = cacheMetrics;
+        this.inFlightLoads = Caffeine.newBuilder()
+                .executor(cacheLoadExecutor)
+                .buildAsync();
+    }
+
+    /**
+     * 异步获取两级缓存中的数据（本地缓存优先）
+     *
+     * @param key        缓存的键
+     * @param dataLoader 异步数据加载器
+     * @param ttl        Redis 缓存的过期时间（秒）
+     * @return 缓存的值
+     */
+    public CompletableFuture<Object> getTwoLevelCacheAsync(String key, AsyncDataLoader dataLoader, long ttl) {
+        Object value = localCacheRegions.getIfPresent(key);
+        if (ObjectUtil.isNotNull(value)) {
+            cacheMetrics.l1Hit(CacheMetrics.TWO_LEVEL, key);
+            return CompletableFuture.completedFuture(fromStoreValue(value));
+        }
+        return loadOnce(key, () -> readRedis(key, CacheMetrics.TWO_LEVEL).thenCompose(redisValue -> {
+            if (ObjectUtil.isNotNull(redisValue)) {
+                putLocal(key, redisValue);
+                return CompletableFuture.completedFuture(redisValue);
+            }
+            return loadAndStore(key, dataLoader, ttl, CacheMetrics.TWO_LEVEL, true);
+        }));
+    }
+
+    /**
+     * 异步获取两级缓存中的数据，同步的数据加载器在缓存异步加载线程池中执行
+     *
+     * @param key        缓存的键
+     * @param dataLoader 数据加载器
+     * @param ttl        Redis 缓存的过期时间（秒）
+     * @return 缓存的值
+     */
+    public CompletableFuture<Object> getTwoLevelCacheAsync(String key, Cache.DataLoader dataLoader, long ttl) {
+        return getTwoLevelCacheAsync(key, toAsync(dataLoader), ttl);
+    }
+
+    /**
+     * 异步旁路缓存模式，只使用 Redis
+     *
+     * @param key        缓存的键
+     * @param dataLoader 异步数据加载器
+     * @param ttl        缓存的过期时间（秒）
+     * @return 缓存的值
+     */
+    public CompletableFuture<Object> getRedisCacheAsync(String key, AsyncDataLoader dataLoader, long ttl) {
+        return loadOnce(key, () -> readRedis(key, CacheMetrics.REDIS).thenCompose(redisValue -> {
+            if (ObjectUtil.isNotNull(redisValue)) {
+                return CompletableFuture.completedFuture(redisValue);
+            }
+            return loadAndStore(key, dataLoader, ttl, CacheMetrics.REDIS, false);
+        }));
+    }
+
+    /**
+     * 异步旁路缓存模式，同步的数据加载器在缓存异步加载线程池中执行
+     *
+     * @param key        缓存的键
+     * @param dataLoader 数据加载器
+     * @param ttl        缓存的过期时间（秒）
+     * @return 缓存的值
+     */
+    public CompletableFuture<Object> getRedisCacheAsync(String key, Cache.DataLoader dataLoader, long ttl) {
+        return getRedisCacheAsync(key, toAsync(dataLoader), ttl);
+    }
+
+    /**
+     * 合并同一个 key 的并发加载，加载结束后移除，失败不会被缓存
+     */
+    private CompletableFuture<Object> loadOnce(String key, AsyncDataLoader loader) {
+        CompletableFuture<Object> future = inFlightLoads.get(key, (k, executor) -> loader.load());
+        future.whenComplete((value, error) -> inFlightLoads.asMap().remove(key, future));
+        return future.thenApply(AsyncCacheFacade::fromStoreValue);
+    }
+
+    /**
+     * 异步读取 Redis
+     */
+    private CompletableFuture<Object> readRedis(String key, String strategy) {
+        RBucket<Object> bucket = redissonClient.getBucket(key);
+        return bucket.getAsync().toCompletableFuture().thenApply(value -> {
+            if (ObjectUtil.isNotNull(value)) {
+                cacheMetrics.l2Hit(strategy, key);
+            } else {
+                cacheMetrics.miss(strategy, key);
+            }
+            return value;
+        });
+    }
+
+    /**
+     * 调用数据加载器，并异步写回 Redis 和（可选）本地缓存，返回存储的值（空值为空值标记）
+     */
+    private CompletableFuture<Object> loadAndStore(String key, AsyncDataLoader dataLoader, long ttl,
+                                                   String strategy, boolean writeLocal) {
+        long start = System.nanoTime();
+        return dataLoader.load()
+                .whenComplete((loaded, error) ->
+                        cacheMetrics.recordLoad(strategy, key, System.nanoTime() - start, error == null))
+                .thenCompose(loaded -> {
+                    if (ObjectUtil.isNotNull(loaded)) {
+                        return store(key, loaded, ttl, 0, writeLocal);
+                    }
+                    if (!caffeineProperties.getAllowNullValue()) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    // 空值以短过期时间缓存，防止缓存穿透
+                    long nullValueTtl = cacheProperties.getNullValueTtl();
+                    return store(key, NullValue.INSTANCE, nullValueTtl, nullValueTtl, writeLocal);
+                });
+    }
+
+    /**
+     * 异步写入 Redis，并按需写入本地缓存
+     */
+    private CompletableFuture<Object> store(String key, Object value, long ttl, long localTtl, boolean writeLocal) {
+        if (writeLocal) {
+            localCacheRegions.put(key, value, localTtl);
+        }
+        return redissonClient.getBucket(key).setAsync(value, Duration.ofSeconds(ttl))
+                .toCompletableFuture()
+                .thenApply(ignored -> value);
+    }
+
+    /**
+     * 写入本地缓存，Redis 中的空值标记使用空值过期时间，与同步的 {@link Cache} 一致
+     */
+    private void putLocal(String key, Object value) {
+        if (!(value instanceof NullValue)) {
+            localCacheRegions.put(key, value);
+        } else if (caffeineProperties.getAllowNullValue()) {
+            localCacheRegions.put(key, NullValue.INSTANCE, cacheProperties.getNullValueTtl());
+        }
+    }
+
+    /**
+     * 将同步的数据加载器包装为在缓存异步加载线程池中执行的异步加载器
+     */
+    private AsyncDataLoader toAsync(Cache.DataLoader dataLoader) {
+        return () -> CompletableFuture.supplyAsync(dataLoader::load, cacheLoadExecutor);
+    }
+
+    /**
+     * 将缓存中存储的空值标记还原为 null
+     */
+    private static Object fromStoreValue(Object value) {
+        return value instanceof NullValue ? null : value;
+    }
+
+    /**
+     * 异步数据加载器接口
+     */
+    @FunctionalInterface
+    public interface AsyncDataLoader {
+        CompletableFuture<Object> load();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.template.manager.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * 布隆过滤器数据源，用于全量构建某个命名空间的布隆过滤器
+ * <p>
+ * 实现类注册为 Spring Bean 后，{@link CachePenetrationGuard} 会在启动时和定时重建时调用 {@link #forEach(Consumer)}，
+ * 数据量较大时建议使用流式查询逐条推送，避免一次性加载到内存。
+ *
+ * @author hzh
+ */
+public interface BloomFilterSource {
+
+    /**
+     * 布隆过滤器的命名空间
+     *
+     * @return 命名空间
+     */
+    String namespace();
+
+    /**
+     * 预计元素数量
+     *
+     * @return 预计元素数量
+     */
+    long expectedInsertions();
+
+    /**
+     * 期望的误判率
+     *
+     * @return 误判率
+     */
+    default double falseProbability() {
+        return 0.01;
+    }
+
+    /**
+     * 遍历全部已存在的元素
+     *
+     * @param sink 元素接收器
+     */
+    void forEach(Consumer<String> sink);
+}
@@ -1,15 +1,27 @@
 package com.example.template.manager.cache;
 
 import cn.hutool.core.util.ObjectUtil;
-import com.example.template.common.constant.CacheConstants;
+import com.example.template.common.properties.CacheProperties;
+import com.example.template.common.properties.CaffeineProperties;
+import com.example.template.config.cache.LocalCacheRegions;
 import com.example.template.manager.rabbitmq.RabbitMqServer;
-import jakarta.annotation.PostConstruct;
 import lombok.AllArgsConstructor;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -21,7 +33,7 @@ import java.util.concurrent.TimeUnit;
 @AllArgsConstructor
 public class Cache {
     // 本地缓存
-    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final LocalCacheRegions localCacheRegions;
     // Redis 缓存模板
     private final RedisTemplate<Object, Object> redisTemplate;
     // Redisson 客户端
@@ -30,12 +42,39 @@ public class Cache {
     // 使用 RabbitMQ 发送消息的生产者
     private final RabbitMqServer rabbitMqServer;
 
-    // 自动加载本地缓存锁名称常量
-    private static final String AUTO_CACHE_LOCK = "autoCacheLock";
+    // 缓存失效总线，通知集群内其他节点剔除本地缓存
+    private final CacheInvalidationBus invalidationBus;
+
+    // 异步写回缓冲区
+    private final WriteBehindBuffer writeBehindBuffer;
+
+    // 缓存后台刷新器
+    private final CacheRefresher cacheRefresher;
+
+    // 业务缓存配置
+    private final CacheProperties cacheProperties;
+
+    // 本地缓存配置
+    private final CaffeineProperties caffeineProperties;
+
+    // 热点 key 探测器
+    private final HotKeyDetector hotKeyDetector;
+
+    // 缓存指标
+    private final CacheMetrics cacheMetrics;
+
+    // 自动加载本地缓存的请求合并器，本地缓存无需跨节点加锁
+    private final SingleFlight autoLoadFlight = new SingleFlight();
+
+    // 带刷新的二级缓存在硬过期后同步加载的请求合并器
+    private final SingleFlight refreshLoadFlight = new SingleFlight();
 
     // 二级缓存锁常量
     private static final String TWO_LEVEL_CACHE_LOCK = "twoLevelCacheLock";
 
+    // 剩余过期时间查询结果：key 已不存在
+    private static final long KEY_NOT_EXISTS = -1L;
+
     /**
      * 手动加载本地缓存
      *
@@ -43,7 +82,9 @@ public class Cache {
      * @param value 缓存的值
      */
     public void setLocalCache(String key, Object value) {
-        localCache.put(key, value);
+        localCacheRegions.put(key, value);
+        // 其他节点上的旧值失效
+        invalidationBus.publish(key);
     }
 
     /**
@@ -55,35 +96,33 @@ public class Cache {
      */
     public Object getAutoLoadLocalCache(String key, DataLoader dataLoader) {
         // 先尝试从本地缓存中获取数据
-        Object value = localCache.getIfPresent(key);
+        Object value = localCacheRegions.getIfPresent(key);
 
         if (ObjectUtil.isNull(value)) {
-            // 使用分布式锁防止缓存击穿
-            RLock lock = redissonClient.getLock(AUTO_CACHE_LOCK);
-            lock.lock();
-            try {
+            cacheMetrics.miss(CacheMetrics.LOCAL, key);
+            // 同一个 key 的并发未命中在 JVM 内合并为一次加载，不同 key 互不阻塞
+            value = autoLoadFlight.execute(key, () -> {
                 // 再次检查缓存
-                value = localCache.getIfPresent(key);
-                if (ObjectUtil.isNull(value)) {
+                Object loaded = localCacheRegions.getIfPresent(key);
+                if (ObjectUtil.isNull(loaded)) {
                     // 加载数据
-                    value = dataLoader.load();
+                    loaded = cacheMetrics.timeLoad(CacheMetrics.LOCAL, key, dataLoader::load);
 
-                    // 如果加载的数据为 null，则直接返回 null，不进行缓存
-                    if (ObjectUtil.isNotNull(value)) {
+                    if (ObjectUtil.isNotNull(loaded)) {
                         // 正常数据放入本地缓存
-                        localCache.put(key, value);
-
-                        // 发送消息到 RabbitMQ，通知其他服务
-                        // rabbitMqServer.sendCacheUpdateMessage(key, value);
+                        localCacheRegions.put(key, loaded);
+                    } else {
+                        // 空值以短过期时间缓存，防止缓存穿透
+                        putLocalNullValue(key);
                     }
                 }
-            } finally {
-                // 释放锁
-                lock.unlock();
-            }
+                return loaded;
+            });
+        } else {
+            cacheMetrics.l1Hit(CacheMetrics.LOCAL, key);
         }
 
-        return value;
+        return fromStoreValue(value);
     }
 
     /**
@@ -93,7 +132,13 @@ public class Cache {
      * @return 缓存的值
      */
     public Object getLocalCache(String key) {
-        return localCache.getIfPresent(key);
+        Object value = localCacheRegions.getIfPresent(key);
+        if (ObjectUtil.isNull(value)) {
+            cacheMetrics.miss(CacheMetrics.LOCAL, key);
+        } else {
+            cacheMetrics.l1Hit(CacheMetrics.LOCAL, key);
+        }
+        return fromStoreValue(value);
     }
 
     /**
@@ -105,23 +150,39 @@ public class Cache {
      * @return 缓存的值
      */
     public Object getRedisCache(String key, DataLoader dataLoader, long ttl) {
+        // 热点 key 已提升到本地缓存，优先从本地获取
+        if (hotKeyDetector.isHot(key)) {
+            Object hotValue = localCacheRegions.getIfPresent(key);
+            if (ObjectUtil.isNotNull(hotValue)) {
+                cacheMetrics.l1Hit(CacheMetrics.REDIS, key);
+                return fromStoreValue(hotValue);
+            }
+        }
+
         // 尝试从Redis缓存中获取数据
         Object value = redisTemplate.opsForValue().get(key);
 
-        if (ObjectUtil.isNull(value)) {
+        if (ObjectUtil.isNotNull(value)) {
+            cacheMetrics.l2Hit(CacheMetrics.REDIS, key);
+            // 采样 Redis 读取，热点 key 提升到本地缓存
+            if (hotKeyDetector.record(key)) {
+                putLocalHot(key, value, ttl);
+            }
+        } else {
+            cacheMetrics.miss(CacheMetrics.REDIS, key);
             // 如果缓存未命中，从数据源加载数据
-            value = dataLoader.load();
+            value = cacheMetrics.timeLoad(CacheMetrics.REDIS, key, dataLoader::load);
 
             // 数据加载成功后，缓存到Redis
             if (ObjectUtil.isNotNull(value)) {
                 redisTemplate.opsForValue().set(key, value, ttl, TimeUnit.SECONDS);
-
-                // 发送缓存更新消息到RabbitMQ，通知其他服务
-                // rabbitMqServer.sendCacheUpdateMessage(key, value);
+            } else {
+                // 空值以短过期时间缓存，防止缓存穿透
+                putRedisNullValue(key);
             }
         }
 
-        return value;
+        return fromStoreValue(value);
     }
 
     /**
@@ -133,7 +194,7 @@ public class Cache {
      */
     public Object getTwoLevelCache(String key, DataLoader dataLoader, long ttl) {
         // 1. 尝试从本地缓存获取
-        Object value = localCache.getIfPresent(key);
+        Object value = localCacheRegions.getIfPresent(key);
 
         // 2. 如果本地缓存未命中，尝试从 Redis 获取
         if (ObjectUtil.isNull(value)) {
@@ -141,50 +202,515 @@ public class Cache {
 
             // 3. 如果 Redis 缓存未命中，从数据库加载，并使用分布式锁防止缓存击穿
             if (ObjectUtil.isNull(value)) {
+                cacheMetrics.miss(CacheMetrics.TWO_LEVEL, key);
                 RLock lock = redissonClient.getLock(TWO_LEVEL_CACHE_LOCK + key);
                 try {
                     // 尝试获取锁，避免多个线程同时加载数据
-                    if (lock.tryLock(10, 5, TimeUnit.SECONDS)) {
+                    if (tryLock(lock, CacheMetrics.TWO_LEVEL, key)) {
                         // 再次检查 Redis，防止并发情况下重复加载
                         value = redisTemplate.opsForValue().get(key);
                         if (ObjectUtil.isNull(value)) {
                             // 从数据库加载数据
-                            value = dataLoader.load();
+                            value = cacheMetrics.timeLoad(CacheMetrics.TWO_LEVEL, key, dataLoader::load);
                             if (ObjectUtil.isNotNull(value)) {
                                 // 写入 Redis 和本地缓存
                                 redisTemplate.opsForValue().set(key, value, ttl, TimeUnit.SECONDS);
-                                localCache.put(key, value);
+                                localCacheRegions.put(key, value);
+                            } else {
+                                // 空值以短过期时间写入两级缓存，防止缓存穿透
+                                putRedisNullValue(key);
+                                putLocalNullValue(key);
                             }
+                        } else {
+                            putLocal(key, value);
                         }
                     }
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                 } finally {
-                    lock.unlock();
+                    if (lock.isHeldByCurrentThread()) {
+                        lock.unlock();
+                    }
+                }
+            } else {
+                cacheMetrics.l2Hit(CacheMetrics.TWO_LEVEL, key);
+                if (hotKeyDetector.record(key)) {
+                    // 热点 key 以更长的过期时间同步到本地缓存
+                    putLocalHot(key, value, ttl);
+                } else {
+                    // 将 Redis 的数据同步到本地缓存
+                    putLocal(key, value);
                 }
+            }
+        } else {
+            cacheMetrics.l1Hit(CacheMetrics.TWO_LEVEL, key);
+        }
+
+        return fromStoreValue(value);
+    }
+
+    /**
+     * 获取两级缓存中的数据，支持过期后仍可读（Stale-While-Revalidate）和提前刷新（Refresh-Ahead）
+     * <p>
+     * 软过期之后直接返回旧值，同时在后台线程池中刷新一次；
+     * 接近软过期时按 XFetch 算法概率性地提前刷新，分散热点 key 的重新加载。
+     * 只有硬过期或缓存不存在时，调用方才会同步等待数据加载。
+     *
+     * @param key        缓存的键
+     * @param dataLoader 数据加载器，负责从数据源加载数据
+     * @param softTtl    软过期时间（秒），超过后触发后台刷新
+     * @param hardTtl    硬过期时间（秒），即 Redis 缓存的过期时间
+     * @return 缓存的值
+     */
+    public Object getTwoLevelCacheWithRefresh(String key, DataLoader dataLoader, long softTtl, long hardTtl) {
+        long now = System.currentTimeMillis();
+
+        // 1. 尝试从本地缓存获取
+        CacheEntry entry = asCacheEntry(localCacheRegions.getIfPresent(key));
+
+        // 2. 如果本地缓存未命中或已硬过期，尝试从 Redis 获取
+        if (entry == null || entry.isExpired(now)) {
+            entry = asCacheEntry(redisTemplate.opsForValue().get(key));
+            if (entry != null && !entry.isExpired(now)) {
+                cacheMetrics.l2Hit(CacheMetrics.REFRESH, key);
+                localCacheRegions.put(key, entry);
+            }
+        } else {
+            cacheMetrics.l1Hit(CacheMetrics.REFRESH, key);
+        }
+
+        // 3. 缓存不存在或已硬过期，同步加载
+        if (entry == null || entry.isExpired(now)) {
+            cacheMetrics.miss(CacheMetrics.REFRESH, key);
+            entry = (CacheEntry) refreshLoadFlight.execute(key,
+                    () -> loadCacheEntryWithLock(key, dataLoader, softTtl, hardTtl));
+            return entry == null ? null : entry.getValue();
+        }
+
+        // 4. 已软过期或命中提前刷新，返回旧值并在后台刷新
+        if (entry.shouldRefresh(now, cacheProperties.getRefresh().getBeta())) {
+            cacheRefresher.refreshAsync(key, () -> refreshCacheEntry(key, dataLoader, softTtl, hardTtl));
+        }
+        return entry.getValue();
+    }
+
+    /**
+     * 批量获取本地缓存中的数据，未命中的 key 通过一次批量加载补齐
+     *
+     * @param keys       缓存的键
+     * @param bulkLoader 批量数据加载器，负责从数据源加载未命中的数据
+     * @return 缓存的值，按 keys 的顺序排列，不包含值为空的 key
+     */
+    public Map<String, Object> getAllLocalCache(Collection<String> keys, BulkDataLoader bulkLoader) {
+        Set<String> keySet = new LinkedHashSet<>(keys);
+        Map<String, Object> found = new LinkedHashMap<>(localCacheRegions.getAllPresent(keySet));
+        found.keySet().forEach(key -> cacheMetrics.l1Hit(CacheMetrics.LOCAL, key));
+
+        Set<String> missing = missingKeys(keySet, found);
+        if (!missing.isEmpty()) {
+            Map<String, Object> loaded = bulkLoad(CacheMetrics.LOCAL, missing, bulkLoader);
+            loaded.forEach(this::putLocal);
+            found.putAll(loaded);
+        }
+        return orderedResult(keySet, found);
+    }
+
+    /**
+     * 批量旁路缓存模式，一次 MGET 获取 Redis 中的数据，未命中的 key 通过一次批量加载补齐后管道写回
+     *
+     * @param keys       缓存的键
+     * @param bulkLoader 批量数据加载器，负责从数据源加载未命中的数据
+     * @param ttl        缓存的过期时间（秒）
+     * @return 缓存的值，按 keys 的顺序排列，不包含值为空的 key
+     */
+    public Map<String, Object> getAllRedisCache(Collection<String> keys, BulkDataLoader bulkLoader, long ttl) {
+        Set<String> keySet = new LinkedHashSet<>(keys);
+        Map<String, Object> found = new LinkedHashMap<>();
+
+        // 热点 key 已提升到本地缓存，优先从本地获取
+        Set<String> remaining = new LinkedHashSet<>();
+        for (String key : keySet) {
+            Object hotValue = hotKeyDetector.isHot(key) ? localCacheRegions.getIfPresent(key) : null;
+            if (ObjectUtil.isNotNull(hotValue)) {
+                cacheMetrics.l1Hit(CacheMetrics.REDIS, key);
+                found.put(key, hotValue);
+            } else {
+                remaining.add(key);
+            }
+        }
+
+        Map<String, Object> redisValues = multiGetRedis(remaining);
+        redisValues.forEach((key, value) -> {
+            cacheMetrics.l2Hit(CacheMetrics.REDIS, key);
+            // 采样 Redis 读取，热点 key 提升到本地缓存
+            if (hotKeyDetector.record(key)) {
+                putLocalHot(key, value, ttl);
+            }
+        });
+        found.putAll(redisValues);
+
+        Set<String> missing = missingKeys(remaining, found);
+        if (!missing.isEmpty()) {
+            Map<String, Object> loaded = bulkLoad(CacheMetrics.REDIS, missing, bulkLoader);
+            multiSetRedis(loaded, ttl);
+            found.putAll(loaded);
+        }
+        return orderedResult(keySet, found);
+    }
+
+    /**
+     * 批量获取两级缓存中的数据：本地缓存一次查询，剩余 key 一次 MGET，
+     * 仍未命中的 key 通过一次批量加载补齐后管道写回 Redis 并写入本地缓存。
+     * <p>
+     * 批量加载不对单个 key 加分布式锁，并发未命中时可能重复加载，由空值缓存兜底防止穿透。
+     *
+     * @param keys       缓存的键
+     * @param bulkLoader 批量数据加载器，负责从数据源加载未命中的数据
+     * @param ttl        Redis 缓存的过期时间（秒）
+     * @return 缓存的值，按 keys 的顺序排列，不包含值为空的 key
+     */
+    public Map<String, Object> getAllTwoLevelCache(Collection<String> keys, BulkDataLoader bulkLoader, long ttl) {
+        Set<String> keySet = new LinkedHashSet<>(keys);
+
+        // 1. 本地缓存一次查询
+        Map<String, Object> found = new LinkedHashMap<>(localCacheRegions.getAllPresent(keySet));
+        found.keySet().forEach(key -> cacheMetrics.l1Hit(CacheMetrics.TWO_LEVEL, key));
+
+        // 2. 剩余 key 一次 MGET
+        Map<String, Object> redisValues = multiGetRedis(missingKeys(keySet, found));
+        redisValues.forEach((key, value) -> {
+            cacheMetrics.l2Hit(CacheMetrics.TWO_LEVEL, key);
+            if (hotKeyDetector.record(key)) {
+                // 热点 key 以更长的过期时间同步到本地缓存
+                putLocalHot(key, value, ttl);
             } else {
-                // 将 Redis 的数据同步到本地缓存
-                localCache.put(key, value);
+                putLocal(key, value);
+            }
+        });
+        found.putAll(redisValues);
+
+        // 3. 仍未命中的 key 批量加载，并写入两级缓存
+        Set<String> missing = missingKeys(keySet, found);
+        if (!missing.isEmpty()) {
+            Map<String, Object> loaded = bulkLoad(CacheMetrics.TWO_LEVEL, missing, bulkLoader);
+            multiSetRedis(loaded, ttl);
+            loaded.forEach(this::putLocal);
+            found.putAll(loaded);
+        }
+        return orderedResult(keySet, found);
+    }
+
+    /**
+     * 更新两级缓存中的数据，并通知其他节点剔除本地缓存中的旧值
+     *
+     * @param key   缓存的键
+     * @param value 缓存的值
+     * @param ttl   Redis 缓存的过期时间（秒）
+     */
+    public void putTwoLevelCache(String key, Object value, long ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl, TimeUnit.SECONDS);
+        localCacheRegions.put(key, value);
+        invalidationBus.publish(key);
+    }
+
+    /**
+     * 异步写回模式 - Write-Behind Pattern
+     * 数据立即写入两级缓存，数据库写入在缓冲区中按 key 合并后批量执行。
+     * 写回发生在写路径上，无法由只拦截读取的 {@link CacheConfig} 完成，需直接调用本方法；读取使用两级缓存。
+     *
+     * @param namespace 命名空间，需注册对应的 WriteBehindFlusher
+     * @param key       缓存的键
+     * @param value     缓存的值
+     * @param ttl       Redis 缓存的过期时间（秒）
+     */
+    public void writeBehind(String namespace, String key, Object value, long ttl) {
+        putTwoLevelCache(key, value, ttl);
+        writeBehindBuffer.write(namespace, key, value);
+    }
+
+    /**
+     * 剔除两级缓存中的数据，并通知其他节点剔除本地缓存
+     *
+     * @param key 缓存的键
+     */
+    public void evict(String key) {
+        redisTemplate.delete(key);
+        localCacheRegions.invalidate(key);
+        invalidationBus.publish(key);
+    }
+
+    /**
+     * 在分布式锁保护下加载缓存条目，防止缓存击穿
+     */
+    private CacheEntry loadCacheEntryWithLock(String key, DataLoader dataLoader, long softTtl, long hardTtl) {
+        RLock lock = redissonClient.getLock(TWO_LEVEL_CACHE_LOCK + key);
+        try {
+            if (tryLock(lock, CacheMetrics.REFRESH, key)) {
+                // 再次检查 Redis，防止并发情况下重复加载
+                CacheEntry entry = asCacheEntry(redisTemplate.opsForValue().get(key));
+                if (entry != null && !entry.isExpired(System.currentTimeMillis())) {
+                    localCacheRegions.put(key, entry);
+                    return entry;
+                }
+                return loadCacheEntry(key, dataLoader, softTtl, hardTtl);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 后台刷新缓存条目，其他节点正在刷新同一个 key 时直接跳过
+     */
+    private void refreshCacheEntry(String key, DataLoader dataLoader, long softTtl, long hardTtl) {
+        RLock lock = redissonClient.getLock(TWO_LEVEL_CACHE_LOCK + key);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            loadCacheEntry(key, dataLoader, softTtl, hardTtl);
+            // 通知其他节点剔除本地缓存中的旧值
+            invalidationBus.publish(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 从数据源加载数据，记录加载耗时并写入两级缓存
+     */
+    private CacheEntry loadCacheEntry(String key, DataLoader dataLoader, long softTtl, long hardTtl) {
+        long start = System.currentTimeMillis();
+        Object value = cacheMetrics.timeLoad(CacheMetrics.REFRESH, key, dataLoader::load);
+        if (ObjectUtil.isNull(value)) {
+            if (!caffeineProperties.getAllowNullValue()) {
+                return null;
+            }
+            // 空值条目使用空值过期时间，防止缓存穿透
+            softTtl = cacheProperties.getNullValueTtl();
+            hardTtl = cacheProperties.getNullValueTtl();
+        }
+        long now = System.currentTimeMillis();
+        CacheEntry entry = new CacheEntry(value,
+                now + TimeUnit.SECONDS.toMillis(softTtl),
+                now + TimeUnit.SECONDS.toMillis(hardTtl),
+                now - start);
+        redisTemplate.opsForValue().set(key, entry, hardTtl, TimeUnit.SECONDS);
+        localCacheRegions.put(key, entry);
+        return entry;
+    }
+
+    /**
+     * 尝试获取分布式锁并记录等待耗时
+     */
+    private boolean tryLock(RLock lock, String strategy, String key) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            return lock.tryLock(10, 5, TimeUnit.SECONDS);
+        } finally {
+            cacheMetrics.recordLockWait(strategy, key, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 一次 MGET 获取多个 key，只返回命中的 key
+     */
+    private Map<String, Object> multiGetRedis(Collection<String> keys) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+        List<Object> keyList = new ArrayList<>(keys);
+        List<Object> values = redisTemplate.opsForValue().multiGet(keyList);
+        if (values == null) {
+            return result;
+        }
+        for (int i = 0; i < keyList.size(); i++) {
+            Object value = values.get(i);
+            if (ObjectUtil.isNotNull(value)) {
+                result.put((String) keyList.get(i), value);
             }
         }
+        return result;
+    }
+
+    /**
+     * 通过管道批量写入 Redis，空值标记使用空值过期时间
+     */
+    private void multiSetRedis(Map<String, Object> values, long ttl) {
+        if (values.isEmpty()) {
+            return;
+        }
+        long nullValueTtl = cacheProperties.getNullValueTtl();
+        redisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<Object, Object> ops = (RedisOperations<Object, Object>) operations;
+                values.forEach((key, value) -> ops.opsForValue().set(key, value,
+                        value instanceof NullValue ? nullValueTtl : ttl, TimeUnit.SECONDS));
+                return null;
+            }
+        });
+    }
 
-        return value;
+    /**
+     * 批量加载未命中的 key，数据源中不存在的 key 在允许缓存空值时以空值标记返回
+     */
+    private Map<String, Object> bulkLoad(String strategy, Set<String> keys, BulkDataLoader bulkLoader) {
+        keys.forEach(key -> cacheMetrics.miss(strategy, key));
+        Map<String, Object> loaded = cacheMetrics.timeLoad(strategy, keys.iterator().next(), () -> bulkLoader.load(keys));
+        Map<String, Object> result = new LinkedHashMap<>();
+        boolean allowNullValue = caffeineProperties.getAllowNullValue();
+        for (String key : keys) {
+            Object value = loaded == null ? null : loaded.get(key);
+            if (ObjectUtil.isNotNull(value)) {
+                result.put(key, value);
+            } else if (allowNullValue) {
+                result.put(key, NullValue.INSTANCE);
+            }
+        }
+        return result;
     }
 
     /**
-     * 在应用启动时预加载热点数据到本地缓存
+     * 计算尚未命中的 key
      */
-    @PostConstruct
-    public void preloadHotData() {
-        for (String key : CacheConstants.HOT_KEYS) {
-            // 尝试从 Redis 获取热点数据
-            Object value = redisTemplate.opsForValue().get(key);
+    private static Set<String> missingKeys(Set<String> keys, Map<String, Object> found) {
+        Set<String> missing = new LinkedHashSet<>(keys);
+        missing.removeAll(found.keySet());
+        return missing;
+    }
 
-            // 如果Redis中有对应的值，则预加载到本地缓存
+    /**
+     * 按请求顺序整理批量查询结果，去除空值标记
+     */
+    private static Map<String, Object> orderedResult(Set<String> keys, Map<String, Object> found) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            Object value = fromStoreValue(found.get(key));
             if (ObjectUtil.isNotNull(value)) {
-                localCache.put(key, value);
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 写入本地缓存，Redis 中的空值标记使用空值过期时间
+     */
+    private void putLocal(String key, Object value) {
+        if (value instanceof NullValue) {
+            putLocalNullValue(key);
+        } else {
+            localCacheRegions.put(key, value);
+        }
+    }
+
+    /**
+     * 以热点过期时间写入本地缓存，不超过调用方指定的过期时间，避免热点数据比配置的过期时间更旧
+     *
+     * @param ttl 调用方指定的过期时间（秒），小于等于 0 时只使用热点过期时间
+     */
+    private void putLocalHot(String key, Object value, long ttl) {
+        if (value instanceof NullValue) {
+            putLocalNullValue(key);
+            return;
+        }
+        long hotTtl = cacheProperties.getHotKey().getHotTtl();
+        localCacheRegions.put(key, value, ttl > 0 ? Math.min(hotTtl, ttl) : hotTtl);
+    }
+
+    /**
+     * 以空值过期时间向本地缓存写入空值标记
+     */
+    private void putLocalNullValue(String key) {
+        if (!caffeineProperties.getAllowNullValue()) {
+            return;
+        }
+        localCacheRegions.put(key, NullValue.INSTANCE, cacheProperties.getNullValueTtl());
+    }
+
+    /**
+     * 以空值过期时间向 Redis 写入空值标记
+     */
+    private void putRedisNullValue(String key) {
+        if (!caffeineProperties.getAllowNullValue()) {
+            return;
+        }
+        redisTemplate.opsForValue().set(key, NullValue.INSTANCE, cacheProperties.getNullValueTtl(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * 将缓存中存储的空值标记还原为 null
+     */
+    private static Object fromStoreValue(Object value) {
+        return value instanceof NullValue ? null : value;
+    }
+
+    /**
+     * 将缓存值转换为缓存条目，类型不符时视为未命中
+     */
+    private static CacheEntry asCacheEntry(Object value) {
+        return value instanceof CacheEntry entry ? entry : null;
+    }
+
+    /**
+     * 从 Redis 批量预加载数据到本地缓存，一次 MGET 获取全部 key，由 {@link CacheWarmer} 分片并行调用
+     *
+     * @param keys 缓存的键
+     * @param hot  是否以热点过期时间写入本地缓存
+     * @return Redis 中命中并写入本地缓存的 key
+     */
+    public Set<String> preloadLocalCache(Collection<String> keys, boolean hot) {
+        Map<String, Object> redisValues = multiGetRedis(keys);
+        if (!hot) {
+            redisValues.forEach(this::putLocal);
+            return redisValues.keySet();
+        }
+        // 预热时不知道调用方的过期时间，以 key 在 Redis 中的剩余过期时间为上限
+        Map<String, Long> remainingTtls = remainingTtls(redisValues.keySet());
+        redisValues.forEach((key, value) -> {
+            long remaining = remainingTtls.getOrDefault(key, 0L);
+            if (remaining != KEY_NOT_EXISTS) {
+                putLocalHot(key, value, remaining);
+            }
+        });
+        return redisValues.keySet();
+    }
+
+    /**
+     * 通过管道批量获取 key 在 Redis 中的剩余过期时间（秒，向上取整），没有过期时间时为 0
+     */
+    private Map<String, Long> remainingTtls(Set<String> keys) {
+        Map<String, Long> result = new HashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+        List<String> keyList = new ArrayList<>(keys);
+        List<Object> ttls = redisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<Object, Object> ops = (RedisOperations<Object, Object>) operations;
+                keyList.forEach(key -> ops.getExpire(key, TimeUnit.MILLISECONDS));
+                return null;
+            }
+        });
+        for (int i = 0; i < keyList.size(); i++) {
+            long millis = ttls.get(i) instanceof Number number ? number.longValue() : -1L;
+            if (millis == -2L) {
+                result.put(keyList.get(i), KEY_NOT_EXISTS);
+            } else {
+                result.put(keyList.get(i), millis > 0 ? (millis + 999) / 1000 : 0L);
             }
         }
+        return result;
     }
 
     /**
@@ -195,4 +721,13 @@ public class Cache {
     public interface DataLoader {
         Object load();
     }
+
+    /**
+     * 批量数据加载器接口
+     * 一次加载多个 key 对应的数据，例如通过 selectBatchIds 查询，返回结果中缺失的 key 视为数据不存在
+     */
+    @FunctionalInterface
+    public interface BulkDataLoader {
+        Map<String, Object> load(Collection<String> keys);
+    }
 }
@@ -0,0 +1,230 @@
+package com.example.template.manager.cache;
+
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import com.example.template.manager.cache.partition.PartitionedCache;
+import lombok.AllArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * CacheAspect 负责解析 {@link CacheConfig} 注解，并根据缓存策略分发到 {@link Cache} 的对应实现。
+ * <p>
+ * 每个方法的 SpEL key 表达式只解析一次并按 Method 缓存，解析器使用 MIXED 编译模式，
+ * 表达式在多次执行后会被编译为字节码，避免每次调用都产生解析和反射开销。
+ * 方法参数名同样按 Method 缓存，每次调用只创建一个 {@link MethodBasedEvaluationContext}，参数变量在表达式引用时才注册。
+ *
+ * @author hzh
+ */
+@Aspect
+@Component
+@AllArgsConstructor
+@Slf4j
+public class CacheAspect {
+
+    // SpEL 解析器，MIXED 模式下表达式会在解释执行若干次后自动编译，编译失败时回退到解释执行
+    private static final ExpressionParser PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, CacheAspect.class.getClassLoader()));
+
+    // 方法参数名解析器
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    // 每个方法对应的 key 元数据缓存
+    private static final Map<Method, KeyMetadata> KEY_METADATA_CACHE = new ConcurrentHashMap<>();
+
+    private final Cache cache;
+
+    private final CachePenetrationGuard penetrationGuard;
+
+    private final NearCache nearCache;
+
+    private final PartitionedCache partitionedCache;
+
+    /**
+     * 拦截带有 @CacheConfig 注解的方法
+     *
+     * @param joinPoint   切点
+     * @param cacheConfig 缓存配置注解
+     * @return 方法返回值（可能来自缓存）
+     */
+    @Around("@annotation(cacheConfig)")
+    public Object around(ProceedingJoinPoint joinPoint, CacheConfig cacheConfig) throws Throwable {
+        KeyMetadata metadata = resolveKeyMetadata(joinPoint, cacheConfig);
+        String keyValue = evaluateKey(metadata, joinPoint.getArgs());
+
+        // 布隆过滤器判定一定不存在的 key 直接返回，防止缓存穿透
+        if (StrUtil.isNotEmpty(cacheConfig.bloomFilter())
+                && !penetrationGuard.mightContain(cacheConfig.bloomFilter(), keyValue)) {
+            return null;
+        }
+
+        String key = metadata.prefix() + keyValue;
+        Cache.DataLoader dataLoader = () -> proceed(joinPoint);
+
+        return switch (cacheConfig.strategy()) {
+            case LOCAL_MANUAL -> {
+                Object value = cache.getLocalCache(key);
+                if (ObjectUtil.isNull(value)) {
+                    value = joinPoint.proceed();
+                    if (ObjectUtil.isNotNull(value)) {
+                        cache.setLocalCache(key, value);
+                    }
+                }
+                yield value;
+            }
+            case LOCAL_AUTO -> cache.getAutoLoadLocalCache(key, dataLoader);
+            case REDIS_CACHE_ASIDE -> cache.getRedisCache(key, dataLoader, resolveTtl(cacheConfig));
+            case TWO_LEVEL_CACHE, HOT_DATA_PRELOAD, CACHE_INVALIDATION_PROPAGATION ->
+                    cache.getTwoLevelCache(key, dataLoader, resolveTtl(cacheConfig));
+            case NEAR_CACHE -> nearCache.get(key, dataLoader, resolveTtl(cacheConfig));
+            case PARTITIONED -> partitionedCache.get(key, dataLoader, resolveTtl(cacheConfig));
+            case STALE_WHILE_REVALIDATE -> {
+                long hardTtl = resolveTtl(cacheConfig);
+                long softTtl = cacheConfig.refreshTime() > 0
+                        ? cacheConfig.timeUnit().toSeconds(cacheConfig.refreshTime())
+                        : hardTtl * 4 / 5;
+                yield cache.getTwoLevelCacheWithRefresh(key, dataLoader, softTtl, hardTtl);
+            }
+        };
+    }
+
+    /**
+     * 计算缓存过期时间（秒），启用随机失效时间时在基础时间上增加 0 ~ randomExpireMaxRange 秒
+     *
+     * @param cacheConfig 缓存配置注解
+     * @return 过期时间（秒）
+     */
+    private long resolveTtl(CacheConfig cacheConfig) {
+        long ttl = cacheConfig.timeUnit().toSeconds(cacheConfig.expireTime());
+        if (cacheConfig.enableRandomExpire() && cacheConfig.randomExpireMaxRange() > 0) {
+            ttl += ThreadLocalRandom.current().nextInt(cacheConfig.randomExpireMaxRange() + 1);
+        }
+        return ttl;
+    }
+
+    /**
+     * 获取方法的 key 元数据，每个方法只解析一次
+     *
+     * @param joinPoint   切点
+     * @param cacheConfig 缓存配置注解
+     * @return key 元数据
+     */
+    private KeyMetadata resolveKeyMetadata(ProceedingJoinPoint joinPoint, CacheConfig cacheConfig) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+
+        return KEY_METADATA_CACHE.computeIfAbsent(specificMethod,
+                m -> buildKeyMetadata(m, targetClass, cacheConfig));
+    }
+
+    /**
+     * 计算 key 表达式的值，完整的缓存 key 格式为：缓存名称:方法名:表达式结果
+     *
+     * @param metadata key 元数据
+     * @param args     方法参数
+     * @return 表达式结果
+     */
+    private String evaluateKey(KeyMetadata metadata, Object[] args) {
+        if (metadata.expression() == null) {
+            // 未指定 key 表达式时，使用全部参数作为 key
+            return Arrays.deepToString(args);
+        }
+
+        // 变量 #p0、#a0 和参数名在表达式首次引用时按需注册，参数名取自缓存
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
+                null, metadata.method(), args, metadata.parameterNameDiscoverer());
+        return metadata.expression().getValue(context, String.class);
+    }
+
+    /**
+     * 构建方法的 key 元数据，每个方法只执行一次
+     */
+    private KeyMetadata buildKeyMetadata(Method method, Class<?> targetClass, CacheConfig cacheConfig) {
+        Class<?> returnType = method.getReturnType();
+        if (StrUtil.isNotEmpty(cacheConfig.bloomFilter()) && returnType.isPrimitive() && returnType != void.class) {
+            // 布隆过滤器判定不存在时返回 null，基本类型的返回值会在代理中抛出空指针异常
+            throw new IllegalStateException("返回基本类型的方法不能使用布隆过滤器：" + method);
+        }
+        String prefix = keyPrefix(targetClass, method, cacheConfig);
+        Expression expression = StrUtil.isBlank(cacheConfig.key()) ? null : PARSER.parseExpression(cacheConfig.key());
+        String[] parameterNames = PARAMETER_NAME_DISCOVERER.getParameterNames(method);
+        log.debug("==> 缓存 key 表达式解析完成：{}，表达式：{}", prefix, cacheConfig.key());
+        return new KeyMetadata(prefix, expression, method, new CachedParameterNameDiscoverer(parameterNames));
+    }
+
+    /**
+     * 方法的缓存 key 前缀，格式为：缓存名称:方法名:，未指定缓存名称时使用目标类的全限定名
+     *
+     * @param targetClass 目标类
+     * @param method      方法
+     * @param cacheConfig 缓存配置注解
+     * @return key 前缀
+     */
+    public static String keyPrefix(Class<?> targetClass, Method method, CacheConfig cacheConfig) {
+        String cacheName = StrUtil.isBlank(cacheConfig.cacheName()) ? targetClass.getName() : cacheConfig.cacheName();
+        if (cacheName.indexOf(':') >= 0) {
+            throw new IllegalStateException("缓存名称不能包含 ':'：" + cacheName);
+        }
+        return cacheName + ":" + method.getName() + ":";
+    }
+
+    /**
+     * 执行目标方法，受检异常原样抛出
+     */
+    @SneakyThrows
+    private static Object proceed(ProceedingJoinPoint joinPoint) {
+        return joinPoint.proceed();
+    }
+
+    /**
+     * 方法的 key 元数据
+     *
+     * @param prefix                  key 前缀
+     * @param expression              预解析的 SpEL 表达式
+     * @param method                  目标方法
+     * @param parameterNameDiscoverer 返回已解析参数名的解析器
+     */
+    private record KeyMetadata(String prefix, Expression expression, Method method,
+                               ParameterNameDiscoverer parameterNameDiscoverer) {
+    }
+
+    /**
+     * 返回预先解析的参数名，避免每次调用都读取方法的参数信息
+     *
+     * @param parameterNames 方法参数名，无法解析时为 null
+     */
+    private record CachedParameterNameDiscoverer(String[] parameterNames) implements ParameterNameDiscoverer {
+
+        @Override
+        public String[] getParameterNames(Method method) {
+            return parameterNames;
+        }
+
+        @Override
+        public String[] getParameterNames(Constructor<?> ctor) {
+            return null;
+        }
+    }
+}
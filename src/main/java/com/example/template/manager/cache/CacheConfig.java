@@ -9,7 +9,8 @@ import java.util.concurrent.TimeUnit;
 /**
  * CacheConfig 是自定义的缓存注解，用于配置不同的缓存策略、过期时间等信息。
  * <p>
- * 使用该注解时，可以指定缓存策略、缓存过期时间、随机失效时间以及缓存的key和结构。
+ * 使用该注解时，可以指定缓存策略、缓存过期时间、随机失效时间以及缓存的key。
+ * 注解缓存的是方法返回值整体，按数据结构读写请直接使用 {@link StructuredCache}。
  *
  * @author hzh
  */
@@ -31,6 +32,14 @@ public @interface CacheConfig {
      */
     long expireTime() default 60;
 
+    /**
+     * 软过期时间（刷新时间），仅对 STALE_WHILE_REVALIDATE 策略生效。
+     * 超过该时间后仍返回旧值，同时在后台刷新；默认为 0，表示取过期时间的 80%。
+     *
+     * @return 软过期时间，单位与 timeUnit 一致。
+     */
+    long refreshTime() default 0;
+
     /**
      * 过期时间的时间单位。
      * 默认为秒，可指定其他时间单位（如分钟、小时等）。
@@ -54,6 +63,14 @@ public @interface CacheConfig {
      */
     int randomExpireMaxRange() default 0;
 
+    /**
+     * 缓存名称，作为 key 的命名空间，完整的 key 格式为：缓存名称:方法名:key 表达式结果。
+     * 默认为空，表示使用目标类的全限定名，不同包下的同名类不会共用 key。名称中不能包含 ':'。
+     *
+     * @return 缓存名称。
+     */
+    String cacheName() default "";
+
     /**
      * 缓存的 key。
      * 可以通过 SpEL 表达式指定缓存的 key，例如 "#userId" 表示以 userId 作为缓存键。
@@ -63,10 +80,11 @@ public @interface CacheConfig {
     String key() default "";
 
     /**
-     * 缓存结构。
-     * 使用 CacheStructure 常量来指定缓存的结构类型（如：STRING、LIST、SET等）。
+     * 布隆过滤器命名空间。
+     * 指定后会先用该命名空间的布隆过滤器判断 key 表达式的结果是否可能存在，一定不存在时直接返回 null。
+     * 返回基本类型的方法无法返回 null，不能指定。默认为空，表示不使用布隆过滤器。
      *
-     * @return 缓存结构的描述。
+     * @return 布隆过滤器命名空间。
      */
-    String structure() default CacheStructure.STRING;
+    String bloomFilter() default "";
 }
@@ -0,0 +1,73 @@
+package com.example.template.manager.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 带软过期时间的缓存条目，用于过期后仍可读（Stale-While-Revalidate）和提前刷新（Refresh-Ahead）
+ * <p>
+ * 软过期之后条目仍会被返回，同时触发后台刷新；硬过期之后条目不再可用。
+ *
+ * @author hzh
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheEntry implements Serializable {
+
+    /**
+     * 缓存的值
+     */
+    private Object value;
+
+    /**
+     * 软过期时间戳，单位：毫秒
+     */
+    private long softExpireAt;
+
+    /**
+     * 硬过期时间戳，单位：毫秒
+     */
+    private long hardExpireAt;
+
+    /**
+     * 上一次加载数据耗时，单位：毫秒
+     */
+    private long delta;
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 是否已硬过期
+     *
+     * @param now 当前时间戳
+     * @return 硬过期返回 true
+     */
+    public boolean isExpired(long now) {
+        return now >= hardExpireAt;
+    }
+
+    /**
+     * 是否需要刷新，使用 XFetch 概率提前刷新算法：
+     * now - delta * beta * ln(random) >= softExpireAt
+     * 加载越慢、越接近软过期时间，提前刷新的概率越高，从而把同一批 key 的刷新分散开
+     *
+     * @param now  当前时间戳
+     * @param beta 提前刷新系数，越大越倾向于提前刷新
+     * @return 需要刷新返回 true
+     */
+    public boolean shouldRefresh(long now, double beta) {
+        double random = ThreadLocalRandom.current().nextDouble();
+        // random 为 0 时 ln 为负无穷，直接视为需要刷新
+        if (random == 0D) {
+            return true;
+        }
+        return now - delta * beta * Math.log(random) >= softExpireAt;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.template.manager.cache;
+
+import cn.hutool.core.collection.CollUtil;
+import com.example.template.common.properties.CacheProperties;
+import com.example.template.config.cache.LocalCacheRegions;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存失效总线，基于 Redis 发布/订阅在集群内传播本地缓存失效
+ * <p>
+ * 同一时间窗口内的失效 key 会被合并成一条批量消息发送，
+ * 收到消息的节点会忽略自己发出的消息，其余节点立即剔除本地缓存中的对应条目。
+ *
+ * @author hzh
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+
+    // 本地缓存分区
+    private final LocalCacheRegions localCacheRegions;
+    // Redisson 客户端
+    private final RedissonClient redissonClient;
+    // 失效传播配置
+    private final CacheProperties.Invalidation invalidationProperties;
+
+    // 当前节点ID
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // 等待发送的失效 key
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
+
+    // 定时合并发送失效消息的调度器
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-invalidation-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private RTopic topic;
+
+    public CacheInvalidationBus(LocalCacheRegions localCacheRegions,
+                                RedissonClient redissonClient,
+                                CacheProperties cacheProperties) {
+        this.localCacheRegions = localCacheRegions;
+        this.redissonClient = redissonClient;
+        this.invalidationProperties = cacheProperties.getInvalidation();
+    }
+
+    /**
+     * 订阅失效频道并启动合并发送任务
+     */
+    @PostConstruct
+    public void start() {
+        if (!invalidationProperties.isEnable()) {
+            return;
+        }
+        topic = redissonClient.getTopic(invalidationProperties.getTopic());
+        topic.addListener(CacheInvalidationMessage.class, (channel, message) -> onMessage(message));
+        long interval = invalidationProperties.getFlushInterval();
+        flushScheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("==> 缓存失效传播已开启，节点ID：{}", nodeId);
+    }
+
+    /**
+     * 通知集群内其他节点失效指定 key 的本地缓存
+     *
+     * @param key 缓存的键
+     */
+    public void publish(String key) {
+        if (topic == null) {
+            return;
+        }
+        pendingKeys.add(key);
+        // 达到批量上限时立即发送，避免消息过大
+        if (pendingKeys.size() >= invalidationProperties.getMaxBatchSize()) {
+            flushScheduler.execute(this::flush);
+        }
+    }
+
+    /**
+     * 将等待中的失效 key 合并为批量消息发送
+     */
+    private void flush() {
+        if (pendingKeys.isEmpty()) {
+            return;
+        }
+        int maxBatchSize = invalidationProperties.getMaxBatchSize();
+        List<String> batch = new ArrayList<>(Math.min(pendingKeys.size(), maxBatchSize));
+        Iterator<String> iterator = pendingKeys.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            iterator.remove();
+            if (batch.size() >= maxBatchSize) {
+                send(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (CollUtil.isNotEmpty(batch)) {
+            send(batch);
+        }
+    }
+
+    /**
+     * 发送一批失效消息
+     */
+    private void send(List<String> keys) {
+        try {
+            topic.publish(new CacheInvalidationMessage(nodeId, keys));
+        } catch (Exception e) {
+            log.error("==> 缓存失效消息发送失败，key数量：{}，异常信息：{}", keys.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 处理其他节点发来的失效消息
+     */
+    private void onMessage(CacheInvalidationMessage message) {
+        // 忽略自己发出的消息
+        if (nodeId.equals(message.getNodeId()) || CollUtil.isEmpty(message.getKeys())) {
+            return;
+        }
+        localCacheRegions.invalidateAll(message.getKeys());
+    }
+
+    /**
+     * 关闭前发送剩余的失效消息
+     */
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdown();
+        if (topic != null) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.template.manager.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 缓存失效消息，一条消息携带一批需要失效的 key
+ *
+ * @author hzh
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheInvalidationMessage implements Serializable {
+
+    /**
+     * 发送消息的节点ID，用于忽略自己发出的消息
+     */
+    private String nodeId;
+
+    /**
+     * 需要失效的 key 列表
+     */
+    private List<String> keys;
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,196 @@
+package com.example.template.manager.cache;
+
+import com.example.template.common.properties.CacheProperties;
+import com.example.template.config.cache.LocalCacheRegions;
+import com.example.template.config.cache.OffHeapStore;
+import com.example.template.util.CacheKeyUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 缓存指标，通过 Micrometer 发布到 Actuator（/actuator/metrics）
+ * <ul>
+ *     <li>cache.requests：按策略、命名空间和结果（l1_hit、l2_hit、miss）统计的请求次数</li>
+ *     <li>cache.load：按策略、命名空间和结果（success、failure）统计的数据加载耗时</li>
+ *     <li>cache.lock.wait：按策略和命名空间统计的分布式锁等待耗时</li>
+ *     <li>cache.gets、cache.evictions 等：每个本地缓存分区 Caffeine 自身的统计，以分区名称区分</li>
+ *     <li>cache.offheap.*：堆外存储的占用字节数、条目数和淘汰次数</li>
+ * </ul>
+ * 命名空间取缓存 key 第一个 ':' 之前的部分，切面生成的 key 即为缓存名称（默认为目标类的全限定名）。
+ * 为控制标签基数，只有配置在 cache.metrics.namespaces 中的命名空间单独统计，其余命名空间统一记为 "other"。
+ *
+ * @author hzh
+ */
+@Component
+public class CacheMetrics {
+
+    // 缓存策略标签
+    public static final String LOCAL = "local";
+    public static final String REDIS = "redis";
+    public static final String TWO_LEVEL = "two_level";
+    public static final String REFRESH = "refresh";
+    public static final String NEAR = "near";
+    public static final String PARTITIONED = "partitioned";
+
+    // 请求结果标签
+    private static final String L1_HIT = "l1_hit";
+    private static final String L2_HIT = "l2_hit";
+    private static final String MISS = "miss";
+
+    // 未配置的命名空间统一使用的标签
+    private static final String OTHER_NAMESPACE = "other";
+
+    private final MeterRegistry meterRegistry;
+
+    private final LocalCacheRegions localCacheRegions;
+
+    // 单独统计的命名空间
+    private final Set<String> namespaces;
+
+    // 已注册的计数器，避免每次请求都构建指标 ID
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    // 已注册的计时器
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public CacheMetrics(MeterRegistry meterRegistry,
+                        LocalCacheRegions localCacheRegions,
+                        CacheProperties cacheProperties) {
+        this.meterRegistry = meterRegistry;
+        this.localCacheRegions = localCacheRegions;
+        this.namespaces = Set.copyOf(cacheProperties.getMetrics().getNamespaces());
+    }
+
+    /**
+     * 注册每个本地缓存分区的命中率、淘汰次数等统计指标
+     */
+    @PostConstruct
+    public void bindLocalCache() {
+        localCacheRegions.getRegions().forEach((name, region) ->
+                CaffeineCacheMetrics.monitor(meterRegistry, region, name));
+
+        OffHeapStore offHeapStore = localCacheRegions.getOffHeapStore();
+        if (offHeapStore != null) {
+            Gauge.builder("cache.offheap.used", offHeapStore, OffHeapStore::usedBytes)
+                    .description("堆外存储占用的字节数")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("cache.offheap.size", offHeapStore, OffHeapStore::size)
+                    .description("堆外存储的条目数")
+                    .register(meterRegistry);
+            Gauge.builder("cache.offheap.evictions", offHeapStore, OffHeapStore::evictionCount)
+                    .description("堆外存储的累计淘汰次数")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 记录本地缓存命中
+     */
+    public void l1Hit(String strategy, String key) {
+        requestCounter(strategy, key, L1_HIT).increment();
+    }
+
+    /**
+     * 记录 Redis 缓存命中
+     */
+    public void l2Hit(String strategy, String key) {
+        requestCounter(strategy, key, L2_HIT).increment();
+    }
+
+    /**
+     * 记录缓存未命中
+     */
+    public void miss(String strategy, String key) {
+        requestCounter(strategy, key, MISS).increment();
+    }
+
+    /**
+     * 执行数据加载并记录耗时，加载抛出异常时记录为失败后原样抛出
+     *
+     * @param strategy 缓存策略
+     * @param key      缓存的键
+     * @param loader   数据加载逻辑
+     * @return 加载结果
+     */
+    public <T> T timeLoad(String strategy, String key, Supplier<T> loader) {
+        long start = System.nanoTime();
+        try {
+            T value = loader.get();
+            recordLoad(strategy, key, System.nanoTime() - start, true);
+            return value;
+        } catch (RuntimeException | Error e) {
+            recordLoad(strategy, key, System.nanoTime() - start, false);
+            throw e;
+        }
+    }
+
+    /**
+     * 记录一次数据加载的耗时，用于无法通过 {@link #timeLoad} 包装的异步加载
+     *
+     * @param strategy  缓存策略
+     * @param key       缓存的键
+     * @param loadNanos 加载耗时（纳秒）
+     * @param success   是否加载成功
+     */
+    public void recordLoad(String strategy, String key, long loadNanos, boolean success) {
+        loadTimer(strategy, key, success ? "success" : "failure").record(loadNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录分布式锁等待耗时
+     *
+     * @param strategy  缓存策略
+     * @param key       缓存的键
+     * @param waitNanos 等待耗时（纳秒）
+     */
+    public void recordLockWait(String strategy, String key, long waitNanos) {
+        String namespace = namespaceOf(key);
+        timers.computeIfAbsent("lock:" + strategy + ":" + namespace, k -> Timer.builder("cache.lock.wait")
+                .description("缓存加载时分布式锁的等待耗时")
+                .tag("strategy", strategy)
+                .tag("namespace", namespace)
+                .publishPercentileHistogram()
+                .register(meterRegistry)).record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Counter requestCounter(String strategy, String key, String result) {
+        String namespace = namespaceOf(key);
+        return counters.computeIfAbsent(strategy + ":" + namespace + ":" + result, k -> Counter.builder("cache.requests")
+                .description("缓存请求次数")
+                .tag("strategy", strategy)
+                .tag("namespace", namespace)
+                .tag("result", result)
+                .register(meterRegistry));
+    }
+
+    private Timer loadTimer(String strategy, String key, String result) {
+        String namespace = namespaceOf(key);
+        return timers.computeIfAbsent("load:" + strategy + ":" + namespace + ":" + result, k -> Timer.builder("cache.load")
+                .description("缓存未命中时从数据源加载数据的耗时")
+                .tag("strategy", strategy)
+                .tag("namespace", namespace)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    /**
+     * 获取 key 的命名空间标签，未配置的命名空间记为 "other"
+     */
+    private String namespaceOf(String key) {
+        String namespace = CacheKeyUtils.namespaceOf(key);
+        return namespaces.contains(namespace) ? namespace : OTHER_NAMESPACE;
+    }
+}
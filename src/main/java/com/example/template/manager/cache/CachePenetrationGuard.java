@@ -0,0 +1,264 @@
+package com.example.template.manager.cache;
+
+import cn.hutool.core.util.StrUtil;
+import com.example.template.common.properties.CacheProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RSetCache;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存穿透防护，基于 Redisson 布隆过滤器判断 key 是否可能存在
+ * <p>
+ * 每个命名空间对应一个布隆过滤器，启动时和每隔 rebuildInterval 在后台全量重建：
+ * 新过滤器构建完成后通过指针切换，重建期间新增的元素同时记录在 recent 集合中，切换后补录到新过滤器。
+ * 过滤器尚未就绪或访问异常时一律视为可能存在，保证不会误拦截正常请求。
+ *
+ * @author hzh
+ */
+@Component
+@Slf4j
+public class CachePenetrationGuard {
+
+    // 当前过滤器名称指针后缀
+    private static final String CURRENT_SUFFIX = ":current";
+
+    // 最近新增元素集合后缀
+    private static final String RECENT_SUFFIX = ":recent";
+
+    // 重建锁后缀
+    private static final String LOCK_SUFFIX = ":lock";
+
+    // 构建时每批写入的元素数量
+    private static final int BUILD_BATCH_SIZE = 1000;
+
+    // Redisson 客户端
+    private final RedissonClient redissonClient;
+    // 布隆过滤器配置
+    private final CacheProperties.BloomFilter bloomFilterProperties;
+    // 命名空间与数据源的映射
+    private final Map<String, BloomFilterSource> sources = new HashMap<>();
+
+    // 命名空间当前使用的过滤器名称
+    private final Map<String, String> currentFilterNames = new ConcurrentHashMap<>();
+
+    // 重建调度器
+    private final ScheduledExecutorService rebuildScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-bloom-filter-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CachePenetrationGuard(RedissonClient redissonClient,
+                                 CacheProperties cacheProperties,
+                                 ObjectProvider<BloomFilterSource> sourceProvider) {
+        this.redissonClient = redissonClient;
+        this.bloomFilterProperties = cacheProperties.getBloomFilter();
+        sourceProvider.orderedStream().forEach(source -> sources.put(source.namespace(), source));
+    }
+
+    /**
+     * 启动后台构建与定时检查任务
+     */
+    @PostConstruct
+    public void start() {
+        if (sources.isEmpty()) {
+            return;
+        }
+        long checkInterval = bloomFilterProperties.getCheckInterval();
+        rebuildScheduler.scheduleWithFixedDelay(this::checkAll, 0, checkInterval, TimeUnit.SECONDS);
+        log.info("==> 布隆过滤器已开启，命名空间：{}", sources.keySet());
+    }
+
+    /**
+     * 判断元素是否可能存在
+     *
+     * @param namespace 命名空间
+     * @param element   元素
+     * @return 可能存在返回 true，一定不存在返回 false
+     */
+    public boolean mightContain(String namespace, String element) {
+        String filterName = currentFilterNames.get(namespace);
+        // 未注册或尚未构建完成时不拦截
+        if (filterName == null) {
+            return true;
+        }
+        try {
+            if (redissonClient.<String>getBloomFilter(filterName).contains(element)) {
+                return true;
+            }
+            // 刚完成切换的窗口内，其他节点可能仍在向旧过滤器写入，补查最近新增集合
+            if (isRecentlySwapped(filterName)) {
+                return recentSet(namespace).contains(element);
+            }
+            return false;
+        } catch (Exception e) {
+            log.warn("==> 布隆过滤器查询失败，命名空间：{}，异常信息：{}", namespace, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 新增元素，数据写入数据库后调用
+     *
+     * @param namespace 命名空间
+     * @param element   元素
+     */
+    public void put(String namespace, String element) {
+        if (!sources.containsKey(namespace)) {
+            return;
+        }
+        try {
+            // 记录到最近新增集合，弥补重建和切换期间的写入
+            recentSet(namespace).add(element, bloomFilterProperties.getRecentRetention(), TimeUnit.MINUTES);
+            String filterName = currentFilterNames.get(namespace);
+            if (filterName != null) {
+                redissonClient.<String>getBloomFilter(filterName).add(element);
+            }
+        } catch (Exception e) {
+            // 数据已写入数据库，不影响调用方；漏写的元素在下次重建时补齐
+            log.error("==> 布隆过滤器新增元素失败，命名空间：{}，元素：{}，异常信息：{}", namespace, element, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 检查全部命名空间：同步当前过滤器名称，过期或不存在时重建
+     */
+    private void checkAll() {
+        for (BloomFilterSource source : sources.values()) {
+            try {
+                check(source);
+            } catch (Exception e) {
+                log.error("==> 布隆过滤器检查失败，命名空间：{}，异常信息：{}", source.namespace(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 检查单个命名空间
+     */
+    private void check(BloomFilterSource source) {
+        String namespace = source.namespace();
+        RBucket<String> pointer = pointer(namespace);
+        String filterName = pointer.get();
+        if (filterName != null) {
+            currentFilterNames.put(namespace, filterName);
+        }
+
+        long rebuildIntervalMillis = TimeUnit.MINUTES.toMillis(bloomFilterProperties.getRebuildInterval());
+        if (filterName != null && System.currentTimeMillis() - builtAt(filterName) < rebuildIntervalMillis) {
+            return;
+        }
+
+        // 同一时刻只允许一个节点重建
+        RLock lock = redissonClient.getLock(namespacePrefix(namespace) + LOCK_SUFFIX);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            // 获取锁后再次确认，防止其他节点刚刚完成重建
+            String latest = pointer.get();
+            if (latest != null && !latest.equals(filterName)) {
+                currentFilterNames.put(namespace, latest);
+                return;
+            }
+            rebuild(source, latest);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 全量重建布隆过滤器并切换指针
+     */
+    private void rebuild(BloomFilterSource source, String oldFilterName) {
+        String namespace = source.namespace();
+        long start = System.currentTimeMillis();
+        String newFilterName = namespacePrefix(namespace) + ":" + start;
+
+        RBloomFilter<String> filter = redissonClient.getBloomFilter(newFilterName);
+        filter.tryInit(source.expectedInsertions(), source.falseProbability());
+
+        List<String> batch = new ArrayList<>(BUILD_BATCH_SIZE);
+        long[] count = {0};
+        source.forEach(element -> {
+            if (StrUtil.isEmpty(element)) {
+                return;
+            }
+            batch.add(element);
+            if (batch.size() >= BUILD_BATCH_SIZE) {
+                filter.add(batch);
+                count[0] += batch.size();
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            filter.add(batch);
+            count[0] += batch.size();
+        }
+
+        // 切换指针，并补录重建期间新增的元素
+        pointer(namespace).set(newFilterName);
+        currentFilterNames.put(namespace, newFilterName);
+        List<String> recent = new ArrayList<>(recentSet(namespace).readAll());
+        if (!recent.isEmpty()) {
+            filter.add(recent);
+        }
+        if (oldFilterName != null) {
+            redissonClient.getBloomFilter(oldFilterName).delete();
+        }
+        log.info("==> 布隆过滤器重建完成，命名空间：{}，元素数量：{}，耗时：{}ms",
+                namespace, count[0], System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 过滤器是否处于刚切换后的补查窗口内
+     */
+    private boolean isRecentlySwapped(String filterName) {
+        long retentionMillis = TimeUnit.MINUTES.toMillis(bloomFilterProperties.getRecentRetention());
+        return System.currentTimeMillis() - builtAt(filterName) < retentionMillis;
+    }
+
+    /**
+     * 从过滤器名称中解析构建时间
+     */
+    private static long builtAt(String filterName) {
+        try {
+            return Long.parseLong(filterName.substring(filterName.lastIndexOf(':') + 1));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private String namespacePrefix(String namespace) {
+        return bloomFilterProperties.getKeyPrefix() + namespace;
+    }
+
+    private RBucket<String> pointer(String namespace) {
+        return redissonClient.getBucket(namespacePrefix(namespace) + CURRENT_SUFFIX);
+    }
+
+    private RSetCache<String> recentSet(String namespace) {
+        return redissonClient.getSetCache(namespacePrefix(namespace) + RECENT_SUFFIX);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildScheduler.shutdownNow();
+    }
+}
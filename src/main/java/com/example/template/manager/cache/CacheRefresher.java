@@ -0,0 +1,62 @@
+package com.example.template.manager.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 缓存后台刷新器
+ * <p>
+ * 在有界线程池中执行缓存刷新任务，同一个 key 同一时刻只会有一个刷新任务；
+ * 线程池已满时直接放弃本次刷新，调用方继续使用旧值。
+ *
+ * @author hzh
+ */
+@Component
+@Slf4j
+public class CacheRefresher {
+
+    // 缓存刷新线程池
+    private final ThreadPoolExecutor cacheRefreshExecutor;
+
+    // 正在刷新的 key
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+
+    public CacheRefresher(@Qualifier("cacheRefreshExecutor") ThreadPoolExecutor cacheRefreshExecutor) {
+        this.cacheRefreshExecutor = cacheRefreshExecutor;
+    }
+
+    /**
+     * 提交后台刷新任务
+     *
+     * @param key  缓存的键
+     * @param task 刷新逻辑
+     * @return 提交成功返回 true，已有刷新任务或线程池已满返回 false
+     */
+    public boolean refreshAsync(String key, Runnable task) {
+        if (!refreshingKeys.add(key)) {
+            return false;
+        }
+        try {
+            cacheRefreshExecutor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("==> 缓存后台刷新失败，key：{}，异常信息：{}", key, e.getMessage());
+                } finally {
+                    refreshingKeys.remove(key);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            refreshingKeys.remove(key);
+            log.warn("==> 缓存刷新线程池已满，放弃本次刷新，key：{}", key);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.template.manager.cache;
+
+import com.example.template.common.properties.CacheProperties;
+import com.example.template.config.cache.CacheCodec;
+import com.example.template.config.cache.LocalCacheRegions;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 本地缓存快照，定期将最热的本地缓存条目写入本地磁盘，节点重启时读取快照预热本地缓存，无需访问网络
+ * <p>
+ * 每次快照生成一组只追加写入的段文件（snapshot-代号-序号.seg），写满 segmentSize 后切换到下一个段；
+ * 全部段写完后原子替换 CURRENT 文件指向新的代号，再删除旧代号的段文件，因此任何时刻都有一份完整的快照。
+ * 段内每条记录依次为：key 长度、key、过期时间戳、value 长度、value（{@link CacheCodec} 序列化），
+ * 读取时通过内存映射解析，已过期的条目直接丢弃；快照整体超过 maxAge 时不再加载，避免恢复长时间停机前的旧数据。
+ * 堆外存储中的条目不参与快照。
+ *
+ * @author hzh
+ */
+@Component
+@Slf4j
+public class CacheSnapshotter {
+
+    // 段文件头部标记
+    private static final int SEGMENT_MAGIC = 0x43534E50;
+
+    // 当前快照代号文件
+    private static final String CURRENT_FILE = "CURRENT";
+
+    // 段文件前缀与后缀
+    private static final String SEGMENT_PREFIX = "snapshot-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    // 本地缓存分区
+    private final LocalCacheRegions localCacheRegions;
+    // 缓存编解码器
+    private final CacheCodec cacheCodec;
+    // 快照配置
+    private final CacheProperties.Snapshot snapshotProperties;
+
+    // 定时快照调度器
+    private final ScheduledExecutorService snapshotScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CacheSnapshotter(LocalCacheRegions localCacheRegions,
+                            CacheCodec cacheCodec,
+                            CacheProperties cacheProperties) {
+        this.localCacheRegions = localCacheRegions;
+        this.cacheCodec = cacheCodec;
+        this.snapshotProperties = cacheProperties.getSnapshot();
+    }
+
+    /**
+     * 加载快照并启动定时快照任务
+     */
+    @PostConstruct
+    public void start() {
+        if (!snapshotProperties.isEnable()) {
+            return;
+        }
+        restore();
+        long interval = snapshotProperties.getInterval();
+        snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 关闭前写入最后一次快照，便于滚动发布后立即恢复
+     */
+    @PreDestroy
+    public void shutdown() {
+        snapshotScheduler.shutdownNow();
+        if (snapshotProperties.isEnable()) {
+            snapshotQuietly();
+        }
+    }
+
+    /**
+     * 写入快照
+     */
+    public synchronized void snapshot() throws IOException {
+        long start = System.currentTimeMillis();
+        Path directory = Paths.get(snapshotProperties.getDirectory());
+        Files.createDirectories(directory);
+
+        long generation = start;
+        SegmentWriter writer = new SegmentWriter(directory, generation);
+        int count = 0;
+        try {
+            for (Map.Entry<String, Object> entry : hottestEntries().entrySet()) {
+                String key = entry.getKey();
+                Duration remaining = localCacheRegions.remainingTtl(key).orElse(null);
+                if (remaining == null || remaining.isNegative() || remaining.isZero()) {
+                    continue;
+                }
+                writer.write(key.getBytes(StandardCharsets.UTF_8), start + remaining.toMillis(),
+                        cacheCodec.serialize(entry.getValue()));
+                count++;
+            }
+        } finally {
+            writer.close();
+        }
+
+        // 原子切换当前代号，再删除旧代号的段文件
+        Path tmp = directory.resolve(CURRENT_FILE + ".tmp");
+        Files.writeString(tmp, Long.toString(generation));
+        Files.move(tmp, directory.resolve(CURRENT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        deleteSegmentsExcept(directory, generation);
+        log.info("==> 本地缓存快照完成，条目数量：{}，段数量：{}，耗时：{}ms",
+                count, writer.segmentCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 读取快照并写入本地缓存
+     */
+    private void restore() {
+        Path directory = Paths.get(snapshotProperties.getDirectory());
+        Path current = directory.resolve(CURRENT_FILE);
+        if (!Files.exists(current)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int restored = 0;
+        try {
+            long generation = Long.parseLong(Files.readString(current).trim());
+            if (start - generation > TimeUnit.SECONDS.toMillis(snapshotProperties.getMaxAge())) {
+                log.info("==> 本地缓存快照已超过最长保留时间，跳过加载");
+                return;
+            }
+            for (Path segment : listSegments(directory, generation)) {
+                restored += restoreSegment(segment, System.currentTimeMillis());
+            }
+            log.info("==> 本地缓存快照加载完成，条目数量：{}，耗时：{}ms", restored, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("==> 本地缓存快照加载失败，已加载 {} 条，异常信息：{}", restored, e.getMessage());
+        }
+    }
+
+    /**
+     * 通过内存映射读取单个段文件
+     */
+    private int restoreSegment(Path segment, long now) throws IOException {
+        int restored = 0;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < Integer.BYTES || buffer.getInt() != SEGMENT_MAGIC) {
+                log.warn("==> 本地缓存快照段文件格式错误，已跳过：{}", segment.getFileName());
+                return 0;
+            }
+            while (buffer.remaining() > Integer.BYTES) {
+                byte[] key = new byte[buffer.getInt()];
+                buffer.get(key);
+                long expireAt = buffer.getLong();
+                byte[] value = new byte[buffer.getInt()];
+                buffer.get(value);
+                long remainingSeconds = TimeUnit.MILLISECONDS.toSeconds(expireAt - now);
+                if (remainingSeconds <= 0) {
+                    continue;
+                }
+                localCacheRegions.put(new String(key, StandardCharsets.UTF_8), cacheCodec.deserialize(value),
+                        remainingSeconds);
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * 获取每个分区中最热的条目，总数不超过 maxEntries
+     */
+    private Map<String, Object> hottestEntries() {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        int limit = snapshotProperties.getMaxEntries();
+        for (com.github.benmanes.caffeine.cache.Cache<String, Object> region : localCacheRegions.getRegions().values()) {
+            int remaining = limit - entries.size();
+            if (remaining <= 0) {
+                break;
+            }
+            region.policy().eviction().ifPresent(eviction -> entries.putAll(eviction.hottest(remaining)));
+        }
+        return entries;
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (Exception e) {
+            log.error("==> 本地缓存快照失败，异常信息：{}", e.getMessage());
+        }
+    }
+
+    private static List<Path> listSegments(Path directory, long generation) throws IOException {
+        String prefix = SEGMENT_PREFIX + generation + "-";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static void deleteSegmentsExcept(Path directory, long generation) throws IOException {
+        String prefix = SEGMENT_PREFIX + generation + "-";
+        List<Path> stale = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX) && !name.startsWith(prefix);
+            }).forEach(stale::add);
+        }
+        for (Path path : stale) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * 段文件写入器，当前段写满 segmentSize 后切换到下一个段
+     */
+    private class SegmentWriter {
+
+        private final Path directory;
+
+        private final long generation;
+
+        private DataOutputStream out;
+
+        private long written;
+
+        private int segmentCount;
+
+        SegmentWriter(Path directory, long generation) {
+            this.directory = directory;
+            this.generation = generation;
+        }
+
+        void write(byte[] key, long expireAt, byte[] value) throws IOException {
+            int recordSize = Integer.BYTES + key.length + Long.BYTES + Integer.BYTES + value.length;
+            if (out == null || written + recordSize > snapshotProperties.getSegmentSize()) {
+                roll();
+            }
+            out.writeInt(key.length);
+            out.write(key);
+            out.writeLong(expireAt);
+            out.writeInt(value.length);
+            out.write(value);
+            written += recordSize;
+        }
+
+        int segmentCount() {
+            return segmentCount;
+        }
+
+        void close() throws IOException {
+            if (out != null) {
+                out.close();
+            }
+        }
+
+        private void roll() throws IOException {
+            close();
+            // 序号补零，保证按文件名排序即为写入顺序
+            String name = String.format("%s%d-%05d%s", SEGMENT_PREFIX, generation, segmentCount++, SEGMENT_SUFFIX);
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(directory.resolve(name))));
+            out.writeInt(SEGMENT_MAGIC);
+            written = Integer.BYTES;
+        }
+    }
+}
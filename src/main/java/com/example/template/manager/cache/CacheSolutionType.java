@@ -56,6 +56,12 @@ public enum CacheSolutionType {
      */
     TWO_LEVEL_CACHE("TLC", "TwoLevel"),
 
+    /**
+     * 二级缓存 - 过期后仍可读与提前刷新
+     * 软过期后返回旧值并在后台刷新，接近软过期时按概率提前刷新，避免过期瞬间的加载尖刺。
+     */
+    STALE_WHILE_REVALIDATE("TLC", "StaleWhileRevalidate"),
+
     /**
      * 二级缓存 - 热点数据预热
      * 在启动时预先加载热点数据到本地缓存。
@@ -66,7 +72,19 @@ public enum CacheSolutionType {
      * 二级缓存 - 缓存失效传播
      * 当数据更新时，通过发布/订阅机制传播缓存失效消息。
      */
-    CACHE_INVALIDATION_PROPAGATION("TLC", "Invalidation");
+    CACHE_INVALIDATION_PROPAGATION("TLC", "Invalidation"),
+
+    /**
+     * 二级缓存 - 近端缓存
+     * 基于 Redisson RLocalCachedMap，数据变化时由 Redis 通知所有节点失效本地副本，本地命中的同时保持接近 Redis 的新鲜度。
+     */
+    NEAR_CACHE("TLC", "NearCache"),
+
+    /**
+     * 二级缓存 - 分区缓存
+     * 按一致性哈希为每个 key 指定所有者节点，只在所有者的本地缓存中保留一份，其他节点通过节点间通信读取。
+     */
+    PARTITIONED("TLC", "Partitioned");
 
     private final String type;    // 缓存类型
     private final String policy;  // 缓存策略
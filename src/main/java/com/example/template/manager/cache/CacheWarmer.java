@@ -0,0 +1,165 @@
+package com.example.template.manager.cache;
+
+import cn.hutool.core.collection.CollUtil;
+import com.example.template.common.constant.CacheConstants;
+import com.example.template.common.properties.CacheProperties;
+import com.example.template.util.CacheKeyUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 缓存预热器，在应用就绪后于后台预热本地缓存
+ * <p>
+ * 预热的 key 包括静态配置的热点 key、其他节点持久化到 Redis 的热点 key 以及 {@link CacheWarmupLoader} 声明的 key。
+ * key 按分片在有界线程池中并行处理，每个分片一次 MGET；Redis 中缺失且注册了加载器的 key 从数据源批量加载并写回两级缓存。
+ * 整个预热受时间预算限制，超时后未完成的分片被取消。预热完成前健康检查返回 OUT_OF_SERVICE，
+ * 将其加入 readiness 分组即可在预热完成前阻止流量进入。
+ *
+ * @author hzh
+ */
+@Component
+@Slf4j
+public class CacheWarmer implements HealthIndicator {
+
+    private final Cache cache;
+
+    private final HotKeyDetector hotKeyDetector;
+
+    // 缓存预热配置
+    private final CacheProperties.Warmup warmupProperties;
+
+    // 命名空间与预热加载器的映射
+    private final Map<String, CacheWarmupLoader> loaders = new HashMap<>();
+
+    // 已预热的 key 数量
+    private final AtomicInteger warmedCount = new AtomicInteger();
+
+    // 预热是否已结束（完成或超时）
+    private volatile boolean finished;
+
+    public CacheWarmer(Cache cache,
+                       HotKeyDetector hotKeyDetector,
+                       CacheProperties cacheProperties,
+                       ObjectProvider<CacheWarmupLoader> loaderProvider) {
+        this.cache = cache;
+        this.hotKeyDetector = hotKeyDetector;
+        this.warmupProperties = cacheProperties.getWarmup();
+        loaderProvider.orderedStream().forEach(loader -> loaders.put(loader.namespace(), loader));
+    }
+
+    /**
+     * 应用就绪后在后台线程中开始预热，不阻塞启动流程
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!warmupProperties.isEnable()) {
+            finished = true;
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "cache-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = finished ? Health.up() : Health.outOfService();
+        return builder.withDetail("warmed", warmedCount.get()).build();
+    }
+
+    /**
+     * 执行预热，在时间预算内等待全部分片完成
+     */
+    private void warmUp() {
+        long start = System.currentTimeMillis();
+        int parallelism = warmupProperties.getParallelism();
+        ExecutorService executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "cache-warmup-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Integer>> futures = executor.invokeAll(buildTasks(),
+                    warmupProperties.getTimeBudget(), TimeUnit.SECONDS);
+            long cancelled = futures.stream().filter(Future::isCancelled).count();
+            if (cancelled > 0) {
+                log.warn("==> 缓存预热超出时间预算，已取消 {} 个分片", cancelled);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("==> 缓存预热失败，异常信息：{}", e.getMessage(), e);
+        } finally {
+            executor.shutdownNow();
+            finished = true;
+            log.info("==> 缓存预热结束，预热数量：{}，耗时：{}ms", warmedCount.get(), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * 按是否注册加载器和是否为热点 key 对预热 key 分组，再按分片大小切分为任务
+     */
+    private List<Callable<Integer>> buildTasks() {
+        Set<String> hotKeys = new LinkedHashSet<>(hotKeyDetector.loadPersistedHotKeys());
+        Set<String> keys = new LinkedHashSet<>(hotKeys);
+        keys.addAll(Arrays.asList(CacheConstants.HOT_KEYS));
+        loaders.values().forEach(loader -> keys.addAll(loader.warmupKeys()));
+
+        Map<CacheWarmupLoader, List<String>> loaderKeys = new LinkedHashMap<>();
+        List<String> hotRedisKeys = new ArrayList<>();
+        List<String> redisKeys = new ArrayList<>();
+        for (String key : keys) {
+            CacheWarmupLoader loader = loaders.get(CacheKeyUtils.namespaceOf(key));
+            if (loader != null) {
+                loaderKeys.computeIfAbsent(loader, k -> new ArrayList<>()).add(key);
+            } else if (hotKeys.contains(key)) {
+                hotRedisKeys.add(key);
+            } else {
+                redisKeys.add(key);
+            }
+        }
+
+        int chunkSize = warmupProperties.getChunkSize();
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (List<String> chunk : CollUtil.split(hotRedisKeys, chunkSize)) {
+            tasks.add(() -> warmed(cache.preloadLocalCache(chunk, true)));
+        }
+        for (List<String> chunk : CollUtil.split(redisKeys, chunkSize)) {
+            tasks.add(() -> warmed(cache.preloadLocalCache(chunk, false)));
+        }
+        loaderKeys.forEach((loader, namespaceKeys) -> {
+            for (List<String> chunk : CollUtil.split(namespaceKeys, chunkSize)) {
+                // 本地缓存、Redis、数据源依次查询，热点 key 由 Cache 以热点过期时间写入本地缓存
+                tasks.add(() -> warmed(cache.getAllTwoLevelCache(chunk, loader::load, loader.ttl()).keySet()));
+            }
+        });
+        return tasks;
+    }
+
+    private int warmed(Collection<String> keys) {
+        return warmedCount.addAndGet(keys.size());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.template.manager.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 缓存预热加载器，Redis 中没有预热 key 对应的数据时从数据源批量加载
+ * <p>
+ * 实现类注册为 Spring Bean 即可生效，按命名空间（缓存 key 第一个 ':' 之前的部分）匹配预热 key。
+ *
+ * @author hzh
+ */
+public interface CacheWarmupLoader {
+
+    /**
+     * 负责预热的命名空间
+     *
+     * @return 命名空间
+     */
+    String namespace();
+
+    /**
+     * 批量加载数据，返回结果中缺失的 key 视为数据不存在
+     *
+     * @param keys 缓存的键
+     * @return 缓存的键与值
+     */
+    Map<String, Object> load(Collection<String> keys);
+
+    /**
+     * 除热点 key 之外需要额外预热的 key
+     *
+     * @return 缓存的键
+     */
+    default Collection<String> warmupKeys() {
+        return List.of();
+    }
+
+    /**
+     * 加载后写入 Redis 的过期时间，单位：秒
+     *
+     * @return 过期时间
+     */
+    default long ttl() {
+        return 3600;
+    }
+}
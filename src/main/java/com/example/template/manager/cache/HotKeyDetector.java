@@ -0,0 +1,229 @@
+package com.example.template.manager.cache;
+
+import com.example.template.common.properties.CacheProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.protocol.ScoredEntry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 热点 key 探测器
+ * <p>
+ * 使用无锁的 Count-Min Sketch 对 Redis 读取进行采样计数，计数定期减半（TinyLFU 老化），
+ * 估计访问次数超过阈值的 key 被视为热点 key，由 {@link Cache} 以更长的过期时间提升到本地缓存。
+ * 当前热点集合会定期持久化到 Redis，节点重启时据此预热。
+ *
+ * @author hzh
+ */
+@Component
+@Slf4j
+public class HotKeyDetector {
+
+    // Count-Min Sketch 行数（哈希函数个数）
+    private static final int DEPTH = 4;
+
+    // 持久化热点集合的保留时间，长期没有节点写入时自动清理
+    private static final Duration PERSIST_RETENTION = Duration.ofDays(1);
+
+    // 黄金分割常数，用于生成多个哈希函数
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    // Redisson 客户端
+    private final RedissonClient redissonClient;
+    // 热点 key 配置
+    private final CacheProperties.HotKey hotKeyProperties;
+
+    // 计数矩阵，DEPTH 行 width 列平铺存储
+    private final AtomicIntegerArray counters;
+    // 列下标掩码
+    private final int mask;
+
+    // 当前热点 key 及其估计访问次数
+    private final Map<String, Integer> hotKeys = new ConcurrentHashMap<>();
+
+    // 老化与持久化调度器
+    private final ScheduledExecutorService hotKeyScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-hot-key");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public HotKeyDetector(RedissonClient redissonClient, CacheProperties cacheProperties) {
+        this.redissonClient = redissonClient;
+        this.hotKeyProperties = cacheProperties.getHotKey();
+        // 宽度向上取整为 2 的幂，便于用掩码取模
+        int width = Integer.highestOneBit(Math.max(hotKeyProperties.getSketchWidth() - 1, 1)) << 1;
+        this.counters = new AtomicIntegerArray(DEPTH * width);
+        this.mask = width - 1;
+    }
+
+    /**
+     * 启动老化与持久化任务
+     */
+    @PostConstruct
+    public void start() {
+        if (!hotKeyProperties.isEnable()) {
+            return;
+        }
+        long decayInterval = hotKeyProperties.getDecayInterval();
+        hotKeyScheduler.scheduleWithFixedDelay(this::decay, decayInterval, decayInterval, TimeUnit.SECONDS);
+        long persistInterval = hotKeyProperties.getPersistInterval();
+        hotKeyScheduler.scheduleWithFixedDelay(this::persist, persistInterval, persistInterval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 记录一次 Redis 读取，按采样率计数
+     *
+     * @param key 缓存的键
+     * @return 该 key 当前是否为热点 key
+     */
+    public boolean record(String key) {
+        if (!hotKeyProperties.isEnable()) {
+            return false;
+        }
+        int sampleRate = hotKeyProperties.getSampleRate();
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return hotKeys.containsKey(key);
+        }
+
+        int hash = spread(key.hashCode());
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = i * (mask + 1) + indexOf(hash, i);
+            estimate = Math.min(estimate, counters.incrementAndGet(index));
+        }
+
+        if (estimate >= hotKeyProperties.getThreshold()) {
+            hotKeys.put(key, estimate);
+            return true;
+        }
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * 判断 key 是否为热点 key
+     *
+     * @param key 缓存的键
+     * @return 热点 key 返回 true
+     */
+    public boolean isHot(String key) {
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * 获取访问次数最高的前 N 个热点 key
+     *
+     * @param limit 数量
+     * @return 热点 key 及估计访问次数，按访问次数降序
+     */
+    public Map<String, Integer> topHotKeys(int limit) {
+        Map<String, Integer> top = new LinkedHashMap<>();
+        hotKeys.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    /**
+     * 读取持久化在 Redis 中的热点 key，并标记为热点，用于节点启动预热
+     *
+     * @return 热点 key 列表
+     */
+    public Collection<String> loadPersistedHotKeys() {
+        if (!hotKeyProperties.isEnable()) {
+            return List.of();
+        }
+        Collection<ScoredEntry<String>> entries =
+                hotKeySet().entryRangeReversed(0, hotKeyProperties.getTopN() - 1);
+        List<String> keys = new ArrayList<>(entries.size());
+        for (ScoredEntry<String> entry : entries) {
+            keys.add(entry.getValue());
+            hotKeys.putIfAbsent(entry.getValue(), entry.getScore().intValue());
+        }
+        return keys;
+    }
+
+    /**
+     * 计数减半，使历史访问逐渐失去权重；同时淘汰已冷却的热点 key
+     */
+    private void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.updateAndGet(i, value -> value >>> 1);
+        }
+        int threshold = hotKeyProperties.getThreshold();
+        hotKeys.replaceAll((key, count) -> count >>> 1);
+        hotKeys.values().removeIf(count -> count < threshold / 2);
+
+        // 热点集合超出上限时只保留访问次数最高的部分
+        int topN = hotKeyProperties.getTopN();
+        if (hotKeys.size() > topN) {
+            List<Map.Entry<String, Integer>> sorted = new ArrayList<>(hotKeys.entrySet());
+            sorted.sort(Map.Entry.comparingByValue(Comparator.reverseOrder()));
+            sorted.subList(topN, sorted.size()).forEach(entry -> hotKeys.remove(entry.getKey()));
+        }
+    }
+
+    /**
+     * 将当前热点 key 持久化到 Redis，只保留前 N 个
+     */
+    private void persist() {
+        if (hotKeys.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, Double> scores = new HashMap<>();
+            hotKeys.forEach((key, count) -> scores.put(key, count.doubleValue()));
+            RScoredSortedSet<String> hotKeySet = hotKeySet();
+            hotKeySet.addAll(scores);
+            hotKeySet.removeRangeByRank(0, -hotKeyProperties.getTopN() - 1);
+            hotKeySet.expire(PERSIST_RETENTION);
+        } catch (Exception e) {
+            log.error("==> 热点 key 持久化失败，异常信息：{}", e.getMessage());
+        }
+    }
+
+    private RScoredSortedSet<String> hotKeySet() {
+        return redissonClient.getScoredSortedSet(hotKeyProperties.getRedisKey());
+    }
+
+    /**
+     * 第 i 个哈希函数对应的列下标
+     */
+    private int indexOf(int hash, int i) {
+        return spread(hash + i * GOLDEN_RATIO) & mask;
+    }
+
+    /**
+     * 扰动哈希值，使低位分布更均匀
+     */
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hotKeyScheduler.shutdown();
+    }
+}
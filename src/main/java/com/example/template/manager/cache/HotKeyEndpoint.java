@@ -0,0 +1,34 @@
+package com.example.template.manager.cache;
+
+import com.example.template.common.properties.CacheProperties;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 热点 key 监控端点，通过 /actuator/hotkeys 查看当前节点的热点 key
+ *
+ * @author hzh
+ */
+@Component
+@Endpoint(id = "hotkeys")
+@AllArgsConstructor
+public class HotKeyEndpoint {
+
+    private final HotKeyDetector hotKeyDetector;
+
+    private final CacheProperties cacheProperties;
+
+    /**
+     * 获取访问次数最高的前 N 个热点 key
+     *
+     * @return 热点 key 及估计访问次数
+     */
+    @ReadOperation
+    public Map<String, Integer> hotKeys() {
+        return hotKeyDetector.topHotKeys(cacheProperties.getHotKey().getTopN());
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.template.manager.cache;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.example.template.common.properties.CacheProperties;
+import com.example.template.common.properties.CaffeineProperties;
+import com.example.template.config.cache.CacheCodec;
+import com.example.template.util.CacheKeyUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLocalCachedMap;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.options.LocalCachedMapOptions;
+import org.springframework.cache.support.NullValue;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 近端缓存，基于 Redisson {@link RLocalCachedMap}
+ * <p>
+ * 每个命名空间（key 第一个 ':' 之前的部分）对应 Redis 中的一个 Hash，各节点在本地保存读取过的条目；
+ * 任一节点修改或删除条目时，Redisson 通过发布/订阅通知所有节点失效本地副本（INVALIDATE 同步策略），
+ * 断线重连后清空本地副本，因此本地命中的新鲜度接近直接读取 Redis，而不再只依赖过期时间。
+ * <p>
+ * Hash 字段不支持单独的过期时间，条目以 {@link CacheEntry} 保存硬过期时间戳，读取到已过期的条目时视为未命中并删除该字段，
+ * 同时后台定期扫描本节点使用过的 Hash，删除不再被读取的过期字段，避免 Hash 无限增长。
+ * 近端缓存的数据与 {@link Cache} 的两级缓存相互独立，剔除需调用 {@link #evict}。
+ *
+ * @author hzh
+ */
+@Component
+@Slf4j
+public class NearCache {
+
+    // 近端缓存锁常量
+    private static final String NEAR_CACHE_LOCK = "nearCacheLock";
+
+    // 过期字段清理锁前缀，同一命名空间同一时间只由一个节点清理
+    private static final String SWEEP_LOCK = "nearCacheSweepLock:";
+
+    // Redisson 客户端
+    private final RedissonClient redissonClient;
+    // 缓存编解码器
+    private final CacheCodec cacheCodec;
+    // 业务缓存配置
+    private final CacheProperties cacheProperties;
+    // 本地缓存配置
+    private final CaffeineProperties caffeineProperties;
+    // 缓存指标
+    private final CacheMetrics cacheMetrics;
+
+    // 命名空间与近端缓存 Hash 的映射
+    private final Map<String, RLocalCachedMap<String, CacheEntry>> maps = new ConcurrentHashMap<>();
+
+    // 过期字段清理调度器
+    private final ScheduledExecutorService sweepScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-near-sweep");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NearCache(RedissonClient redissonClient,
+                     CacheCodec cacheCodec,
+                     CacheProperties cacheProperties,
+                     CaffeineProperties caffeineProperties,
+                     CacheMetrics cacheMetrics) {
+        this.redissonClient = redissonClient;
+        this.cacheCodec = cacheCodec;
+        this.cacheProperties = cacheProperties;
+        this.caffeineProperties = caffeineProperties;
+        this.cacheMetrics = cacheMetrics;
+    }
+
+    /**
+     * 获取近端缓存中的数据，本地副本优先，其次读取 Redis，都未命中时在分布式锁保护下加载
+     *
+     * @param key        缓存的键
+     * @param dataLoader 数据加载器，负责从数据源加载数据
+     * @param ttl        过期时间（秒）
+     * @return 缓存的值
+     */
+    public Object get(String key, Cache.DataLoader dataLoader, long ttl) {
+        RLocalCachedMap<String, CacheEntry> map = mapFor(key);
+        long now = System.currentTimeMillis();
+
+        // 1. 本地副本
+        CacheEntry entry = map.getCachedMap().get(key);
+        if (isUsable(entry, now)) {
+            cacheMetrics.l1Hit(CacheMetrics.NEAR, key);
+            return fromStoreValue(entry.getValue());
+        }
+
+        // 2. Redis，读取后 Redisson 自动写入本地副本
+        entry = map.get(key);
+        if (isUsable(entry, now)) {
+            cacheMetrics.l2Hit(CacheMetrics.NEAR, key);
+            return fromStoreValue(entry.getValue());
+        }
+        if (entry != null) {
+            // 已过期的字段不会自动删除，读取到时立即删除，加载失败时也不再残留
+            map.fastRemoveAsync(key);
+        }
+
+        // 3. 加载数据，使用分布式锁防止缓存击穿
+        cacheMetrics.miss(CacheMetrics.NEAR, key);
+        RLock lock = redissonClient.getLock(NEAR_CACHE_LOCK + key);
+        try {
+            long start = System.nanoTime();
+            boolean locked = lock.tryLock(10, 5, TimeUnit.SECONDS);
+            cacheMetrics.recordLockWait(CacheMetrics.NEAR, key, System.nanoTime() - start);
+            if (!locked) {
+                return null;
+            }
+            // 再次检查 Redis，防止并发情况下重复加载
+            entry = map.get(key);
+            if (isUsable(entry, System.currentTimeMillis())) {
+                return fromStoreValue(entry.getValue());
+            }
+            Object value = cacheMetrics.timeLoad(CacheMetrics.NEAR, key, dataLoader::load);
+            put(map, key, value, ttl);
+            return value;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 写入近端缓存，其他节点的本地副本随之失效
+     *
+     * @param key   缓存的键
+     * @param value 缓存的值
+     * @param ttl   过期时间（秒）
+     */
+    public void put(String key, Object value, long ttl) {
+        put(mapFor(key), key, value, ttl);
+    }
+
+    /**
+     * 剔除近端缓存中的数据，所有节点的本地副本随之失效
+     *
+     * @param key 缓存的键
+     */
+    public void evict(String key) {
+        mapFor(key).fastRemove(key);
+    }
+
+    /**
+     * 启动过期字段清理任务
+     */
+    @PostConstruct
+    public void start() {
+        long interval = cacheProperties.getNearCache().getSweepInterval();
+        if (interval > 0) {
+            sweepScheduler.scheduleWithFixedDelay(this::sweepExpired, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 停止过期字段清理，释放本地副本和失效消息订阅
+     */
+    @PreDestroy
+    public void shutdown() {
+        sweepScheduler.shutdownNow();
+        maps.values().forEach(RLocalCachedMap::destroy);
+        maps.clear();
+    }
+
+    /**
+     * 扫描本节点使用过的近端缓存 Hash，删除已过期的字段
+     */
+    public void sweepExpired() {
+        maps.forEach((namespace, map) -> {
+            RLock lock = redissonClient.getLock(SWEEP_LOCK + namespace);
+            if (!lock.tryLock()) {
+                return;
+            }
+            try {
+                int removed = sweepExpired(map);
+                if (removed > 0) {
+                    log.info("==> 近端缓存过期字段清理完成，命名空间：{}，删除数量：{}", namespace, removed);
+                }
+            } catch (Exception e) {
+                log.warn("==> 近端缓存过期字段清理失败，命名空间：{}，异常信息：{}", namespace, e.getMessage());
+            } finally {
+                if (lock.isHeldByCurrentThread()) {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    private int sweepExpired(RLocalCachedMap<String, CacheEntry> map) {
+        int batchSize = cacheProperties.getNearCache().getSweepBatchSize();
+        long now = System.currentTimeMillis();
+        List<String> expiredKeys = new ArrayList<>();
+        int removed = 0;
+        // 按批 HSCAN，避免一次读取整个 Hash
+        for (Map.Entry<String, CacheEntry> entry : map.entrySet(batchSize)) {
+            if (entry.getValue() == null || entry.getValue().isExpired(now)) {
+                expiredKeys.add(entry.getKey());
+            }
+            if (expiredKeys.size() >= batchSize) {
+                removed += map.fastRemove(expiredKeys.toArray(new String[0]));
+                expiredKeys.clear();
+            }
+        }
+        if (!expiredKeys.isEmpty()) {
+            removed += map.fastRemove(expiredKeys.toArray(new String[0]));
+        }
+        return removed;
+    }
+
+    private void put(RLocalCachedMap<String, CacheEntry> map, String key, Object value, long ttl) {
+        long now = System.currentTimeMillis();
+        if (ObjectUtil.isNotNull(value)) {
+            long expireAt = now + TimeUnit.SECONDS.toMillis(ttl);
+            map.fastPut(key, new CacheEntry(value, expireAt, expireAt, 0));
+        } else if (caffeineProperties.getAllowNullValue()) {
+            // 空值以短过期时间缓存，防止缓存穿透
+            long expireAt = now + TimeUnit.SECONDS.toMillis(cacheProperties.getNullValueTtl());
+            map.fastPut(key, new CacheEntry(NullValue.INSTANCE, expireAt, expireAt, 0));
+        } else {
+            map.fastRemove(key);
+        }
+    }
+
+    /**
+     * 条目存在且未过期
+     */
+    private boolean isUsable(CacheEntry entry, long now) {
+        return entry != null && !entry.isExpired(now);
+    }
+
+    /**
+     * 获取 key 所属命名空间的近端缓存 Hash
+     */
+    private RLocalCachedMap<String, CacheEntry> mapFor(String key) {
+        return maps.computeIfAbsent(CacheKeyUtils.namespaceOf(key), this::createMap);
+    }
+
+    private RLocalCachedMap<String, CacheEntry> createMap(String namespace) {
+        CacheProperties.NearCache nearCacheProperties = cacheProperties.getNearCache();
+        LocalCachedMapOptions<String, CacheEntry> options =
+                LocalCachedMapOptions.<String, CacheEntry>name(nearCacheProperties.getKeyPrefix() + namespace)
+                        .codec(cacheCodec.forNamespace(namespace))
+                        .cacheSize(nearCacheProperties.getCacheSize())
+                        .evictionPolicy(LocalCachedMapOptions.EvictionPolicy.LRU)
+                        .timeToLive(Duration.ofSeconds(nearCacheProperties.getLocalTtl()))
+                        .syncStrategy(LocalCachedMapOptions.SyncStrategy.INVALIDATE)
+                        .reconnectionStrategy(LocalCachedMapOptions.ReconnectionStrategy.CLEAR);
+        log.info("==> 近端缓存初始化，命名空间：{}", namespace);
+        return redissonClient.getLocalCachedMap(options);
+    }
+
+    /**
+     * 将缓存中存储的空值标记还原为 null
+     */
+    private static Object fromStoreValue(Object value) {
+        return value instanceof NullValue ? null : value;
+    }
+}
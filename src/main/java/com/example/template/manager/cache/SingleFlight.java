@@ -0,0 +1,88 @@
+package com.example.template.manager.cache;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * SingleFlight 用于在 JVM 内合并同一个 key 的并发加载请求。
+ * <p>
+ * 同一个 key 同一时刻只会有一个加载任务在执行，其他并发调用者共享该任务的结果；
+ * 不同 key 之间互不阻塞，可以并行加载。
+ * <p>
+ * loader 在同一线程中再次加载同一个 key 时会等待自己完成而永久阻塞，此时直接抛出 IllegalStateException。
+ *
+ * @author hzh
+ */
+public class SingleFlight {
+
+    // 正在执行中的加载任务
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    // 当前线程正在加载的 key，用于检测 loader 重入
+    private final ThreadLocal<Set<String>> loadingKeys = new ThreadLocal<>();
+
+    /**
+     * 执行加载任务，同一个 key 的并发调用只会执行一次 loader
+     *
+     * @param key    加载的键
+     * @param loader 加载逻辑
+     * @return 加载结果
+     * @throws IllegalStateException loader 在同一线程中重入加载同一个 key
+     */
+    public Object execute(String key, Supplier<Object> loader) {
+        Set<String> keys = loadingKeys.get();
+        if (keys != null && keys.contains(key)) {
+            throw new IllegalStateException("加载 key 时重入加载同一个 key：" + key);
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+
+        // 已有其他线程在加载，等待其结果
+        if (existing != null) {
+            return join(existing);
+        }
+
+        // 当前线程负责加载
+        if (keys == null) {
+            keys = new HashSet<>();
+            loadingKeys.set(keys);
+        }
+        keys.add(key);
+        try {
+            future.complete(loader.get());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, future);
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                loadingKeys.remove();
+            }
+        }
+        return join(future);
+    }
+
+    /**
+     * 等待加载结果，加载异常时原样抛出
+     */
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
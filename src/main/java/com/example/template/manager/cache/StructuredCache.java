@@ -0,0 +1,419 @@
+package com.example.template.manager.cache;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.example.template.config.cache.LocalCacheRegions;
+import lombok.AllArgsConstructor;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StructuredCache 提供 {@link CacheStructure} 中各数据结构的类型化访问，避免为修改一个字段而序列化整个对象。
+ * <p>
+ * Hash 字段读取使用两级缓存，本地缓存以 Hash 的 key 为粒度保存已读取字段的快照，
+ * 因此 {@link Cache#evict(String)} 剔除该 key 时字段快照一并失效；快照的过期时间不超过 key 在 Redis 中的剩余过期时间。
+ * 字段写入后剔除本地快照并通知其他节点。
+ * 计数字段以纯数字字符串保存，只能通过 {@link #incrementHashField} 和 {@link #getHashCounter} 访问，不与普通字段混用。
+ * 其余结构（List、Set、ZSet、Bitmap、HyperLogLog、Geo）变化频繁或依赖服务端计算，直接访问 Redis。
+ *
+ * @author hzh
+ */
+@Component
+@AllArgsConstructor
+public class StructuredCache {
+
+    // Redis 缓存模板
+    private final RedisTemplate<Object, Object> redisTemplate;
+
+    // 本地缓存分区
+    private final LocalCacheRegions localCacheRegions;
+
+    // 缓存失效总线
+    private final CacheInvalidationBus invalidationBus;
+
+    // ========== Hash ==========
+
+    /**
+     * 读取 Hash 的单个字段，本地缓存优先
+     *
+     * @param key   缓存的键
+     * @param field 字段
+     * @return 字段的值
+     */
+    public Object getHashField(String key, String field) {
+        return getHashFields(key, List.of(field)).get(field);
+    }
+
+    /**
+     * 读取 Hash 的多个字段，本地快照中没有的字段通过一次 HMGET 获取并合并到快照
+     *
+     * @param key    缓存的键
+     * @param fields 字段
+     * @return 字段与值，不包含不存在的字段
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getHashFields(String key, Collection<String> fields) {
+        Map<String, Object> snapshot = localCacheRegions.getIfPresent(key) instanceof Map<?, ?> local
+                ? (Map<String, Object>) local : Map.of();
+        Map<String, Object> result = new LinkedHashMap<>();
+        List<Object> missing = new ArrayList<>();
+        for (String field : fields) {
+            Object value = snapshot.get(field);
+            if (ObjectUtil.isNotNull(value)) {
+                result.put(field, value);
+            } else {
+                missing.add(field);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        List<Object> values = redisTemplate.opsForHash().multiGet(key, missing);
+        Map<String, Object> merged = new HashMap<>(snapshot);
+        for (int i = 0; i < missing.size(); i++) {
+            Object value = values.get(i);
+            if (ObjectUtil.isNotNull(value)) {
+                String field = (String) missing.get(i);
+                merged.put(field, value);
+                result.put(field, value);
+            }
+        }
+        if (merged.size() > snapshot.size()) {
+            cacheSnapshot(key, merged);
+        }
+        return result;
+    }
+
+    /**
+     * 写入 Hash 的单个字段
+     *
+     * @param key   缓存的键
+     * @param field 字段
+     * @param value 字段的值
+     */
+    public void putHashField(String key, String field, Object value) {
+        redisTemplate.opsForHash().put(key, field, value);
+        invalidateHash(key);
+    }
+
+    /**
+     * 批量写入 Hash 字段
+     *
+     * @param key    缓存的键
+     * @param fields 字段与值
+     */
+    public void putHashFields(String key, Map<String, Object> fields) {
+        redisTemplate.opsForHash().putAll(key, fields);
+        invalidateHash(key);
+    }
+
+    /**
+     * 删除 Hash 字段
+     *
+     * @param key    缓存的键
+     * @param fields 字段
+     */
+    public void deleteHashFields(String key, String... fields) {
+        redisTemplate.opsForHash().delete(key, (Object[]) fields);
+        invalidateHash(key);
+    }
+
+    /**
+     * 原子递增 Hash 计数字段，字段以纯数字字符串保存，HINCRBY 才能识别
+     *
+     * @param key   缓存的键
+     * @param field 计数字段
+     * @param delta 增量
+     * @return 递增后的值
+     */
+    public long incrementHashField(String key, String field, long delta) {
+        Long value = redisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.hashCommands().hIncrBy(bytes(key), bytes(field), delta));
+        return value == null ? 0L : value;
+    }
+
+    /**
+     * 读取 Hash 计数字段，计数变化频繁，不使用本地缓存
+     *
+     * @param key   缓存的键
+     * @param field 计数字段
+     * @return 计数值，字段不存在时返回 0
+     */
+    public long getHashCounter(String key, String field) {
+        byte[] value = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.hashCommands().hGet(bytes(key), bytes(field)));
+        return value == null ? 0L : Long.parseLong(new String(value, StandardCharsets.UTF_8));
+    }
+
+    // ========== Sorted Set ==========
+
+    /**
+     * 添加有序集合成员
+     *
+     * @param key    缓存的键
+     * @param member 成员
+     * @param score  分数
+     */
+    public void addToSortedSet(String key, Object member, double score) {
+        redisTemplate.opsForZSet().add(key, member, score);
+    }
+
+    /**
+     * 原子增加有序集合成员的分数
+     *
+     * @param key    缓存的键
+     * @param member 成员
+     * @param delta  增量
+     * @return 增加后的分数
+     */
+    public double incrementScore(String key, Object member, double delta) {
+        Double score = redisTemplate.opsForZSet().incrementScore(key, member, delta);
+        return score == null ? 0D : score;
+    }
+
+    /**
+     * 按排名范围读取成员及分数，分数从高到低，适用于排行榜
+     *
+     * @param key   缓存的键
+     * @param start 起始排名（从 0 开始）
+     * @param end   结束排名（包含），-1 表示最后一名
+     * @return 成员及分数
+     */
+    public Set<ZSetOperations.TypedTuple<Object>> reverseRangeWithScores(String key, long start, long end) {
+        return redisTemplate.opsForZSet().reverseRangeWithScores(key, start, end);
+    }
+
+    /**
+     * 按分数范围分页读取成员，分数从低到高
+     *
+     * @param key    缓存的键
+     * @param min    最小分数
+     * @param max    最大分数
+     * @param offset 偏移量
+     * @param count  数量
+     * @return 成员
+     */
+    public Set<Object> rangeByScore(String key, double min, double max, long offset, long count) {
+        return redisTemplate.opsForZSet().rangeByScore(key, min, max, offset, count);
+    }
+
+    /**
+     * 获取成员的排名，分数从高到低
+     *
+     * @param key    缓存的键
+     * @param member 成员
+     * @return 排名（从 0 开始），成员不存在时返回 null
+     */
+    public Long reverseRank(String key, Object member) {
+        return redisTemplate.opsForZSet().reverseRank(key, member);
+    }
+
+    // ========== List ==========
+
+    /**
+     * 向列表尾部追加元素，并只保留最新的 maxLength 个元素
+     *
+     * @param key       缓存的键
+     * @param maxLength 列表最大长度，小于等于 0 表示不裁剪
+     * @param values    元素
+     */
+    public void pushToList(String key, long maxLength, Object... values) {
+        redisTemplate.opsForList().rightPushAll(key, values);
+        if (maxLength > 0) {
+            redisTemplate.opsForList().trim(key, -maxLength, -1);
+        }
+    }
+
+    /**
+     * 按下标范围读取列表
+     *
+     * @param key   缓存的键
+     * @param start 起始下标
+     * @param end   结束下标（包含），-1 表示最后一个元素
+     * @return 元素
+     */
+    public List<Object> rangeList(String key, long start, long end) {
+        return redisTemplate.opsForList().range(key, start, end);
+    }
+
+    // ========== Set ==========
+
+    /**
+     * 添加集合成员
+     *
+     * @param key     缓存的键
+     * @param members 成员
+     */
+    public void addToSet(String key, Object... members) {
+        redisTemplate.opsForSet().add(key, members);
+    }
+
+    /**
+     * 判断是否为集合成员
+     *
+     * @param key    缓存的键
+     * @param member 成员
+     * @return 是成员返回 true
+     */
+    public boolean isSetMember(String key, Object member) {
+        return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(key, member));
+    }
+
+    /**
+     * 删除集合成员
+     *
+     * @param key     缓存的键
+     * @param members 成员
+     */
+    public void removeFromSet(String key, Object... members) {
+        redisTemplate.opsForSet().remove(key, members);
+    }
+
+    // ========== Bitmap ==========
+
+    /**
+     * 设置位
+     *
+     * @param key    缓存的键
+     * @param offset 偏移量
+     * @param value  位的值
+     * @return 原来的值
+     */
+    public boolean setBit(String key, long offset, boolean value) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setBit(key, offset, value));
+    }
+
+    /**
+     * 读取位
+     *
+     * @param key    缓存的键
+     * @param offset 偏移量
+     * @return 位的值
+     */
+    public boolean getBit(String key, long offset) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().getBit(key, offset));
+    }
+
+    /**
+     * 统计值为 1 的位数
+     *
+     * @param key 缓存的键
+     * @return 位数
+     */
+    public long bitCount(String key) {
+        Long count = redisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.stringCommands().bitCount(key.getBytes(StandardCharsets.UTF_8)));
+        return count == null ? 0L : count;
+    }
+
+    // ========== HyperLogLog ==========
+
+    /**
+     * 向 HyperLogLog 添加元素
+     *
+     * @param key    缓存的键
+     * @param values 元素
+     */
+    public void addToHyperLogLog(String key, Object... values) {
+        redisTemplate.opsForHyperLogLog().add(key, values);
+    }
+
+    /**
+     * 估算一个或多个 HyperLogLog 合并后的基数
+     *
+     * @param keys 缓存的键
+     * @return 基数估算值
+     */
+    public long countHyperLogLog(String... keys) {
+        Long count = redisTemplate.opsForHyperLogLog().size((Object[]) keys);
+        return count == null ? 0L : count;
+    }
+
+    // ========== Geo ==========
+
+    /**
+     * 添加地理位置
+     *
+     * @param key       缓存的键
+     * @param longitude 经度
+     * @param latitude  纬度
+     * @param member    成员
+     */
+    public void addGeo(String key, double longitude, double latitude, Object member) {
+        redisTemplate.opsForGeo().add(key, new Point(longitude, latitude), member);
+    }
+
+    /**
+     * 按半径查询附近的成员，按距离从近到远排列
+     *
+     * @param key          缓存的键
+     * @param longitude    中心点经度
+     * @param latitude     中心点纬度
+     * @param radiusMeters 半径，单位：米
+     * @param limit        数量上限
+     * @return 成员及距离
+     */
+    public GeoResults<RedisGeoCommands.GeoLocation<Object>> searchGeoRadius(String key, double longitude, double latitude,
+                                                                            double radiusMeters, long limit) {
+        Circle circle = new Circle(new Point(longitude, latitude), new Distance(radiusMeters / 1000, Metrics.KILOMETERS));
+        RedisGeoCommands.GeoRadiusCommandArgs args = RedisGeoCommands.GeoRadiusCommandArgs.newGeoRadiusArgs()
+                .includeDistance()
+                .sortAscending()
+                .limit(limit);
+        return redisTemplate.opsForGeo().radius(key, circle, args);
+    }
+
+    // ========== 通用 ==========
+
+    /**
+     * 设置过期时间
+     *
+     * @param key 缓存的键
+     * @param ttl 过期时间（秒）
+     */
+    public void expire(String key, long ttl) {
+        redisTemplate.expire(key, ttl, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 以 key 在 Redis 中的剩余过期时间写入本地字段快照，key 已不存在时不写入
+     */
+    private void cacheSnapshot(String key, Map<String, Object> snapshot) {
+        Long ttl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
+        if (ttl == null || ttl == -2L || ttl == 0L) {
+            return;
+        }
+        // 没有过期时间时使用分区的过期时间
+        localCacheRegions.put(key, snapshot, ttl > 0 ? ttl : 0);
+    }
+
+    /**
+     * 剔除本地缓存中的字段快照，并通知其他节点
+     */
+    private void invalidateHash(String key) {
+        localCacheRegions.invalidate(key);
+        invalidationBus.publish(key);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.template.manager.cache;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.example.template.common.properties.CacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.LongCodec;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于标签的批量失效
+ * <p>
+ * 写入时为缓存条目关联若干标签（如 user:42），并记录各标签当前的代号；
+ * 失效一个标签只需将其代号加一（O(1)），关联该标签的旧条目在读取时因代号不一致被视为未命中，无需扫描 key 空间。
+ * 标签代号保存在 Redis 中，本地以较短的过期时间缓存，标签失效时通过发布/订阅通知各节点立即刷新。
+ * <p>
+ * 加载数据前先记录标签代号，加载期间标签失效时条目记录的是旧代号，下次读取即被识别为已失效；
+ * 已失效条目的重新加载通过 {@link SingleFlight} 合并，热点标签失效时同一个 key 在每个节点只加载一次。
+ *
+ * @author hzh
+ */
+@Component
+@Slf4j
+public class TaggedCache {
+
+    private final Cache cache;
+    // Redisson 客户端
+    private final RedissonClient redissonClient;
+    // 标签配置
+    private final CacheProperties.Tag tagProperties;
+
+    // 本地缓存的标签代号
+    private final com.github.benmanes.caffeine.cache.Cache<String, Long> localGenerations;
+
+    // 已失效条目重新加载的请求合并器
+    private final SingleFlight reloadFlight = new SingleFlight();
+
+    private RTopic topic;
+
+    public TaggedCache(Cache cache, RedissonClient redissonClient, CacheProperties cacheProperties) {
+        this.cache = cache;
+        this.redissonClient = redissonClient;
+        this.tagProperties = cacheProperties.getTag();
+        this.localGenerations = Caffeine.newBuilder()
+                .expireAfterWrite(tagProperties.getGenerationTtl(), TimeUnit.SECONDS)
+                .maximumSize(tagProperties.getMaxLocalTags())
+                .build();
+    }
+
+    /**
+     * 订阅标签失效频道
+     */
+    @PostConstruct
+    public void start() {
+        topic = redissonClient.getTopic(tagProperties.getTopic());
+        topic.addListener(String.class, (channel, tag) -> localGenerations.invalidate(tag));
+    }
+
+    /**
+     * 获取带标签的两级缓存数据，任一标签已失效时重新加载
+     *
+     * @param key        缓存的键
+     * @param dataLoader 数据加载器，负责从数据源加载数据
+     * @param ttl        过期时间（秒）
+     * @param tags       标签
+     * @return 缓存的值
+     */
+    public Object get(String key, Cache.DataLoader dataLoader, long ttl, Collection<String> tags) {
+        Object stored = cache.getTwoLevelCache(key, () -> load(dataLoader, tags), ttl);
+        if (!(stored instanceof TaggedValue tagged)) {
+            return stored;
+        }
+        if (isCurrent(tagged)) {
+            return tagged.getValue();
+        }
+
+        // 标签已失效，合并并发的重新加载，并覆盖旧条目
+        return reloadFlight.execute(key, () -> {
+            TaggedValue fresh = load(dataLoader, tags);
+            if (fresh == null) {
+                cache.evict(key);
+                return null;
+            }
+            cache.putTwoLevelCache(key, fresh, ttl);
+            return fresh.getValue();
+        });
+    }
+
+    /**
+     * 写入带标签的两级缓存数据
+     *
+     * @param key   缓存的键
+     * @param value 缓存的值
+     * @param ttl   过期时间（秒）
+     * @param tags  标签
+     */
+    public void put(String key, Object value, long ttl, Collection<String> tags) {
+        TaggedValue tagged = tag(value, tags);
+        if (tagged == null) {
+            cache.evict(key);
+            return;
+        }
+        cache.putTwoLevelCache(key, tagged, ttl);
+    }
+
+    /**
+     * 失效标签，关联该标签的全部条目随之失效
+     *
+     * @param tag 标签
+     */
+    public void invalidateTag(String tag) {
+        long generation = redissonClient.getAtomicLong(tagProperties.getKeyPrefix() + tag).incrementAndGet();
+        localGenerations.put(tag, generation);
+        try {
+            topic.publish(tag);
+        } catch (Exception e) {
+            // 其他节点最迟在本地代号过期后感知失效
+            log.error("==> 标签失效消息发送失败，标签：{}，异常信息：{}", tag, e.getMessage());
+        }
+    }
+
+    /**
+     * 先记录标签的当前代号再加载数据，空值不附加，由 Cache 按空值处理
+     */
+    private TaggedValue load(Cache.DataLoader dataLoader, Collection<String> tags) {
+        Map<String, Long> generations = currentGenerations(tags);
+        Object value = dataLoader.load();
+        return ObjectUtil.isNull(value) ? null : new TaggedValue(value, generations);
+    }
+
+    /**
+     * 为值附加标签的当前代号，空值不附加，由 Cache 按空值处理
+     */
+    private TaggedValue tag(Object value, Collection<String> tags) {
+        if (ObjectUtil.isNull(value)) {
+            return null;
+        }
+        return new TaggedValue(value, currentGenerations(tags));
+    }
+
+    /**
+     * 判断条目记录的标签代号是否仍是最新
+     */
+    private boolean isCurrent(TaggedValue tagged) {
+        Map<String, Long> recorded = tagged.getTagGenerations();
+        if (recorded == null || recorded.isEmpty()) {
+            return true;
+        }
+        Map<String, Long> current = currentGenerations(recorded.keySet());
+        return recorded.equals(current);
+    }
+
+    /**
+     * 获取标签的当前代号，本地未缓存的标签通过一次批量读取从 Redis 获取
+     */
+    private Map<String, Long> currentGenerations(Collection<String> tags) {
+        Map<String, Long> generations = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String tag : tags) {
+            Long generation = localGenerations.getIfPresent(tag);
+            if (generation != null) {
+                generations.put(tag, generation);
+            } else {
+                missing.add(tag);
+            }
+        }
+        if (missing.isEmpty()) {
+            return generations;
+        }
+
+        String[] names = missing.stream().map(tag -> tagProperties.getKeyPrefix() + tag).toArray(String[]::new);
+        Map<String, Long> remote = redissonClient.getBuckets(LongCodec.INSTANCE).get(names);
+        for (String tag : missing) {
+            // 从未失效过的标签代号为 0
+            long generation = remote.getOrDefault(tagProperties.getKeyPrefix() + tag, 0L);
+            localGenerations.put(tag, generation);
+            generations.put(tag, generation);
+        }
+        return generations;
+    }
+}
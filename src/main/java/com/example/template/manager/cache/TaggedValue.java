@@ -0,0 +1,35 @@
+package com.example.template.manager.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * 带标签的缓存条目，记录写入时各标签的代号
+ * <p>
+ * 标签失效时其代号递增，读取时任一标签的当前代号与记录不一致，条目即视为已失效。
+ *
+ * @author hzh
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaggedValue implements Serializable {
+
+    /**
+     * 缓存的值
+     */
+    private Object value;
+
+    /**
+     * 写入时各标签的代号
+     */
+    private Map<String, Long> tagGenerations;
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
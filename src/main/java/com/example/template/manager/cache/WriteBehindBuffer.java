@@ -0,0 +1,192 @@
+package com.example.template.manager.cache;
+
+import cn.hutool.core.map.MapUtil;
+import com.example.template.common.properties.CacheProperties;
+import com.example.template.config.cache.CacheCodec;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 异步写回缓冲区
+ * <p>
+ * 写入先进入 Redis 中按命名空间划分的 Hash，同一个 key 的多次写入自然合并为最后一次；
+ * 缓冲写入次数达到批量大小或到达刷新间隔时，将缓冲区整体转移为刷新中状态并交给 {@link WriteBehindFlusher} 批量写库。
+ * 缓冲区保存在 Redis 中，节点宕机不会丢失尚未写库的数据，刷新失败的批次会在下一次刷新时优先重试。
+ * 同一命名空间的缓冲区、刷新中缓冲区和刷新锁的 key 以 "{命名空间}" 作为哈希标签，保证 Redis Cluster 下位于同一个槽，RENAME 不会跨槽失败。
+ *
+ * @author hzh
+ */
+@Component
+@Slf4j
+public class WriteBehindBuffer {
+
+    // 刷新中的缓冲区后缀
+    private static final String FLUSHING_SUFFIX = ":flushing";
+
+    // 刷新锁后缀，同一命名空间同一时刻只允许一个节点刷新
+    private static final String LOCK_SUFFIX = ":lock";
+
+    // Redisson 客户端
+    private final RedissonClient redissonClient;
+    // 异步写回配置
+    private final CacheProperties.WriteBehind writeBehindProperties;
+    // 缓存编解码器
+    private final CacheCodec cacheCodec;
+    // 命名空间与刷新器的映射
+    private final Map<String, WriteBehindFlusher> flushers = new HashMap<>();
+
+    // 每个命名空间自上次刷新以来的写入次数
+    private final Map<String, AtomicInteger> pendingCounts = new ConcurrentHashMap<>();
+
+    // 刷新调度器
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-write-behind-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WriteBehindBuffer(RedissonClient redissonClient,
+                             CacheProperties cacheProperties,
+                             CacheCodec cacheCodec,
+                             ObjectProvider<WriteBehindFlusher> flusherProvider) {
+        this.redissonClient = redissonClient;
+        this.writeBehindProperties = cacheProperties.getWriteBehind();
+        this.cacheCodec = cacheCodec;
+        flusherProvider.orderedStream().forEach(flusher -> flushers.put(flusher.namespace(), flusher));
+    }
+
+    /**
+     * 启动定时刷新任务
+     */
+    @PostConstruct
+    public void start() {
+        if (flushers.isEmpty()) {
+            return;
+        }
+        long interval = writeBehindProperties.getFlushInterval();
+        flushScheduler.scheduleWithFixedDelay(this::flushAll, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("==> 异步写回已开启，命名空间：{}", flushers.keySet());
+    }
+
+    /**
+     * 写入缓冲区
+     *
+     * @param namespace 命名空间
+     * @param key       缓存的键
+     * @param value     最新的值
+     */
+    public void write(String namespace, String key, Object value) {
+        if (!flushers.containsKey(namespace)) {
+            throw new IllegalArgumentException("未注册异步写回刷新器的命名空间：" + namespace);
+        }
+        pendingMap(namespace).fastPut(key, value);
+
+        // 写入次数达到批量大小时立即触发刷新
+        AtomicInteger count = pendingCounts.computeIfAbsent(namespace, k -> new AtomicInteger());
+        if (count.incrementAndGet() >= writeBehindProperties.getBatchSize()) {
+            count.set(0);
+            flushScheduler.execute(() -> flush(namespace));
+        }
+    }
+
+    /**
+     * 刷新全部命名空间
+     */
+    private void flushAll() {
+        flushers.keySet().forEach(this::flush);
+    }
+
+    /**
+     * 刷新指定命名空间的缓冲区
+     *
+     * @param namespace 命名空间
+     */
+    private void flush(String namespace) {
+        String bufferName = bufferName(namespace);
+        RLock lock = redissonClient.getLock(bufferName + LOCK_SUFFIX);
+        // 其他节点正在刷新时直接跳过
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            // 刷新中的缓冲区与写入缓冲区使用相同的编解码器，保证按 key 删除时编码一致
+            RMap<String, Object> flushing = redissonClient.getMap(bufferName + FLUSHING_SUFFIX,
+                    cacheCodec.forNamespace(namespace));
+            // 先重试上一次未完成的批次，保证写入顺序
+            if (!flushing.isExists()) {
+                RMap<String, Object> pending = pendingMap(namespace);
+                if (!pending.isExists()) {
+                    return;
+                }
+                pending.rename(flushing.getName());
+            }
+
+            Map<String, Object> entries = flushing.readAllMap();
+            WriteBehindFlusher flusher = flushers.get(namespace);
+            Map<String, Object> batch = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : entries.entrySet()) {
+                batch.put(entry.getKey(), entry.getValue());
+                if (batch.size() >= writeBehindProperties.getBatchSize()) {
+                    flushBatch(flusher, flushing, batch);
+                    batch = new LinkedHashMap<>();
+                }
+            }
+            if (MapUtil.isNotEmpty(batch)) {
+                flushBatch(flusher, flushing, batch);
+            }
+            flushing.delete();
+        } catch (Exception e) {
+            log.error("==> 异步写回刷新失败，命名空间：{}，异常信息：{}", namespace, e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 写入一批数据，成功后从刷新中的缓冲区移除，失败时保留等待重试
+     */
+    private void flushBatch(WriteBehindFlusher flusher, RMap<String, Object> flushing, Map<String, Object> batch) {
+        flusher.flush(batch);
+        flushing.fastRemove(batch.keySet().toArray(new String[0]));
+    }
+
+    /**
+     * 获取命名空间的写入缓冲区
+     */
+    private RMap<String, Object> pendingMap(String namespace) {
+        return redissonClient.getMap(bufferName(namespace), cacheCodec.forNamespace(namespace));
+    }
+
+    /**
+     * 命名空间的写入缓冲区名称，命名空间作为哈希标签
+     */
+    private String bufferName(String namespace) {
+        return writeBehindProperties.getKeyPrefix() + "{" + namespace + "}";
+    }
+
+    /**
+     * 关闭前尽量刷新剩余数据，未刷新的数据仍保留在 Redis 中
+     */
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdown();
+        if (!flushers.isEmpty()) {
+            flushAll();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.template.manager.cache;
+
+import java.util.Map;
+
+/**
+ * 异步写回刷新器，负责将缓冲区中合并后的数据批量写入数据库
+ * <p>
+ * 每个命名空间对应一个刷新器，例如使用 MyBatis-Plus 的 updateBatchById 批量更新。
+ * 刷新抛出异常时，本批数据会保留在缓冲区中，等待下一次刷新重试。
+ *
+ * @author hzh
+ */
+public interface WriteBehindFlusher {
+
+    /**
+     * 刷新器负责的命名空间
+     *
+     * @return 命名空间
+     */
+    String namespace();
+
+    /**
+     * 批量写入数据库
+     *
+     * @param entries 缓存键与最新值，同一个键只保留最后一次写入
+     */
+    void flush(Map<String, Object> entries);
+}
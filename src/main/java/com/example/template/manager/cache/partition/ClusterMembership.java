@@ -0,0 +1,186 @@
+package com.example.template.manager.cache.partition;
+
+import com.example.template.common.properties.CacheProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.ScoredEntry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分区缓存的节点成员管理
+ * <p>
+ * 节点以 "地址:端口" 为标识，定期将心跳时间作为分数写入 Redis 有序集合，
+ * 同时删除超过下线判定时间未心跳的节点，并根据最新的成员列表重建一致性哈希环。
+ * 无法连接的节点由 {@link #markUnreachable} 从本地哈希环中暂时移除，直到其心跳时间晚于标记时的心跳时间。
+ * 依赖 {@link PartitionRpcServer}，保证注册到成员列表之前服务端已监听端口。
+ *
+ * @author hzh
+ */
+@Component
+@Slf4j
+public class ClusterMembership {
+
+    // Redisson 客户端
+    private final RedissonClient redissonClient;
+    // 分区缓存配置
+    private final CacheProperties.Partition partitionProperties;
+
+    // 当前节点标识
+    private final String self;
+
+    // 当前哈希环，未启用时为空环
+    private volatile ConsistentHashRing ring = new ConsistentHashRing(Collections.emptySet(), 0);
+
+    // 最近一次心跳读取到的成员与心跳时间
+    private volatile Map<String, Double> heartbeats = Collections.emptyMap();
+
+    // 无法连接的成员与标记时的心跳时间
+    private final Map<String, Double> unreachable = new ConcurrentHashMap<>();
+
+    // 心跳调度器
+    private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-partition-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ClusterMembership(RedissonClient redissonClient,
+                             CacheProperties cacheProperties,
+                             PartitionRpcServer rpcServer) {
+        this.redissonClient = redissonClient;
+        this.partitionProperties = cacheProperties.getPartition();
+        this.self = rpcServer.getHost() + ":" + rpcServer.getPort();
+    }
+
+    /**
+     * 注册当前节点并启动心跳
+     */
+    @PostConstruct
+    public void start() {
+        if (!partitionProperties.isEnable()) {
+            return;
+        }
+        heartbeat();
+        long interval = partitionProperties.getHeartbeatInterval();
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.SECONDS);
+        log.info("==> 分区缓存节点已注册：{}", self);
+    }
+
+    /**
+     * 停止心跳并从成员列表中移除当前节点，其他节点在下一次心跳时感知
+     */
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        if (partitionProperties.isEnable()) {
+            try {
+                members().remove(self);
+            } catch (Exception e) {
+                log.warn("==> 分区缓存节点注销失败：{}，异常信息：{}", self, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 获取 key 的所有者
+     *
+     * @param key 缓存的键
+     * @return 所有者节点标识，未启用或没有可用节点时返回 null
+     */
+    public String ownerOf(String key) {
+        return ring.ownerOf(key);
+    }
+
+    /**
+     * 是否为当前节点
+     *
+     * @param member 节点标识
+     * @return 是当前节点返回 true
+     */
+    public boolean isSelf(String member) {
+        return self.equals(member);
+    }
+
+    /**
+     * 获取当前节点标识
+     *
+     * @return 节点标识
+     */
+    public String getSelf() {
+        return self;
+    }
+
+    /**
+     * 将无法连接的成员从本地哈希环中移除，直到它的下一次心跳
+     *
+     * @param member 节点标识
+     */
+    public void markUnreachable(String member) {
+        if (isSelf(member)) {
+            return;
+        }
+        Double heartbeat = heartbeats.get(member);
+        if (heartbeat != null && unreachable.putIfAbsent(member, heartbeat) == null) {
+            log.warn("==> 分区缓存节点无法连接，暂时移出哈希环：{}", member);
+            rebuildRing();
+        }
+    }
+
+    /**
+     * 写入心跳，清理下线节点，成员变化时重建哈希环
+     */
+    private void heartbeat() {
+        try {
+            long now = System.currentTimeMillis();
+            RScoredSortedSet<String> members = members();
+            members.add(now, self);
+            long expireBefore = now - TimeUnit.SECONDS.toMillis(partitionProperties.getMemberTimeout());
+            members.removeRangeByScore(0, true, expireBefore, false);
+
+            Map<String, Double> current = new HashMap<>();
+            for (ScoredEntry<String> entry : members.entryRange(0, -1)) {
+                current.put(entry.getValue(), entry.getScore());
+            }
+            heartbeats = current;
+            // 已下线或标记后重新心跳的成员恢复参与路由
+            unreachable.entrySet().removeIf(entry -> {
+                Double heartbeat = current.get(entry.getKey());
+                return heartbeat == null || heartbeat > entry.getValue();
+            });
+            rebuildRing();
+        } catch (Exception e) {
+            // 心跳失败时保留旧的哈希环
+            log.error("==> 分区缓存心跳失败，异常信息：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 按最近一次心跳的成员和无法连接的成员重建哈希环，成员不变时保留旧环
+     */
+    private synchronized void rebuildRing() {
+        Set<String> routable = new HashSet<>(heartbeats.keySet());
+        routable.removeAll(unreachable.keySet());
+        if (!routable.equals(ring.getMembers())) {
+            ring = new ConsistentHashRing(routable, partitionProperties.getVirtualNodes());
+            log.info("==> 分区缓存成员变化，当前节点数量：{}，成员：{}", routable.size(), routable);
+        }
+    }
+
+    private RScoredSortedSet<String> members() {
+        return redissonClient.getScoredSortedSet(partitionProperties.getMembersKey(), StringCodec.INSTANCE);
+    }
+}
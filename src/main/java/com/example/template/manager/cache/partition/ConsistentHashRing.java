@@ -0,0 +1,63 @@
+package com.example.template.manager.cache.partition;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 一致性哈希环，创建后不可变，成员变化时整体替换
+ * <p>
+ * 每个成员在环上放置若干虚拟节点，key 归属于顺时针方向的第一个虚拟节点，
+ * 成员增减时只有相邻区间的 key 改变所有者。
+ *
+ * @author hzh
+ */
+public final class ConsistentHashRing {
+
+    // 虚拟节点哈希值与成员的映射
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    // 成员
+    private final Set<String> members;
+
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        this.members = Collections.unmodifiableSet(new TreeSet<>(members));
+        for (String member : this.members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(member + "#" + i), member);
+            }
+        }
+    }
+
+    /**
+     * 获取 key 的所有者
+     *
+     * @param key 缓存的键
+     * @return 所有者，环为空时返回 null
+     */
+    public String ownerOf(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    /**
+     * 获取全部成员
+     *
+     * @return 成员
+     */
+    public Set<String> getMembers() {
+        return members;
+    }
+
+    private static long hash(String value) {
+        return MurmurHash.hash64(value);
+    }
+}
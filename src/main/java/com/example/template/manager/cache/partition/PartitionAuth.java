@@ -0,0 +1,77 @@
+package com.example.template.manager.cache.partition;
+
+import io.netty.buffer.ByteBuf;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+/**
+ * 分区缓存节点间认证
+ * <p>
+ * 客户端建立连接后发送的第一帧为：时间戳（long）+ HMAC-SHA256(共享密钥, 时间戳)，
+ * 服务端校验签名和时间偏差，失败时关闭连接，认证通过前不处理任何请求。
+ *
+ * @author hzh
+ */
+final class PartitionAuth {
+
+    // 签名算法
+    private static final String ALGORITHM = "HmacSHA256";
+
+    // 签名长度
+    private static final int SIGNATURE_LENGTH = 32;
+
+    // 认证帧长度
+    static final int FRAME_LENGTH = Long.BYTES + SIGNATURE_LENGTH;
+
+    private PartitionAuth() {
+    }
+
+    /**
+     * 写入认证帧
+     *
+     * @param buffer    目标缓冲区
+     * @param secret    共享密钥
+     * @param timestamp 当前时间戳
+     */
+    static void write(ByteBuf buffer, String secret, long timestamp) {
+        buffer.writeLong(timestamp);
+        buffer.writeBytes(sign(secret, timestamp));
+    }
+
+    /**
+     * 校验认证帧
+     *
+     * @param frame   认证帧
+     * @param secret  共享密钥
+     * @param now     当前时间戳
+     * @param maxSkew 允许的时间偏差，单位：毫秒
+     * @return 认证通过返回 true
+     */
+    static boolean verify(ByteBuf frame, String secret, long now, long maxSkew) {
+        if (frame.readableBytes() != FRAME_LENGTH) {
+            return false;
+        }
+        long timestamp = frame.readLong();
+        if (Math.abs(now - timestamp) > maxSkew) {
+            return false;
+        }
+        byte[] signature = new byte[SIGNATURE_LENGTH];
+        frame.readBytes(signature);
+        return MessageDigest.isEqual(signature, sign(secret, timestamp));
+    }
+
+    static byte[] sign(String secret, long timestamp) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return mac.doFinal(ByteBuffer.allocate(Long.BYTES).putLong(timestamp).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 不可用", e);
+        }
+    }
+}
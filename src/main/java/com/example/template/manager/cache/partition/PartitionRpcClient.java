@@ -0,0 +1,217 @@
+package com.example.template.manager.cache.partition;
+
+import com.example.template.common.properties.CacheProperties;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 分区缓存客户端，向 key 的所有者节点读取缓存
+ * <p>
+ * 每个节点只保持一条长连接，请求通过请求 ID 多路复用，连接断开后在下一次请求时重新建立。
+ * 连接异步建立，同一节点同一时间只有一个连接中的 future，并发请求共用；连接失败后在退避时间内直接失败，不再重复连接。
+ * 连接建立后先发送认证帧，见 {@link PartitionAuth}。
+ * 协议见 {@link PartitionRpcServer}。
+ *
+ * @author hzh
+ */
+@Component
+@Slf4j
+public class PartitionRpcClient {
+
+    // 分区缓存配置
+    private final CacheProperties.Partition partitionProperties;
+
+    // 节点标识与连接的映射，值为连接中或已建立的连接
+    private final Map<String, CompletableFuture<Channel>> connections = new ConcurrentHashMap<>();
+
+    // 节点标识与连接失败后允许重连的时间戳
+    private final Map<String, Long> retryAfter = new ConcurrentHashMap<>();
+
+    // 等待响应的请求
+    private final Map<Integer, CompletableFuture<byte[]>> pendingRequests = new ConcurrentHashMap<>();
+
+    // 请求 ID 生成器
+    private final AtomicInteger requestIds = new AtomicInteger();
+
+    private final EventLoopGroup group;
+
+    private final Bootstrap bootstrap;
+
+    public PartitionRpcClient(CacheProperties cacheProperties) {
+        this.partitionProperties = cacheProperties.getPartition();
+        this.group = new NioEventLoopGroup(0, new DefaultThreadFactory("cache-partition-client", true));
+        ResponseHandler handler = new ResponseHandler();
+        this.bootstrap = new Bootstrap()
+                .group(group)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, partitionProperties.getConnectTimeout())
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel channel) {
+                        channel.pipeline()
+                                .addLast(new LengthFieldBasedFrameDecoder(partitionProperties.getMaxFrameLength(), 0, 4, 0, 4))
+                                .addLast(new LengthFieldPrepender(4))
+                                .addLast(handler);
+                    }
+                });
+    }
+
+    /**
+     * 向所有者节点读取缓存
+     *
+     * @param member 所有者节点标识，格式为 "地址:端口"
+     * @param key    缓存的键
+     * @return 序列化后的值，未命中时为 null；连接失败时以 {@link IOException} 异常完成，超时时以超时异常完成
+     */
+    public CompletableFuture<byte[]> get(String member, String key) {
+        int requestId = requestIds.incrementAndGet();
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        pendingRequests.put(requestId, future);
+
+        connectionFor(member).whenComplete((channel, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+                return;
+            }
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            ByteBuf request = channel.alloc().buffer(Integer.BYTES + keyBytes.length);
+            request.writeInt(requestId);
+            request.writeBytes(keyBytes);
+            channel.writeAndFlush(request).addListener(written -> {
+                if (!written.isSuccess()) {
+                    future.completeExceptionally(written.cause());
+                }
+            });
+        });
+
+        return future.orTimeout(partitionProperties.getRequestTimeout(), TimeUnit.MILLISECONDS)
+                .whenComplete((value, error) -> pendingRequests.remove(requestId));
+    }
+
+    /**
+     * 关闭全部连接
+     */
+    @PreDestroy
+    public void shutdown() {
+        connections.values().forEach(connection -> connection.thenAccept(Channel::close));
+        group.shutdownGracefully();
+    }
+
+    /**
+     * 获取到节点的连接，不存在或已断开时异步重新建立，退避期内直接失败
+     */
+    private CompletableFuture<Channel> connectionFor(String member) {
+        CompletableFuture<Channel> connection = connections.get(member);
+        if (isUsable(connection)) {
+            return connection;
+        }
+        Long retryAt = retryAfter.get(member);
+        if (retryAt != null && System.currentTimeMillis() < retryAt) {
+            return CompletableFuture.failedFuture(new IOException("分区缓存节点暂不可用：" + member));
+        }
+        // 只在登记连接 future 时加锁，连接本身异步完成，不阻塞其他请求
+        synchronized (connections) {
+            connection = connections.get(member);
+            if (isUsable(connection)) {
+                return connection;
+            }
+            CompletableFuture<Channel> created = new CompletableFuture<>();
+            connections.put(member, created);
+            connect(member, created);
+            return created;
+        }
+    }
+
+    /**
+     * 连接中或已建立且未断开
+     */
+    private static boolean isUsable(CompletableFuture<Channel> connection) {
+        if (connection == null) {
+            return false;
+        }
+        if (!connection.isDone()) {
+            return true;
+        }
+        return !connection.isCompletedExceptionally() && connection.join().isActive();
+    }
+
+    private void connect(String member, CompletableFuture<Channel> connection) {
+        int index = member.lastIndexOf(':');
+        String host = member.substring(0, index);
+        int port = Integer.parseInt(member.substring(index + 1));
+        bootstrap.connect(host, port).addListener((ChannelFutureListener) connect -> {
+            if (!connect.isSuccess()) {
+                retryAfter.put(member, System.currentTimeMillis() + partitionProperties.getReconnectBackoff());
+                connections.remove(member, connection);
+                connection.completeExceptionally(new IOException("连接分区缓存节点失败：" + member, connect.cause()));
+                return;
+            }
+            Channel channel = connect.channel();
+            // 第一帧为认证帧，之后的请求按写入顺序在其后发送
+            ByteBuf auth = channel.alloc().buffer(PartitionAuth.FRAME_LENGTH);
+            PartitionAuth.write(auth, partitionProperties.getSecret(), System.currentTimeMillis());
+            channel.writeAndFlush(auth);
+            channel.closeFuture().addListener(closed -> connections.remove(member, connection));
+            retryAfter.remove(member);
+            connection.complete(channel);
+            log.info("==> 已连接分区缓存节点：{}", member);
+        });
+    }
+
+    /**
+     * 响应处理器，按请求 ID 完成对应的 future
+     */
+    @ChannelHandler.Sharable
+    private class ResponseHandler extends SimpleChannelInboundHandler<ByteBuf> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) {
+            int requestId = frame.readInt();
+            byte status = frame.readByte();
+            CompletableFuture<byte[]> future = pendingRequests.remove(requestId);
+            if (future == null) {
+                // 请求已超时
+                return;
+            }
+            if (status == PartitionRpcServer.STATUS_HIT) {
+                byte[] value = new byte[frame.readableBytes()];
+                frame.readBytes(value);
+                future.complete(value);
+            } else {
+                future.complete(null);
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.warn("==> 分区缓存连接异常：{}，异常信息：{}", ctx.channel().remoteAddress(), cause.getMessage());
+            ctx.close();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.template.manager.cache.partition;
+
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import com.example.template.common.properties.CacheProperties;
+import com.example.template.config.cache.CacheCodec;
+import com.example.template.manager.cache.Cache;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 分区缓存服务端，响应其他节点对本节点所拥有 key 的读取
+ * <p>
+ * 消息以 4 字节长度前缀分帧。请求为：请求 ID（int）+ key（UTF-8）；
+ * 响应为：请求 ID（int）+ 状态（byte）+ 命中时的值（{@link CacheCodec} 序列化）。
+ * 本地缓存未命中时从 Redis 读取并写入本地缓存，Redis 也未命中时返回未命中，由请求方加载数据。
+ * 查询可能访问 Redis，在缓存异步加载线程池中执行，不占用 IO 线程。
+ * <p>
+ * 只监听配置的地址，连接建立后须先通过 {@link PartitionAuth} 认证，
+ * 且只响应 {@link PartitionedNamespaces} 中分区缓存命名空间的 key，其他 key 一律返回未命中。
+ *
+ * @author hzh
+ */
+@Component
+@Slf4j
+public class PartitionRpcServer {
+
+    // 响应状态：未命中
+    static final byte STATUS_MISS = 0;
+
+    // 响应状态：命中
+    static final byte STATUS_HIT = 1;
+
+    private final Cache cache;
+    // 缓存编解码器
+    private final CacheCodec cacheCodec;
+    // 缓存异步加载线程池
+    private final ThreadPoolExecutor cacheLoadExecutor;
+    // 分区缓存配置
+    private final CacheProperties.Partition partitionProperties;
+    // 分区缓存命名空间
+    private final PartitionedNamespaces partitionedNamespaces;
+
+    // 监听地址
+    private final String host;
+
+    private EventLoopGroup bossGroup;
+
+    private EventLoopGroup workerGroup;
+
+    private Channel serverChannel;
+
+    public PartitionRpcServer(Cache cache,
+                              CacheCodec cacheCodec,
+                              @Qualifier("cacheLoadExecutor") ThreadPoolExecutor cacheLoadExecutor,
+                              CacheProperties cacheProperties,
+                              PartitionedNamespaces partitionedNamespaces) {
+        this.cache = cache;
+        this.cacheCodec = cacheCodec;
+        this.cacheLoadExecutor = cacheLoadExecutor;
+        this.partitionProperties = cacheProperties.getPartition();
+        this.partitionedNamespaces = partitionedNamespaces;
+        this.host = resolveHost(partitionProperties.getHost());
+    }
+
+    /**
+     * 监听节点间通信端口
+     */
+    @PostConstruct
+    public void start() throws InterruptedException {
+        if (!partitionProperties.isEnable()) {
+            return;
+        }
+        if (StrUtil.isBlank(partitionProperties.getSecret())) {
+            throw new IllegalStateException("启用分区缓存时必须配置 cache.partition.secret");
+        }
+        bossGroup = new NioEventLoopGroup(1, new DefaultThreadFactory("cache-partition-boss", true));
+        workerGroup = new NioEventLoopGroup(0, new DefaultThreadFactory("cache-partition-worker", true));
+        RequestHandler handler = new RequestHandler();
+        serverChannel = new ServerBootstrap()
+                .group(bossGroup, workerGroup)
+                .channel(NioServerSocketChannel.class)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel channel) {
+                        channel.pipeline()
+                                .addLast(new LengthFieldBasedFrameDecoder(partitionProperties.getMaxFrameLength(), 0, 4, 0, 4))
+                                .addLast(new LengthFieldPrepender(4))
+                                .addLast(new AuthHandler())
+                                .addLast(handler);
+                    }
+                })
+                .bind(host, partitionProperties.getPort())
+                .sync()
+                .channel();
+        log.info("==> 分区缓存服务端已启动，地址：{}:{}", host, partitionProperties.getPort());
+    }
+
+    /**
+     * 关闭服务端
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (serverChannel != null) {
+            serverChannel.close();
+        }
+        if (bossGroup != null) {
+            bossGroup.shutdownGracefully();
+            workerGroup.shutdownGracefully();
+        }
+    }
+
+    /**
+     * 获取监听地址
+     *
+     * @return 地址
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * 获取节点间通信端口
+     *
+     * @return 端口
+     */
+    public int getPort() {
+        return partitionProperties.getPort();
+    }
+
+    /**
+     * 查询本节点的缓存，本地未命中时从 Redis 补齐
+     */
+    private Object lookup(String key) {
+        Object value = cache.getLocalCache(key);
+        if (ObjectUtil.isNull(value) && !cache.preloadLocalCache(List.of(key), false).isEmpty()) {
+            value = cache.getLocalCache(key);
+        }
+        return value;
+    }
+
+    /**
+     * 解析监听地址，未配置时使用本机地址
+     */
+    private static String resolveHost(String configured) {
+        if (StrUtil.isNotBlank(configured)) {
+            return configured;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostAddress();
+        } catch (UnknownHostException e) {
+            return InetAddress.getLoopbackAddress().getHostAddress();
+        }
+    }
+
+    /**
+     * 认证处理器，每个连接一个，校验第一帧后从管道中移除
+     */
+    private class AuthHandler extends SimpleChannelInboundHandler<ByteBuf> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) {
+            if (PartitionAuth.verify(frame, partitionProperties.getSecret(),
+                    System.currentTimeMillis(), partitionProperties.getAuthMaxSkew())) {
+                ctx.pipeline().remove(this);
+                return;
+            }
+            log.warn("==> 分区缓存连接认证失败：{}", ctx.channel().remoteAddress());
+            ctx.close();
+        }
+    }
+
+    /**
+     * 请求处理器，无状态，所有连接共享
+     */
+    @ChannelHandler.Sharable
+    private class RequestHandler extends SimpleChannelInboundHandler<ByteBuf> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) {
+            int requestId = frame.readInt();
+            String key = frame.toString(frame.readerIndex(), frame.readableBytes(), StandardCharsets.UTF_8);
+            if (!partitionedNamespaces.contains(key)) {
+                // 只暴露分区缓存命名空间的数据
+                writeResponse(ctx, requestId, STATUS_MISS, null);
+                return;
+            }
+            try {
+                cacheLoadExecutor.execute(() -> respond(ctx, requestId, key));
+            } catch (RejectedExecutionException e) {
+                // 线程池已满，直接返回未命中，请求方回退到读取 Redis
+                writeResponse(ctx, requestId, STATUS_MISS, null);
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.warn("==> 分区缓存连接异常：{}，异常信息：{}", ctx.channel().remoteAddress(), cause.getMessage());
+            ctx.close();
+        }
+
+        private void respond(ChannelHandlerContext ctx, int requestId, String key) {
+            try {
+                Object value = lookup(key);
+                if (ObjectUtil.isNull(value)) {
+                    writeResponse(ctx, requestId, STATUS_MISS, null);
+                } else {
+                    writeResponse(ctx, requestId, STATUS_HIT, cacheCodec.serialize(value));
+                }
+            } catch (Exception e) {
+                log.error("==> 分区缓存查询失败，key：{}，异常信息：{}", key, e.getMessage());
+                writeResponse(ctx, requestId, STATUS_MISS, null);
+            }
+        }
+
+        private void writeResponse(ChannelHandlerContext ctx, int requestId, byte status, byte[] value) {
+            int length = Integer.BYTES + 1 + (value == null ? 0 : value.length);
+            ByteBuf response = ctx.alloc().buffer(length);
+            response.writeInt(requestId);
+            response.writeByte(status);
+            if (value != null) {
+                response.writeBytes(value);
+            }
+            ctx.writeAndFlush(response);
+        }
+    }
+}
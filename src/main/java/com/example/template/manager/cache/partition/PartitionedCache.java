@@ -0,0 +1,71 @@
+package com.example.template.manager.cache.partition;
+
+import com.example.template.config.cache.CacheCodec;
+import com.example.template.manager.cache.Cache;
+import com.example.template.manager.cache.CacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 分区缓存，每个 key 只在所有者节点的本地缓存中保留一份，集群的本地缓存总容量随节点数量增长
+ * <p>
+ * 节点通过 {@link ClusterMembership} 在 Redis 中互相发现并组成一致性哈希环。
+ * key 属于当前节点时按两级缓存处理；属于其他节点时通过 {@link PartitionRpcClient} 向所有者读取，
+ * 所有者未命中、不可用或超时时回退到旁路缓存（Redis + 数据源），且不在当前节点保留副本；
+ * 所有者无法连接时从本地哈希环中暂时移除，直到其下一次心跳，期间它的 key 由其余节点承接。
+ * 未启用时所有 key 都按两级缓存处理。
+ *
+ * @author hzh
+ */
+@Component
+@AllArgsConstructor
+@Slf4j
+public class PartitionedCache {
+
+    private final Cache cache;
+    // 节点成员管理
+    private final ClusterMembership membership;
+    // 分区缓存客户端
+    private final PartitionRpcClient rpcClient;
+    // 缓存编解码器
+    private final CacheCodec cacheCodec;
+    // 缓存指标
+    private final CacheMetrics cacheMetrics;
+
+    /**
+     * 获取分区缓存中的数据
+     *
+     * @param key        缓存的键
+     * @param dataLoader 数据加载器，负责从数据源加载数据
+     * @param ttl        Redis 缓存的过期时间（秒）
+     * @return 缓存的值
+     */
+    public Object get(String key, Cache.DataLoader dataLoader, long ttl) {
+        String owner = membership.ownerOf(key);
+        if (owner == null || membership.isSelf(owner)) {
+            return cache.getTwoLevelCache(key, dataLoader, ttl);
+        }
+
+        try {
+            byte[] bytes = rpcClient.get(owner, key).get();
+            if (bytes != null) {
+                cacheMetrics.l1Hit(CacheMetrics.PARTITIONED, key);
+                return cacheCodec.deserialize(bytes);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                membership.markUnreachable(owner);
+            }
+            log.debug("==> 分区缓存所有者不可用：{}，key：{}，异常信息：{}", owner, key, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 所有者未命中或不可用，直接读取 Redis 或加载数据
+        return cache.getRedisCache(key, dataLoader, ttl);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.template.manager.cache.partition;
+
+import com.example.template.manager.cache.CacheAspect;
+import com.example.template.manager.cache.CacheConfig;
+import com.example.template.manager.cache.CacheSolutionType;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 使用分区缓存策略的命名空间
+ * <p>
+ * 启动时扫描所有 Bean 上 strategy 为 {@link CacheSolutionType#PARTITIONED} 的 {@link CacheConfig} 方法，
+ * 记录其 key 前缀（缓存名称:方法名:）。{@link PartitionRpcServer} 只响应这些命名空间的 key，
+ * 其他本地缓存数据（如用户信息、登录凭证）不会通过节点间通信暴露。
+ *
+ * @author hzh
+ */
+@Component
+public class PartitionedNamespaces implements BeanPostProcessor {
+
+    // 分区缓存的 key 前缀
+    private final Set<String> prefixes = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        Class<?> targetClass = ClassUtils.getUserClass(bean);
+        ReflectionUtils.doWithMethods(targetClass, method -> {
+            CacheConfig cacheConfig = AnnotatedElementUtils.findMergedAnnotation(method, CacheConfig.class);
+            if (cacheConfig != null && cacheConfig.strategy() == CacheSolutionType.PARTITIONED) {
+                prefixes.add(CacheAspect.keyPrefix(targetClass, method, cacheConfig));
+            }
+        });
+        return bean;
+    }
+
+    /**
+     * 判断 key 是否属于分区缓存的命名空间
+     *
+     * @param key 缓存的键
+     * @return 属于返回 true
+     */
+    public boolean contains(String key) {
+        int first = key.indexOf(':');
+        int second = first < 0 ? -1 : key.indexOf(':', first + 1);
+        return second > 0 && prefixes.contains(key.substring(0, second + 1));
+    }
+}
@@ -7,7 +7,6 @@ import com.aliyun.oss.ClientException;
 import com.aliyun.oss.OSS;
 import com.aliyun.oss.OSSException;
 import com.aliyun.oss.model.PutObjectRequest;
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.example.template.common.base.CommonConstants;
 import com.example.template.common.base.ErrorCode;
 import com.example.template.exception.customize.RemoteServiceException;
@@ -89,10 +88,9 @@ public class AliConfiguration {
      */
     @Transactional(rollbackFor = Exception.class)
     public void deleteInOss(Long id) {
-        File fileInDatabase = fileService.getOne(new LambdaQueryWrapper<File>()
-                .eq(File::getId, id)
-                .eq(File::getFileStorageType, "ali"));
-        ThrowUtils.clientExceptionThrowIf(Objects.isNull(fileInDatabase), ErrorCode.USER_ERROR_A0700, "文件不存在");
+        File fileInDatabase = fileService.getById(id);
+        boolean exists = Objects.nonNull(fileInDatabase) && "ali".equals(fileInDatabase.getFileStorageType());
+        ThrowUtils.clientExceptionThrowIfNot(exists, ErrorCode.USER_ERROR_A0700, "文件不存在");
 
         boolean deleted = fileService.removeById(id);
         ThrowUtils.serverExceptionThrowIfNot(deleted, ErrorCode.USER_ERROR_A0700, "文件删除失败");
@@ -198,9 +196,8 @@ public class AliConfiguration {
      * 秒传文件判断
      */
     private File existAndFastUpload(String uniqueKey) {
-        LambdaQueryWrapper<File> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(File::getUniqueKey, uniqueKey).eq(File::getFileStorageType, "ali");
-        return fileService.getOne(queryWrapper);
+        File file = fileService.getOneByUnique(File::getUniqueKey, uniqueKey);
+        return Objects.nonNull(file) && "ali".equals(file.getFileStorageType()) ? file : null;
     }
 
 }
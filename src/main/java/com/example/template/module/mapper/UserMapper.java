@@ -2,6 +2,8 @@ package com.example.template.module.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.template.module.domain.entity.User;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 /**
 * @author hzh
@@ -11,6 +13,22 @@ import com.example.template.module.domain.entity.User;
 */
 public interface UserMapper extends BaseMapper<User> {
 
+    /**
+     * 流式遍历某一标识列的全部非空值，用于构建布隆过滤器
+     *
+     * @param column  列名，只能传入 CredentialCache.IdentifierType 中定义的列名
+     * @param handler 逐行处理结果
+     */
+    void scanIdentifiers(@Param("column") String column, ResultHandler<String> handler);
+
+    /**
+     * 插入用户，唯一列冲突时不修改已有数据，并将已有用户的ID回填到 user.id
+     *
+     * @param user 用户信息，id 需预先分配
+     * @return 影响行数
+     */
+    int upsert(User user);
+
 }
 
 
@@ -0,0 +1,34 @@
+package com.example.template.module.service;
+
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.baomidou.mybatisplus.extension.service.IService;
+
+import java.io.Serializable;
+
+/**
+ * 带读穿透缓存的 Service，getById、listByIds 以及按唯一列查询走两级缓存，写操作后自动剔除
+ *
+ * @author hzh
+ */
+public interface CachedService<T> extends IService<T> {
+
+    /**
+     * 按唯一列查询单条数据
+     *
+     * @param column 唯一列，需在实现类中声明，未声明的列直接查询数据库
+     * @param value  列的值
+     * @return 数据，不存在返回 null
+     */
+    T getOneByUnique(SFunction<T, ?> column, Object value);
+
+    /**
+     * 按唯一列查询主键，只读取唯一列到主键的映射，不获取实体
+     * <p>
+     * 唯一列被修改后旧映射可能残留，调用方需在取得实体后校验列值。
+     *
+     * @param column 唯一列，需在实现类中声明，未声明的列直接查询数据库
+     * @param value  列的值
+     * @return 主键，不存在返回 null
+     */
+    Serializable getIdByUnique(SFunction<T, ?> column, Object value);
+}
@@ -1,6 +1,5 @@
 package com.example.template.module.service;
 
-import com.baomidou.mybatisplus.extension.service.IService;
 import com.example.template.module.domain.entity.File;
 
 /**
@@ -8,6 +7,6 @@ import com.example.template.module.domain.entity.File;
 * @description 针对表【t_file(文件表)】的数据库操作Service
 * @createDate 2024-10-16 21:27:52
 */
-public interface FileService extends IService<File> {
+public interface FileService extends CachedService<File> {
 
 }
@@ -1,13 +1,22 @@
 package com.example.template.module.service;
 
 import com.example.template.module.domain.entity.User;
-import com.baomidou.mybatisplus.extension.service.IService;
 
 /**
 * @author hzh
 * @description 针对表【user(用户表)】的数据库操作Service
 * @createDate 2024-10-04 20:52:02
 */
-public interface UserService extends IService<User> {
+public interface UserService extends CachedService<User> {
+
+    /**
+     * 按唯一列注册用户，已存在时返回已有用户的ID，一条语句完成，并发注册时不会因唯一索引冲突而失败
+     * <p>
+     * 唯一索引包含已逻辑删除的行，已删除用户的标识不能重新注册，此时抛出 A0203 而不是返回已删除用户的ID。
+     *
+     * @param user 用户信息，至少包含一个唯一列
+     * @return 新注册或已存在用户的ID
+     */
+    Long saveOrGetId(User user);
 
 }
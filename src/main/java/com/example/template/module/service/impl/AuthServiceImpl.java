@@ -2,7 +2,6 @@ package com.example.template.module.service.impl;
 
 import cn.dev33.satoken.stp.StpUtil;
 import cn.hutool.core.util.ObjectUtil;
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.template.common.base.CommonConstants;
 import com.example.template.common.base.ErrorCode;
@@ -10,6 +9,11 @@ import com.example.template.common.constant.CacheConstants;
 import com.example.template.common.constant.RegexConstants;
 import com.example.template.common.constant.UserConstants;
 import com.example.template.exception.customize.ClientException;
+import com.example.template.manager.auth.CredentialCache;
+import com.example.template.manager.auth.LoginThrottle;
+import com.example.template.manager.auth.PasswordHasher;
+import com.example.template.manager.auth.UserCredential;
+import com.example.template.manager.auth.UserIdentifierFilter;
 import com.example.template.manager.email.EmailDTO;
 import com.example.template.manager.email.EmailManager;
 import com.example.template.manager.sms.SMSManager;
@@ -18,18 +22,20 @@ import com.example.template.module.domain.entity.User;
 import com.example.template.module.domain.vo.auth.UserAuthVO;
 import com.example.template.module.mapper.UserMapper;
 import com.example.template.module.service.AuthService;
-import com.example.template.util.EncryptUtils;
+import com.example.template.module.service.UserService;
 import com.example.template.util.ThrowUtils;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.redisson.api.RAtomicLong;
 import org.redisson.api.RBucket;
 import org.redisson.api.RedissonClient;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * @author hzh
@@ -37,28 +43,47 @@ import java.util.Objects;
  * @createDate 2024-10-04 20:52:02
  */
 @Service
+@Slf4j
 public class AuthServiceImpl extends ServiceImpl<UserMapper, User>
         implements AuthService {
 
-    private final UserMapper userMapper;
+    private final UserService userService;
     private final RedissonClient singleClient;
     private final EmailManager emailManager;
     private final SMSManager smsManager;
+    private final PasswordHasher passwordHasher;
+    private final LoginThrottle loginThrottle;
+    private final CredentialCache credentialCache;
+    private final UserIdentifierFilter userIdentifierFilter;
+    private final ThreadPoolExecutor customThreadPoolExecutor;
 
     /**
      * 构造函数注入
      *
-     * @param userMapper   数据库操作对象
-     * @param singleClient Redisson 客户端
-     * @param emailManager 邮件管理器
-     * @param smsManager   短信管理器
+     * @param userService              用户服务，按唯一列查询走缓存
+     * @param singleClient             Redisson 客户端
+     * @param emailManager             邮件管理器
+     * @param smsManager               短信管理器
+     * @param passwordHasher           密码哈希器
+     * @param loginThrottle            登录失败限制
+     * @param credentialCache          登录凭证缓存
+     * @param userIdentifierFilter     用户标识过滤器
+     * @param customThreadPoolExecutor 通用线程池，执行密码哈希升级后的数据库更新
      */
     @Autowired
-    public AuthServiceImpl(UserMapper userMapper, RedissonClient singleClient, EmailManager emailManager, SMSManager smsManager) {
-        this.userMapper = userMapper;
+    public AuthServiceImpl(UserService userService, RedissonClient singleClient, EmailManager emailManager, SMSManager smsManager,
+                           PasswordHasher passwordHasher, LoginThrottle loginThrottle, CredentialCache credentialCache,
+                           UserIdentifierFilter userIdentifierFilter,
+                           @Qualifier("customThreadPoolExecutor") ThreadPoolExecutor customThreadPoolExecutor) {
+        this.userService = userService;
         this.singleClient = singleClient;
         this.emailManager = emailManager;
         this.smsManager = smsManager;
+        this.passwordHasher = passwordHasher;
+        this.loginThrottle = loginThrottle;
+        this.credentialCache = credentialCache;
+        this.userIdentifierFilter = userIdentifierFilter;
+        this.customThreadPoolExecutor = customThreadPoolExecutor;
     }
 
     /**
@@ -72,10 +97,9 @@ public class AuthServiceImpl extends ServiceImpl<UserMapper, User>
         String userAccount = userAuthDTO.getUserAccount();
         String userPassword = userAuthDTO.getUserPassword();
 
-        // 判断用户是否存在
-        LambdaQueryWrapper<User> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(User::getUserAccount, userAccount);
-        boolean isExists = userMapper.exists(queryWrapper);
+        // 判断用户是否存在，布隆过滤器判断一定未注册时不查询数据库
+        boolean isExists = userIdentifierFilter.mightExist(CredentialCache.IdentifierType.ACCOUNT, userAccount)
+                && Objects.nonNull(userService.getOneByUnique(User::getUserAccount, userAccount));
 
         // 账户已存在
         ThrowUtils.clientExceptionThrowIf(isExists, ErrorCode.USER_ERROR_A0111);
@@ -88,20 +112,17 @@ public class AuthServiceImpl extends ServiceImpl<UserMapper, User>
         boolean isStrongPassword = userPassword.matches(RegexConstants.VALID_USER_PASSWORD_REGEX);
         ThrowUtils.clientExceptionThrowIfNot(isStrongPassword, ErrorCode.USER_ERROR_A0122);
 
-        // 密码加密
-        String salt = EncryptUtils.generateSalt();
-        String encryptPassword = EncryptUtils.hashPasswordWithSalt(userPassword, salt);
-        ThrowUtils.clientExceptionThrowIf(StringUtils.isEmpty(encryptPassword), ErrorCode.SYSTEM_ERROR_B0001);
+        // 密码加密，盐随哈希结果保存
+        String encryptPassword = passwordHasher.hash(userPassword);
 
         // 插入新用户数据
         User user = new User()
                 .setUserAccount(userAccount)
-                .setUserPassword(encryptPassword)
-                .setPasswordSalt(salt);
+                .setUserPassword(encryptPassword);
 
-        int insert = userMapper.insert(user);
+        boolean saved = userService.save(user);
         // 插入失败
-        ThrowUtils.serverExceptionThrowIf(insert <= 0, ErrorCode.SERVICE_ERROR_C0300);
+        ThrowUtils.serverExceptionThrowIfNot(saved, ErrorCode.SERVICE_ERROR_C0300);
     }
 
     /**
@@ -119,43 +140,58 @@ public class AuthServiceImpl extends ServiceImpl<UserMapper, User>
         String userEmail = userAuthDTO.getUserEmail();
 
 
-        // 判断用户是否存在,并获取用户信息
-        LambdaQueryWrapper<User> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(User::getUserRole, UserConstants.USER);
+        // 判断用户是否存在,并获取用户凭证
+        CredentialCache.IdentifierType identifierType;
 
         // 获取要操作的目标数据
         String targetAccount;
         if (StringUtils.isNotEmpty(userAccount)) {
-            queryWrapper.eq(User::getUserAccount, userAccount);
+            identifierType = CredentialCache.IdentifierType.ACCOUNT;
             targetAccount = userAccount;
         } else if (StringUtils.isNotEmpty(userPhone)) {
-            queryWrapper.eq(User::getUserPhone, userPhone);
+            identifierType = CredentialCache.IdentifierType.PHONE;
             targetAccount = userPhone;
         } else if (StringUtils.isNotEmpty(userEmail)) {
-            queryWrapper.eq(User::getUserEmail, userEmail);
+            identifierType = CredentialCache.IdentifierType.EMAIL;
             targetAccount = userEmail;
         } else {
             throw new ClientException(ErrorCode.USER_ERROR_A0201, "账号、手机号、邮箱都为空 无法登录");
         }
-        User userInfo = userMapper.selectOne(queryWrapper);
 
-        // 用户不存在
-        ThrowUtils.clientExceptionThrowIf(Objects.isNull(userInfo), ErrorCode.USER_ERROR_A0201);
+        // 账号或 IP 处于锁定中时直接拒绝
+        loginThrottle.check(targetAccount);
 
-        // 记录用户登录失败次数的 Redis 键
-        String loginFailedTimesKey = CacheConstants.LOGIN_FAILED_TIMES + targetAccount;
+        // 只取登录校验所需的字段，不存在的标识以空值缓存，布隆过滤器判断一定未注册时直接跳过
+        UserCredential credential = userIdentifierFilter.mightExist(identifierType, targetAccount)
+                ? credentialCache.get(identifierType, targetAccount) : null;
 
-        // 限制登录失败次数
-        RAtomicLong loginFailedTimesAtomic = loginFailedTimesLimit(loginFailedTimesKey);
+        // 用户不存在或不是普通用户
+        boolean isUser = Objects.nonNull(credential) && UserConstants.USER.equals(credential.getUserRole());
+        if (!isUser) {
+            loginThrottle.recordFailure(targetAccount);
+            throw new ClientException(ErrorCode.USER_ERROR_A0201);
+        }
 
         // 验证密码
-        String salt = userInfo.getPasswordSalt();
-        String hashPassword = userInfo.getUserPassword();
-        boolean verified = EncryptUtils.verifyHashedPassword(userPassword, hashPassword, salt);
-        ThrowUtils.clientExceptionThrowIfNot(verified, ErrorCode.USER_ERROR_A0120);
+        PasswordHasher.VerifyResult verifyResult = passwordHasher.verify(
+                userPassword, credential.getUserPassword(), credential.getPasswordSalt());
+        if (!verifyResult.matched()) {
+            loginThrottle.recordFailure(targetAccount);
+            throw new ClientException(ErrorCode.USER_ERROR_A0120);
+        }
+
+        // 旧格式或迭代次数过低的哈希，登录成功后异步升级
+        if (verifyResult.needsRehash()) {
+            rehashPassword(credential.getId(), userPassword);
+        }
+
+        // 登录成功清除失败次数记录
+        loginThrottle.reset(targetAccount);
 
-        // 登录成功删除登录失败次数记录
-        loginFailedTimesAtomic.delete();
+        // 校验通过后再获取完整用户信息，标识映射可能残留修改前的值，需确认标识仍属于该用户
+        User userInfo = userService.getById(credential.getId());
+        ThrowUtils.clientExceptionThrowIf(Objects.isNull(userInfo)
+                || !targetAccount.equals(identifierType.getColumn().apply(userInfo)), ErrorCode.USER_ERROR_A0201);
 
         // 登录成功，记录登录信息,构建登录返回对象
         return buildUserAuthVO(userInfo);
@@ -176,34 +212,25 @@ public class AuthServiceImpl extends ServiceImpl<UserMapper, User>
 
         // 校验验证码
         String verificationCodeRedisKey = CacheConstants.CODE_KEY + userEmail;
-        checkVerificationCode(verifyCode, verificationCodeRedisKey);
+        checkVerificationCode(verifyCode, verificationCodeRedisKey, userEmail);
 
-        // 查询用户信息，判断是否已注册
-        LambdaQueryWrapper<User> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(User::getUserEmail, userEmail);
-        User userInfo = userMapper.selectOne(queryWrapper);
-
-        // 没有查到用户信息，注册
-        if (ObjectUtil.isNull(userInfo)) {
+        // 老用户通过缓存的标识映射获取ID，布隆过滤器判断一定未注册或缓存未命中时，一条语句完成注册或获取已有用户
+        Long userId = userIdentifierFilter.mightExist(CredentialCache.IdentifierType.EMAIL, userEmail)
+                ? credentialCache.getId(CredentialCache.IdentifierType.EMAIL, userEmail) : null;
+        if (ObjectUtil.isNull(userId)) {
             // 把邮箱作为账号，保存用户信息
-            User user = new User()
+            userId = userService.saveOrGetId(new User()
                     .setUserAccount(userEmail)
-                    .setUserEmail(userEmail);
-            int insert = userMapper.insert(user);
-            // 插入失败
-            ThrowUtils.serverExceptionThrowIf(insert <= 0, ErrorCode.SERVICE_ERROR_C0300);
-            // 查询用户信息
-            userInfo = userMapper.selectOne(queryWrapper);
+                    .setUserEmail(userEmail));
         }
 
-        // 记录用户登录失败次数的 Redis 键
-        String loginFailedTimesKey = CacheConstants.LOGIN_FAILED_TIMES + userEmail;
-
-        // 限制登录失败次数
-        RAtomicLong loginFailedTimesAtomic = loginFailedTimesLimit(loginFailedTimesKey);
+        // 账号与其他用户冲突时返回的是该用户，需校验邮箱一致
+        User userInfo = userService.getById(userId);
+        ThrowUtils.clientExceptionThrowIf(ObjectUtil.isNull(userInfo) || !userEmail.equals(userInfo.getUserEmail()),
+                ErrorCode.USER_ERROR_A0111);
 
-        // 登录成功删除登录失败次数记录
-        loginFailedTimesAtomic.delete();
+        // 登录成功清除失败次数记录
+        loginThrottle.reset(userEmail);
 
         // 登录成功，记录登录信息,构建登录返回对象
         return buildUserAuthVO(userInfo);
@@ -223,34 +250,25 @@ public class AuthServiceImpl extends ServiceImpl<UserMapper, User>
 
         // 校验验证码
         String verificationCodeRedisKey = CacheConstants.CODE_KEY + userPhone;
-        checkVerificationCode(verifyCode, verificationCodeRedisKey);
-
-        // 登录成功，记录登录信息,构建登录返回对象
-        LambdaQueryWrapper<User> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(User::getUserPhone, userPhone);
-        User userInfo = userMapper.selectOne(queryWrapper);
-
-        // 没有查到用户信息，注册
-        if (ObjectUtil.isNull(userInfo)) {
-            // 把邮箱作为账号，保存用户信息
-            User user = new User()
+        checkVerificationCode(verifyCode, verificationCodeRedisKey, userPhone);
+
+        // 老用户通过缓存的标识映射获取ID，布隆过滤器判断一定未注册或缓存未命中时，一条语句完成注册或获取已有用户
+        Long userId = userIdentifierFilter.mightExist(CredentialCache.IdentifierType.PHONE, userPhone)
+                ? credentialCache.getId(CredentialCache.IdentifierType.PHONE, userPhone) : null;
+        if (ObjectUtil.isNull(userId)) {
+            // 把手机号作为账号，保存用户信息
+            userId = userService.saveOrGetId(new User()
                     .setUserAccount(userPhone)
-                    .setUserPhone(userPhone);
-            int insert = userMapper.insert(user);
-            // 插入失败
-            ThrowUtils.serverExceptionThrowIf(insert <= 0, ErrorCode.SERVICE_ERROR_C0300);
-            // 查询用户信息
-            userInfo = userMapper.selectOne(queryWrapper);
+                    .setUserPhone(userPhone));
         }
 
-        // 记录用户登录失败次数的 Redis 键
-        String loginFailedTimesKey = CacheConstants.LOGIN_FAILED_TIMES + userPhone;
+        // 账号与其他用户冲突时返回的是该用户，需校验手机号一致
+        User userInfo = userService.getById(userId);
+        ThrowUtils.clientExceptionThrowIf(ObjectUtil.isNull(userInfo) || !userPhone.equals(userInfo.getUserPhone()),
+                ErrorCode.USER_ERROR_A0111);
 
-        // 限制登录失败次数
-        RAtomicLong loginFailedTimesAtomic = loginFailedTimesLimit(loginFailedTimesKey);
-
-        // 登录成功删除登录失败次数记录
-        loginFailedTimesAtomic.delete();
+        // 登录成功清除失败次数记录
+        loginThrottle.reset(userPhone);
 
         // 登录成功，记录登录信息,构建登录返回对象
         return buildUserAuthVO(userInfo);
@@ -296,31 +314,21 @@ public class AuthServiceImpl extends ServiceImpl<UserMapper, User>
     }
 
     /**
-     * 登录失败次数限制
+     * 以当前参数重新哈希密码并更新，失败时下次登录重试
      *
-     * @param loginFailedTimesKey 登录失败次数 Redis 键
-     * @return 登录失败次数原子计数器
+     * @param userId   用户 ID
+     * @param password 明文密码
      */
-    private RAtomicLong loginFailedTimesLimit(String loginFailedTimesKey) {
-        // 获取 Redis 中的登录失败次数原子计数器
-        RAtomicLong loginFailedTimesAtomic = singleClient.getAtomicLong(loginFailedTimesKey);
-
-        // 获取当前失败次数，初始化时可能为 0
-        long currentFailedTimes = loginFailedTimesAtomic.get();
-
-        // 如果是第一次登录失败，设置过期时间
-        if (currentFailedTimes == 0L) {
-            loginFailedTimesAtomic.set(1L);  // 初始化为 1
-            loginFailedTimesAtomic.expire(Duration.ofMinutes(CacheConstants.LOGIN_FAILED_TIMES_EXPIRATION));
-        } else if (currentFailedTimes < UserConstants.MAX_LOGIN_FAILED_TIMES) {
-            // 如果失败次数未超过最大允许次数，递增失败次数
-            loginFailedTimesAtomic.incrementAndGet();
-        } else {
-            // 登录失败次数超出限制，抛出异常禁止登录
-            throw new ClientException(ErrorCode.USER_ERROR_A0211, "登录失败次数过多，请稍后再试");
-        }
-
-        return loginFailedTimesAtomic;
+    private void rehashPassword(Long userId, String password) {
+        passwordHasher.hashAsync(password)
+                // 数据库更新切换到通用线程池执行，不占用密码哈希线程
+                .thenAcceptAsync(hash -> userService.updateById(
+                        // 清空旧格式的盐
+                        new User().setId(userId).setUserPassword(hash).setPasswordSalt("")), customThreadPoolExecutor)
+                .exceptionally(error -> {
+                    log.warn("==> 密码哈希升级失败，用户ID：{}，异常信息：{}", userId, error.getMessage());
+                    return null;
+                });
     }
 
     /**
@@ -346,19 +354,26 @@ public class AuthServiceImpl extends ServiceImpl<UserMapper, User>
     }
 
     /**
-     * 校验验证码
+     * 校验验证码，验证码错误计入登录失败次数
      *
      * @param verificationCodeRedisKey 保存验证码的 Redis 键
      * @param verifyCode               验证码
+     * @param target                   邮箱或手机号
      */
-    private void checkVerificationCode(String verifyCode, String verificationCodeRedisKey) {
+    private void checkVerificationCode(String verifyCode, String verificationCodeRedisKey, String target) {
+        // 账号或 IP 处于锁定中时直接拒绝
+        loginThrottle.check(target);
+
         RBucket<Object> verificationCodeBucket = singleClient.getBucket(verificationCodeRedisKey);
         Object verificationCodeInRedis = verificationCodeBucket.get();
         // 验证码过期
         ThrowUtils.clientExceptionThrowIf(ObjectUtil.isNull(verificationCodeInRedis), ErrorCode.USER_ERROR_A0100, "验证码已过期");
         // 验证码错误
         boolean verified = verificationCodeInRedis.toString().equals(verifyCode);
-        ThrowUtils.clientExceptionThrowIfNot(verified, ErrorCode.USER_ERROR_A0132);
+        if (!verified) {
+            loginThrottle.recordFailure(target);
+            throw new ClientException(ErrorCode.USER_ERROR_A0132);
+        }
     }
 
     /**
@@ -0,0 +1,424 @@
+package com.example.template.module.service.impl;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.ObjectUtil;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.LambdaUtils;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.baomidou.mybatisplus.extension.conditions.update.LambdaUpdateChainWrapper;
+import com.baomidou.mybatisplus.extension.conditions.update.UpdateChainWrapper;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.template.common.constant.CacheConstants;
+import com.example.template.manager.cache.Cache;
+import com.example.template.module.service.CachedService;
+import org.apache.ibatis.reflection.property.PropertyNamer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 带读穿透缓存的 Service 实现，基于 {@link Cache} 的两级缓存
+ * <p>
+ * 实体按主键缓存，key 为 "表名:id:主键"；唯一列缓存的是 "表名:属性名:值" 到主键的映射，查询时再按主键取实体，
+ * 因此一个实体只缓存一份，更新后只需剔除主键 key。唯一列被修改后旧映射可能残留，读取时发现实体的列值不一致会剔除并重新查询。
+ * 查询结果为空时由 Cache 以短过期时间缓存空值，新增数据后剔除对应的唯一列 key。
+ * <p>
+ * 写操作在事务中执行时，除立即剔除外还会在事务提交后再剔除一次，避免提交前被并发读取回填旧值。
+ * <p>
+ * 按主键或实体写入的方法（save、saveBatch、saveOrUpdate、saveOrUpdateBatch、updateById、updateBatchById、
+ * removeById、removeByIds、removeBatchByIds）写入前按主键查询修改前的数据，写入后剔除修改前后的主键 key、唯一列 key
+ * 以及子类声明的关联 key。按条件写入的方法（update(Wrapper)、lambdaUpdate、remove(Wrapper)、removeByMap 等）
+ * 无法确定受影响的数据，在带缓存的 Service 上禁用，需先查询主键再按主键写入。
+ * 绕过 Service 直接通过 Mapper 写入的数据不会触发剔除。
+ *
+ * @author hzh
+ */
+public abstract class CachedServiceImpl<M extends BaseMapper<T>, T> extends ServiceImpl<M, T>
+        implements CachedService<T> {
+
+    // 主键缓存 key 的字段名
+    private static final String ID_FIELD = "id";
+
+    // 当前线程是否处于写操作中，ServiceImpl 的写方法之间会相互调用，只在最外层查询修改前的数据和剔除缓存
+    private static final ThreadLocal<Boolean> WRITING = ThreadLocal.withInitial(() -> false);
+
+    @Autowired
+    protected Cache cache;
+
+    // 唯一列属性名与 getter 的映射
+    private volatile Map<String, SFunction<T, ?>> uniqueColumnMap;
+
+    /**
+     * 声明可按 {@link #getOneByUnique} 缓存查询的唯一列
+     *
+     * @return 唯一列的 getter
+     */
+    protected List<SFunction<T, ?>> uniqueColumns() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * 缓存过期时间（秒）
+     *
+     * @return 过期时间
+     */
+    protected long cacheTtl() {
+        return CacheConstants.DEFAULT_EXPIRATION;
+    }
+
+    /**
+     * 与数据关联的其他缓存 key，写操作后与实体的缓存一起剔除
+     *
+     * @param old    修改前的数据，新增或数据不存在时为 null
+     * @param entity 写入的数据，删除时为 null
+     * @return 缓存 key
+     */
+    protected List<String> relatedKeysOf(T old, T entity) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * 新增或修改成功后调用，处于事务中时事务尚未提交
+     *
+     * @param entities 写入的数据
+     */
+    protected void afterWrite(Collection<T> entities) {
+    }
+
+    @Override
+    public T getById(Serializable id) {
+        if (ObjectUtil.isNull(id)) {
+            return null;
+        }
+        Object value = cache.getTwoLevelCache(idKey(id), () -> getBaseMapper().selectById(id), cacheTtl());
+        return getEntityClass().cast(value);
+    }
+
+    @Override
+    public List<T> listByIds(Collection<? extends Serializable> idList) {
+        if (CollUtil.isEmpty(idList)) {
+            return new ArrayList<>();
+        }
+        Map<String, Serializable> keyIds = new LinkedHashMap<>();
+        idList.forEach(id -> keyIds.put(idKey(id), id));
+
+        Map<String, Object> values = cache.getAllTwoLevelCache(keyIds.keySet(), keys -> {
+            List<Serializable> ids = keys.stream().map(keyIds::get).toList();
+            Map<String, Object> loaded = new HashMap<>();
+            getBaseMapper().selectBatchIds(ids).forEach(entity -> loaded.put(idKey(idOf(entity)), entity));
+            return loaded;
+        }, cacheTtl());
+
+        List<T> result = new ArrayList<>(values.size());
+        values.values().forEach(value -> result.add(getEntityClass().cast(value)));
+        return result;
+    }
+
+    @Override
+    public T getOneByUnique(SFunction<T, ?> column, Object value) {
+        if (ObjectUtil.isNull(value)) {
+            return null;
+        }
+        String property = propertyOf(column);
+        if (!uniqueColumnMap().containsKey(property)) {
+            // 未声明的列无法在写入时剔除，直接查询数据库
+            return lambdaQuery().eq(column, value).one();
+        }
+
+        Serializable id = loadIdByUnique(property, column, value);
+        if (ObjectUtil.isNull(id)) {
+            return null;
+        }
+
+        T entity = getById(id);
+        if (ObjectUtil.isNotNull(entity) && Objects.equals(column.apply(entity), value)) {
+            return entity;
+        }
+        // 唯一列已被修改或数据已删除，映射失效
+        cache.evict(uniqueKey(property, value));
+        return lambdaQuery().eq(column, value).one();
+    }
+
+    @Override
+    public Serializable getIdByUnique(SFunction<T, ?> column, Object value) {
+        if (ObjectUtil.isNull(value)) {
+            return null;
+        }
+        String property = propertyOf(column);
+        if (!uniqueColumnMap().containsKey(property)) {
+            T entity = lambdaQuery().eq(column, value).one();
+            return ObjectUtil.isNull(entity) ? null : (Serializable) idOf(entity);
+        }
+        return loadIdByUnique(property, column, value);
+    }
+
+    @Override
+    public boolean save(T entity) {
+        return writeAndEvict(Collections.emptyList(), Collections.singletonList(entity), () -> super.save(entity));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean saveBatch(Collection<T> entityList, int batchSize) {
+        return writeAndEvict(Collections.emptyList(), entityList, () -> super.saveBatch(entityList, batchSize));
+    }
+
+    @Override
+    public boolean saveOrUpdate(T entity) {
+        return writeAndEvict(idsOf(Collections.singletonList(entity)), Collections.singletonList(entity),
+                () -> super.saveOrUpdate(entity));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean saveOrUpdateBatch(Collection<T> entityList, int batchSize) {
+        return writeAndEvict(idsOf(entityList), entityList, () -> super.saveOrUpdateBatch(entityList, batchSize));
+    }
+
+    @Override
+    public boolean updateById(T entity) {
+        return writeAndEvict(idsOf(Collections.singletonList(entity)), Collections.singletonList(entity),
+                () -> super.updateById(entity));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean updateBatchById(Collection<T> entityList, int batchSize) {
+        return writeAndEvict(idsOf(entityList), entityList, () -> super.updateBatchById(entityList, batchSize));
+    }
+
+    @Override
+    public boolean removeById(Serializable id) {
+        return writeAndEvict(idsOf(Collections.singletonList(id)), Collections.emptyList(), () -> super.removeById(id));
+    }
+
+    @Override
+    public boolean removeById(Serializable id, boolean useFill) {
+        return writeAndEvict(idsOf(Collections.singletonList(id)), Collections.emptyList(),
+                () -> super.removeById(id, useFill));
+    }
+
+    @Override
+    public boolean removeById(T entity) {
+        return writeAndEvict(idsOf(Collections.singletonList(entity)), Collections.emptyList(),
+                () -> super.removeById(entity));
+    }
+
+    @Override
+    public boolean removeByIds(Collection<?> list) {
+        return writeAndEvict(idsOf(list), Collections.emptyList(), () -> super.removeByIds(list));
+    }
+
+    @Override
+    public boolean removeByIds(Collection<?> list, boolean useFill) {
+        return writeAndEvict(idsOf(list), Collections.emptyList(), () -> super.removeByIds(list, useFill));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean removeBatchByIds(Collection<?> list, int batchSize) {
+        return writeAndEvict(idsOf(list), Collections.emptyList(), () -> super.removeBatchByIds(list, batchSize));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean removeBatchByIds(Collection<?> list, int batchSize, boolean useFill) {
+        return writeAndEvict(idsOf(list), Collections.emptyList(),
+                () -> super.removeBatchByIds(list, batchSize, useFill));
+    }
+
+    @Override
+    public boolean update(Wrapper<T> updateWrapper) {
+        throw conditionalWriteUnsupported();
+    }
+
+    @Override
+    public boolean update(T entity, Wrapper<T> updateWrapper) {
+        throw conditionalWriteUnsupported();
+    }
+
+    @Override
+    public UpdateChainWrapper<T> update() {
+        throw conditionalWriteUnsupported();
+    }
+
+    @Override
+    public LambdaUpdateChainWrapper<T> lambdaUpdate() {
+        throw conditionalWriteUnsupported();
+    }
+
+    @Override
+    public boolean remove(Wrapper<T> queryWrapper) {
+        throw conditionalWriteUnsupported();
+    }
+
+    @Override
+    public boolean removeByMap(Map<String, Object> columnMap) {
+        throw conditionalWriteUnsupported();
+    }
+
+    /**
+     * 剔除缓存，处于事务中时在提交后再剔除一次
+     *
+     * @param keys 缓存的键
+     */
+    protected void evictAfterCommit(Collection<String> keys) {
+        keys.forEach(cache::evict);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    keys.forEach(cache::evict);
+                }
+            });
+        }
+    }
+
+    /**
+     * 实体的主键 key 和非空唯一列 key，子类通过 Mapper 自定义写入时用于剔除缓存
+     */
+    protected List<String> cacheKeysOf(T entity) {
+        List<String> keys = uniqueKeysOf(entity);
+        Object id = idOf(entity);
+        if (ObjectUtil.isNotNull(id)) {
+            keys.add(idKey(id));
+        }
+        return keys;
+    }
+
+    /**
+     * 执行写操作，成功后剔除受影响数据修改前后的缓存
+     *
+     * @param ids      受影响数据的主键，新增时为空
+     * @param entities 写入的数据，删除时为空
+     * @param writer   写操作
+     * @return 写操作的结果
+     */
+    private boolean writeAndEvict(Collection<Serializable> ids, Collection<T> entities, BooleanSupplier writer) {
+        if (WRITING.get()) {
+            return writer.getAsBoolean();
+        }
+
+        // 修改前的数据直接查询数据库，缓存中的可能已过期
+        Map<Object, T> olds = new HashMap<>();
+        if (CollUtil.isNotEmpty(ids)) {
+            getBaseMapper().selectBatchIds(ids).forEach(old -> olds.put(idOf(old), old));
+        }
+
+        boolean written;
+        WRITING.set(true);
+        try {
+            written = writer.getAsBoolean();
+        } finally {
+            WRITING.remove();
+        }
+        if (!written) {
+            return false;
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        ids.forEach(id -> keys.add(idKey(id)));
+        olds.values().forEach(old -> keys.addAll(cacheKeysOf(old)));
+        for (T entity : entities) {
+            // 新增的数据剔除唯一列上缓存的空值
+            keys.addAll(cacheKeysOf(entity));
+            keys.addAll(relatedKeysOf(olds.remove(idOf(entity)), entity));
+        }
+        olds.values().forEach(old -> keys.addAll(relatedKeysOf(old, null)));
+        evictAfterCommit(keys);
+        if (CollUtil.isNotEmpty(entities)) {
+            afterWrite(entities);
+        }
+        return true;
+    }
+
+    /**
+     * 提取非空主键，元素可以是主键或实体
+     */
+    private Collection<Serializable> idsOf(Collection<?> list) {
+        List<Serializable> ids = new ArrayList<>();
+        for (Object element : list) {
+            Object id = getEntityClass().isInstance(element) ? idOf(getEntityClass().cast(element)) : element;
+            if (ObjectUtil.isNotNull(id)) {
+                ids.add((Serializable) id);
+            }
+        }
+        return ids;
+    }
+
+    private UnsupportedOperationException conditionalWriteUnsupported() {
+        return new UnsupportedOperationException(getClass().getSimpleName()
+                + " 带缓存，按条件写入无法剔除受影响数据的缓存，请先查询主键再按主键写入");
+    }
+
+    /**
+     * 读取唯一列到主键的映射，未命中时查询数据库，不存在时缓存空值
+     */
+    private Serializable loadIdByUnique(String property, SFunction<T, ?> column, Object value) {
+        return (Serializable) cache.getTwoLevelCache(uniqueKey(property, value), () -> {
+            T entity = lambdaQuery().eq(column, value).one();
+            return ObjectUtil.isNull(entity) ? null : idOf(entity);
+        }, cacheTtl());
+    }
+
+    /**
+     * 实体的非空唯一列 key
+     */
+    private List<String> uniqueKeysOf(T entity) {
+        List<String> keys = new ArrayList<>();
+        uniqueColumnMap().forEach((property, getter) -> {
+            Object value = getter.apply(entity);
+            if (ObjectUtil.isNotNull(value)) {
+                keys.add(uniqueKey(property, value));
+            }
+        });
+        return keys;
+    }
+
+    private Map<String, SFunction<T, ?>> uniqueColumnMap() {
+        if (uniqueColumnMap == null) {
+            Map<String, SFunction<T, ?>> columns = new HashMap<>();
+            uniqueColumns().forEach(column -> columns.put(propertyOf(column), column));
+            uniqueColumnMap = columns;
+        }
+        return uniqueColumnMap;
+    }
+
+    private Object idOf(T entity) {
+        TableInfo tableInfo = tableInfo();
+        return tableInfo.getPropertyValue(entity, tableInfo.getKeyProperty());
+    }
+
+    private String idKey(Object id) {
+        return uniqueKey(ID_FIELD, id);
+    }
+
+    private String uniqueKey(String property, Object value) {
+        return tableInfo().getTableName() + ":" + property + ":" + value;
+    }
+
+    private TableInfo tableInfo() {
+        return TableInfoHelper.getTableInfo(getEntityClass());
+    }
+
+    private static String propertyOf(SFunction<?, ?> column) {
+        return PropertyNamer.methodToProperty(LambdaUtils.extract(column).getImplMethodName());
+    }
+}
@@ -1,20 +1,30 @@
 package com.example.template.module.service.impl;
 
-import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.example.template.module.domain.entity.File;
 import com.example.template.module.mapper.FileMapper;
 import com.example.template.module.service.FileService;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
 * @author hzh
 * @description 针对表【t_file(文件表)】的数据库操作Service实现
 * @createDate 2024-10-16 21:27:52
 */
 @Service
-public class FileServiceImpl extends ServiceImpl<FileMapper, File>
+public class FileServiceImpl extends CachedServiceImpl<FileMapper, File>
     implements FileService{
 
+    /**
+     * 文件摘要为唯一列，秒传时按其查询文件
+     */
+    @Override
+    protected List<SFunction<File, ?>> uniqueColumns() {
+        return List.of(File::getUniqueKey);
+    }
+
 }
 
 
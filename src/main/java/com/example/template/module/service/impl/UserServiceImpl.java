@@ -1,20 +1,112 @@
 package com.example.template.module.service.impl;
 
-import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.example.template.common.base.ErrorCode;
+import com.example.template.manager.auth.CredentialCache;
+import com.example.template.manager.auth.UserIdentifierFilter;
 import com.example.template.module.domain.entity.User;
 import com.example.template.module.mapper.UserMapper;
 import com.example.template.module.service.UserService;
+import com.example.template.util.ThrowUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 
 /**
 * @author hzh
 * @description 针对表【user(用户表)】的数据库操作Service实现
 * @createDate 2024-10-04 20:52:02
 */
+@Slf4j
 @Service
-public class UserServiceImpl extends ServiceImpl<UserMapper, User>
+public class UserServiceImpl extends CachedServiceImpl<UserMapper, User>
     implements UserService{
 
+    // 逻辑已删除值
+    private static final Integer DELETED = 1;
+
+    @Autowired
+    private UserIdentifierFilter userIdentifierFilter;
+
+    /**
+     * 账号、邮箱、手机号为唯一列，登录时按其查询用户
+     */
+    @Override
+    protected List<SFunction<User, ?>> uniqueColumns() {
+        return List.of(User::getUserAccount, User::getUserEmail, User::getUserPhone);
+    }
+
+    /**
+     * 用户的凭证缓存与实体一起剔除
+     */
+    @Override
+    protected List<String> relatedKeysOf(User old, User entity) {
+        return CredentialCache.keysOf(old, entity);
+    }
+
+    /**
+     * 新注册或新绑定的账号、邮箱、手机号记录到布隆过滤器
+     */
+    @Override
+    protected void afterWrite(Collection<User> entities) {
+        entities.forEach(this::recordIdentifiersAfterCommit);
+    }
+
+    @Override
+    public Long saveOrGetId(User entity) {
+        // 预先分配ID，回填的ID与之不同说明用户已存在
+        long assignedId = IdWorker.getId();
+        entity.setId(assignedId);
+        baseMapper.upsert(entity);
+        if (entity.getId() == assignedId) {
+            // 新插入，剔除唯一列和标识上缓存的空值，并记录到布隆过滤器
+            evictAfterCommit(cacheKeysOf(entity));
+            recordIdentifiersAfterCommit(entity);
+            return assignedId;
+        }
+
+        // 冲突的行可能已逻辑删除，其标识仍被唯一索引占用，不能返回调用方无法使用的ID
+        // 查询结果会被缓存，调用方随后获取用户时直接命中
+        User existing = getById(entity.getId());
+        ThrowUtils.clientExceptionThrowIf(Objects.isNull(existing) || DELETED.equals(existing.getDeleted()),
+                ErrorCode.USER_ERROR_A0203, "该账号已注销，无法使用");
+        return entity.getId();
+    }
+
+    /**
+     * 记录用户标识到布隆过滤器，处于事务中时在提交后执行
+     * <p>
+     * 数据已写入数据库，记录失败只记日志，漏记的标识在下次重建时补齐。
+     *
+     * @param entity 用户
+     */
+    private void recordIdentifiersAfterCommit(User entity) {
+        Runnable record = () -> {
+            try {
+                userIdentifierFilter.put(entity);
+            } catch (Exception e) {
+                log.error("==> 用户标识记录到布隆过滤器失败，用户ID：{}，异常信息：{}", entity.getId(), e.getMessage(), e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record.run();
+                }
+            });
+        } else {
+            record.run();
+        }
+    }
+
 }
 
 
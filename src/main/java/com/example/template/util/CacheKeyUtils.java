@@ -0,0 +1,28 @@
+package com.example.template.util;
+
+/**
+ * 缓存 key 工具类
+ *
+ * @author hzh
+ */
+public class CacheKeyUtils {
+
+    /**
+     * 不包含命名空间的 key 所属的命名空间
+     */
+    public static final String DEFAULT_NAMESPACE = "default";
+
+    private CacheKeyUtils() {
+    }
+
+    /**
+     * 取缓存 key 第一个 ':' 之前的部分作为命名空间，切面生成的 key 即为缓存名称（默认为目标类的全限定名）
+     *
+     * @param key 缓存的键
+     * @return 命名空间，不包含 ':' 时返回 {@link #DEFAULT_NAMESPACE}
+     */
+    public static String namespaceOf(String key) {
+        int index = key.indexOf(':');
+        return index > 0 ? key.substring(0, index) : DEFAULT_NAMESPACE;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.template.config.cache;
+
+import com.example.template.module.domain.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheCodecTest {
+
+    private static final int THRESHOLD = 256;
+
+    private final CacheCodec jsonCodec = new CacheCodec(CacheCodec.Format.JSON, THRESHOLD, Map.of());
+
+    private final CacheCodec smileCodec = new CacheCodec(CacheCodec.Format.SMILE, THRESHOLD,
+            Map.of("t_user", CacheCodec.Format.JSON));
+
+    @Test
+    void jsonRoundTrip() {
+        User user = user("x");
+        byte[] bytes = jsonCodec.serialize(user);
+
+        assertEquals('{', bytes[0]);
+        assertEquals(user, jsonCodec.deserialize(bytes));
+    }
+
+    @Test
+    void smileRoundTrip() {
+        User user = user("x");
+        byte[] bytes = smileCodec.serialize(user);
+
+        assertEquals(':', bytes[0]);
+        assertEquals(user, smileCodec.deserialize(bytes));
+    }
+
+    @Test
+    void largeValuesAreCompressedWithLz4() {
+        User user = user("x".repeat(THRESHOLD * 4));
+
+        for (CacheCodec codec : List.of(jsonCodec, smileCodec)) {
+            CacheCodec.Serialized serialized = codec.serializeWithLength(user);
+
+            assertEquals(0x01, serialized.bytes()[0]);
+            // rawLength 为压缩前的长度，与计数流得到的长度一致
+            assertTrue(serialized.rawLength() > serialized.bytes().length);
+            assertEquals(codec.serializedLength(user), serialized.rawLength());
+            assertEquals(user, codec.deserialize(serialized.bytes()));
+        }
+    }
+
+    @Test
+    void smallValuesAreNotCompressed() {
+        User user = user("x");
+        CacheCodec.Serialized serialized = jsonCodec.serializeWithLength(user);
+
+        assertEquals(serialized.rawLength(), serialized.bytes().length);
+    }
+
+    @Test
+    void incompressibleValuesKeepRawBytes() {
+        // 随机内容压缩后不会变小，保留原始数据
+        StringBuilder random = new StringBuilder();
+        Random rnd = new Random(42);
+        for (int i = 0; i < THRESHOLD * 2; i++) {
+            random.append((char) ('!' + rnd.nextInt(90)));
+        }
+        CacheCodec.Serialized serialized = jsonCodec.serializeWithLength(random.toString());
+
+        assertEquals(serialized.rawLength(), serialized.bytes().length);
+        assertEquals(random.toString(), jsonCodec.deserialize(serialized.bytes()));
+    }
+
+    @Test
+    void nullValueMarkerRoundTrip() {
+        byte[] bytes = smileCodec.serialize(NullValue.INSTANCE);
+
+        assertArrayEquals(new byte[]{0x02}, bytes);
+        assertSame(NullValue.INSTANCE, jsonCodec.deserialize(bytes));
+        assertEquals(1, smileCodec.serializedLength(NullValue.INSTANCE));
+    }
+
+    @Test
+    void nullAndEmptyBytes() {
+        assertEquals(0, jsonCodec.serialize(null).length);
+        assertNull(jsonCodec.deserialize(null));
+        assertNull(jsonCodec.deserialize(new byte[0]));
+    }
+
+    @Test
+    void readsDataWrittenInEitherFormat() {
+        User user = user("x".repeat(THRESHOLD * 4));
+
+        // 切换格式后仍可读取之前写入的数据
+        assertEquals(user, smileCodec.deserialize(jsonCodec.serialize(user)));
+        assertEquals(user, jsonCodec.deserialize(smileCodec.serialize(user)));
+    }
+
+    @Test
+    void namespaceFormatOverridesDefault() {
+        CacheCodec userCodec = smileCodec.forNamespace("t_user");
+
+        assertEquals('{', userCodec.serialize(user("x"))[0]);
+        assertSame(smileCodec, smileCodec.forNamespace("t_file"));
+        assertSame(jsonCodec, jsonCodec.forNamespace("t_user"));
+    }
+
+    @Test
+    void legacyJsonIsReadableBySmileCodec() {
+        byte[] bytes = "\"legacy\"".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("legacy", smileCodec.deserialize(bytes));
+    }
+
+    private static User user(String profile) {
+        return new User().setId(42L).setUserAccount("alice").setUserProfile(profile)
+                .setGmtCreate(new Date(1_700_000_000_123L)).setDeleted(0);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.template.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LocalCacheRegionsTest {
+
+    private OffHeapStore offHeapStore;
+
+    private LocalCacheRegions regions;
+
+    @BeforeEach
+    void setUp() {
+        CacheCodec codec = new CacheCodec(CacheCodec.Format.SMILE, 0, Map.of());
+        Cache<String, Object> defaultRegion = Caffeine.newBuilder()
+                .expireAfter(Expiry.creating((Object key, Object value) -> Duration.ofSeconds(1800)))
+                .build();
+        Cache<String, Object> accessRegion = Caffeine.newBuilder()
+                .expireAfterAccess(5, TimeUnit.SECONDS)
+                .build();
+        regions = new LocalCacheRegions(defaultRegion, 1800, codec);
+        regions.addRegion("user", accessRegion, 5, List.of("t_user"));
+
+        // 阈值为 0，所有值都写入堆外存储
+        offHeapStore = mock(OffHeapStore.class);
+        when(offHeapStore.put(any(), any(), anyLong())).thenReturn(true);
+        regions.enableOffHeap(offHeapStore, codec, 0);
+    }
+
+    @Test
+    void offHeapEntriesUseTheirRegionTtl() {
+        regions.put("t_user:id:1", "value");
+
+        verify(offHeapStore).put(eq("t_user:id:1"), any(), eq(5_000L));
+    }
+
+    @Test
+    void offHeapEntriesIgnorePerEntryTtlWhenRegionHasFixedExpiry() {
+        regions.put("t_user:id:2", "value", 60);
+
+        verify(offHeapStore).put(eq("t_user:id:2"), any(), eq(5_000L));
+    }
+
+    @Test
+    void offHeapEntriesInVariableRegionUsePerEntryOrRegionTtl() {
+        regions.put("file:id:1", "value", 60);
+        regions.put("file:id:2", "value");
+
+        verify(offHeapStore).put(eq("file:id:1"), any(), eq(60_000L));
+        verify(offHeapStore).put(eq("file:id:2"), any(), eq(1_800_000L));
+    }
+}
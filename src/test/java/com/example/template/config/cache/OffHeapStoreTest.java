@@ -0,0 +1,117 @@
+package com.example.template.config.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapStoreTest {
+
+    private static final int BLOCK = 64;
+
+    private static final long TTL = 60_000;
+
+    // 单段 8 个块，每个 slab 2 个块，不启用后台清理
+    private final OffHeapStore store = new OffHeapStore(BLOCK * 8, BLOCK, BLOCK * 2, 1, 0);
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void valuesSpanningSeveralBlocksRoundTrip() {
+        byte[] value = bytes(BLOCK * 3 + 5, 7);
+
+        assertTrue(store.put("a", value, TTL));
+
+        assertArrayEquals(value, store.get("a"));
+        // 按块计算占用，不足一块按一块计
+        assertEquals(BLOCK * 4, store.usedBytes());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenFull() {
+        store.put("a", bytes(BLOCK * 3, 1), TTL);
+        store.put("b", bytes(BLOCK * 3, 2), TTL);
+        // 访问 a 后 b 成为最近最少使用的条目
+        store.get("a");
+
+        assertTrue(store.put("c", bytes(BLOCK * 3, 3), TTL));
+
+        assertNull(store.get("b"));
+        assertArrayEquals(bytes(BLOCK * 3, 1), store.get("a"));
+        assertArrayEquals(bytes(BLOCK * 3, 3), store.get("c"));
+        assertEquals(1, store.evictionCount());
+        assertEquals(BLOCK * 6, store.usedBytes());
+    }
+
+    @Test
+    void overwriteReleasesPreviousBlocks() {
+        store.put("a", bytes(BLOCK * 8, 1), TTL);
+        assertTrue(store.put("a", bytes(BLOCK, 2), TTL));
+
+        assertArrayEquals(bytes(BLOCK, 2), store.get("a"));
+        assertEquals(BLOCK, store.usedBytes());
+        assertEquals(0, store.evictionCount());
+    }
+
+    @Test
+    void rejectsValuesLargerThanTheSegmentBudget() {
+        store.put("a", bytes(BLOCK, 1), TTL);
+
+        assertFalse(store.put("big", bytes(BLOCK * 8 + 1, 2), TTL));
+
+        // 拒绝写入时不淘汰已有条目
+        assertArrayEquals(bytes(BLOCK, 1), store.get("a"));
+        assertNull(store.get("big"));
+    }
+
+    @Test
+    void expiredEntriesAreRemovedOnReadAndSweep() {
+        store.put("a", bytes(BLOCK, 1), 0);
+        store.put("b", bytes(BLOCK, 2), 0);
+        store.put("c", bytes(BLOCK, 3), TTL);
+
+        assertNull(store.get("a"));
+        assertEquals(1, store.sweepExpired());
+
+        assertEquals(1, store.size());
+        assertEquals(BLOCK, store.usedBytes());
+        assertArrayEquals(bytes(BLOCK, 3), store.get("c"));
+    }
+
+    @Test
+    void invalidateFreesBlocksForReuse() {
+        store.put("a", bytes(BLOCK * 8, 1), TTL);
+        store.invalidate("a");
+
+        assertEquals(0, store.usedBytes());
+        assertTrue(store.put("b", bytes(BLOCK * 8, 2), TTL));
+        assertEquals(0, store.evictionCount());
+    }
+
+    @Test
+    void budgetIsSplitAcrossSegments() {
+        try (OffHeapStore segmented = new OffHeapStore(BLOCK * 8, BLOCK, BLOCK * 2, 3, 0)) {
+            // 分段数向上取整为 4，每段 2 个块
+            assertFalse(segmented.put("a", bytes(BLOCK * 3, 1), TTL));
+            assertTrue(segmented.put("a", bytes(BLOCK * 2, 1), TTL));
+        }
+    }
+
+    private static byte[] bytes(int length, int seed) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) seed);
+        for (int i = 0; i < length; i += 13) {
+            bytes[i] = (byte) (i + seed);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.template.manager.auth;
+
+import com.example.template.common.base.ErrorCode;
+import com.example.template.common.properties.LoginThrottleProperties;
+import com.example.template.exception.customize.ClientException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.redisson.Redisson;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RScript;
+import org.redisson.api.RScriptAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+import org.redisson.misc.CompletableFutureWrapper;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoginThrottleTest {
+
+    private static final String PREFIX = "test:throttle:";
+
+    private static final String SHA = "sha";
+
+    private RedissonClient redissonClient;
+
+    private RScript script;
+
+    private RBatch batch;
+
+    private RScriptAsync batchScript;
+
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        redissonClient = mock(RedissonClient.class);
+        script = mock(RScript.class);
+        when(redissonClient.getScript(StringCodec.INSTANCE)).thenReturn(script);
+        when(script.scriptLoad(anyString())).thenReturn(SHA);
+        batch = mock(RBatch.class);
+        batchScript = mock(RScriptAsync.class);
+        when(redissonClient.createBatch(any(BatchOptions.class))).thenReturn(batch);
+        when(batch.getScript(StringCodec.INSTANCE)).thenReturn(batchScript);
+        loginThrottle = new LoginThrottle(redissonClient, properties());
+        loginThrottle.loadScripts();
+
+        // 转发头由容器按可信代理处理，限制器只读取 remoteAddr
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("X-Forwarded-For", "198.51.100.1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void recordFailureRunsOneScriptPerDimensionInOneBatch() {
+        when(batchScript.<Long>evalShaAsync(RScript.Mode.READ_WRITE, SHA, RScript.ReturnType.INTEGER,
+                keys("account", "alice"), "600", "3", "60", "300", "3600")).thenReturn(new CompletableFutureWrapper<>(0L));
+        when(batchScript.<Long>evalShaAsync(RScript.Mode.READ_WRITE, SHA, RScript.ReturnType.INTEGER,
+                keys("ip", "203.0.113.7"), "600", "50", "60", "300", "3600")).thenReturn(new CompletableFutureWrapper<>(120L));
+
+        // 取两个维度中较长的锁定时间
+        assertEquals(120L, loginThrottle.recordFailure("alice"));
+        verify(batch).execute();
+        verify(script, never()).evalSha(any(), anyString(), any(), any(), any(Object[].class));
+    }
+
+    @Test
+    void recordFailureFallsBackToEvalOnlyForMissingScripts() {
+        RedisException noScript = new RedisException("NOSCRIPT No matching script. Please use EVAL.");
+        when(batchScript.<Long>evalShaAsync(RScript.Mode.READ_WRITE, SHA, RScript.ReturnType.INTEGER,
+                keys("account", "alice"), "600", "3", "60", "300", "3600")).thenReturn(new CompletableFutureWrapper<>(noScript));
+        when(batchScript.<Long>evalShaAsync(RScript.Mode.READ_WRITE, SHA, RScript.ReturnType.INTEGER,
+                keys("ip", "203.0.113.7"), "600", "50", "60", "300", "3600")).thenReturn(new CompletableFutureWrapper<>(0L));
+        when(batch.execute()).thenThrow(noScript);
+        when(script.<Long>eval(eq(RScript.Mode.READ_WRITE), anyString(), eq(RScript.ReturnType.INTEGER),
+                eq(keys("account", "alice")), any(Object[].class))).thenReturn(60L);
+
+        assertEquals(60L, loginThrottle.recordFailure("alice"));
+        // 已成功执行的维度不重复执行
+        verify(script, never()).eval(any(), anyString(), any(), eq(keys("ip", "203.0.113.7")), any(Object[].class));
+        // 回退后重新加载脚本
+        verify(script, times(2)).scriptLoad(anyString());
+    }
+
+    @Test
+    void recordFailurePropagatesOtherRedisErrors() {
+        RedisException error = new RedisException("OOM command not allowed");
+        when(batchScript.<Long>evalShaAsync(any(), anyString(), any(), any(), any(Object[].class)))
+                .thenReturn(new CompletableFutureWrapper<>(error));
+        when(batch.execute()).thenThrow(error);
+
+        assertThrows(RedisException.class, () -> loginThrottle.recordFailure("alice"));
+    }
+
+    @Test
+    void checkRejectsWhileEitherDimensionIsLocked() {
+        RBucketAsync<Object> accountLock = mock(RBucketAsync.class);
+        RBucketAsync<Object> ipLock = mock(RBucketAsync.class);
+        when(batch.<Object>getBucket(PREFIX + "account:{alice}:lock", StringCodec.INSTANCE)).thenReturn(accountLock);
+        when(batch.<Object>getBucket(PREFIX + "ip:{203.0.113.7}:lock", StringCodec.INSTANCE)).thenReturn(ipLock);
+        when(accountLock.remainTimeToLiveAsync()).thenReturn(new CompletableFutureWrapper<>(-2L));
+        when(ipLock.remainTimeToLiveAsync()).thenReturn(new CompletableFutureWrapper<>(30000L));
+
+        ClientException exception = assertThrows(ClientException.class, () -> loginThrottle.check("alice"));
+        assertEquals(ErrorCode.USER_ERROR_A0211, exception.getErrorCode());
+
+        when(ipLock.remainTimeToLiveAsync()).thenReturn(new CompletableFutureWrapper<>(-2L));
+        assertDoesNotThrow(() -> loginThrottle.check("alice"));
+        // 两个维度在一次批量请求中查询
+        verify(batch, times(2)).execute();
+    }
+
+    /**
+     * 在真实 Redis 上执行 Lua 脚本，验证锁定时间逐级翻倍并封顶，例如 -Dredis.address=redis://127.0.0.1:6379
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "redis.address", matches = ".+")
+    void lockoutEscalatesAgainstRedis() {
+        RequestContextHolder.resetRequestAttributes();
+        Config config = new Config();
+        config.useSingleServer().setAddress(System.getProperty("redis.address"));
+        RedissonClient redisson = Redisson.create(config);
+        LoginThrottleProperties properties = properties();
+        properties.setKeyPrefix(PREFIX + UUID.randomUUID() + ":");
+        properties.setMaxAccountFailures(2);
+        properties.setMaxIpFailures(1000);
+        properties.setBaseLockout(60);
+        properties.setMaxLockout(150);
+        try {
+            LoginThrottle throttle = new LoginThrottle(redisson, properties);
+            throttle.loadScripts();
+            String lockKey = properties.getKeyPrefix() + "account:{bob}:lock";
+
+            // 60 -> 120 -> 150（封顶）
+            for (long expected : new long[]{60, 120, 150}) {
+                assertEquals(0L, throttle.recordFailure("bob"));
+                assertEquals(expected, throttle.recordFailure("bob"));
+                assertThrows(ClientException.class, () -> throttle.check("bob"));
+                // 锁定期间不再累加，返回剩余锁定时间
+                assertEquals(expected, throttle.recordFailure("bob"));
+                // 模拟锁定到期
+                redisson.getBucket(lockKey, StringCodec.INSTANCE).delete();
+            }
+
+            // 登录成功后锁定次数归零
+            throttle.reset("bob");
+            assertEquals(0L, throttle.recordFailure("bob"));
+            assertEquals(60L, throttle.recordFailure("bob"));
+        } finally {
+            redisson.getKeys().deleteByPattern(properties.getKeyPrefix() + "*");
+            redisson.shutdown();
+        }
+    }
+
+    private static List<Object> keys(String dimension, String identifier) {
+        String base = PREFIX + dimension + ":{" + identifier + "}:";
+        return List.of(base + "fail", base + "lock", base + "level");
+    }
+
+    private static LoginThrottleProperties properties() {
+        LoginThrottleProperties properties = new LoginThrottleProperties();
+        properties.setKeyPrefix(PREFIX);
+        properties.setFailureWindow(600);
+        properties.setMaxAccountFailures(3);
+        properties.setMaxIpFailures(50);
+        properties.setBaseLockout(60);
+        properties.setMaxLockout(300);
+        properties.setLockoutLevelTtl(3600);
+        return properties;
+    }
+}
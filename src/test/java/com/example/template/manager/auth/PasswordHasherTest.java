@@ -0,0 +1,118 @@
+package com.example.template.manager.auth;
+
+import com.example.template.common.properties.EncryptionProperties;
+import com.example.template.util.EncryptUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RedissonClient;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PasswordHasherTest {
+
+    private static final String PASSWORD = "Passw0rd!";
+
+    private ThreadPoolExecutor executor;
+
+    private RedissonClient redissonClient;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(16));
+        redissonClient = mock(RedissonClient.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void verifiesOwnHash() {
+        PasswordHasher hasher = hasher(1000);
+        String hash = hasher.hash(PASSWORD);
+
+        assertTrue(hash.startsWith("$pbkdf2-sha256$1000$"));
+        assertEquals(new PasswordHasher.VerifyResult(true, false), hasher.verify(PASSWORD, hash, null));
+        assertEquals(new PasswordHasher.VerifyResult(false, false), hasher.verify("wrong", hash, null));
+        // 固定迭代次数时不读取集群共用值
+        verifyNoInteractions(redissonClient);
+    }
+
+    @Test
+    void requestsRehashWhenIterationsAreRaised() {
+        String hash = hasher(1000).hash(PASSWORD);
+
+        PasswordHasher stronger = hasher(2000);
+        assertEquals(new PasswordHasher.VerifyResult(true, true), stronger.verify(PASSWORD, hash, null));
+        // 密码错误时不触发升级
+        assertEquals(new PasswordHasher.VerifyResult(false, false), stronger.verify("wrong", hash, null));
+    }
+
+    @Test
+    void upgradesLegacySaltedSha256() {
+        EncryptionProperties properties = properties(1000);
+        properties.setHashIterations(3);
+        new EncryptUtils(properties);
+        String salt = "legacy-salt";
+        String legacyHash = EncryptUtils.hashPasswordWithSalt(PASSWORD, salt);
+
+        PasswordHasher hasher = new PasswordHasher(properties, executor, redissonClient);
+        hasher.init();
+        assertEquals(new PasswordHasher.VerifyResult(true, true), hasher.verify(PASSWORD, legacyHash, salt));
+        assertEquals(new PasswordHasher.VerifyResult(false, false), hasher.verify("wrong", legacyHash, salt));
+    }
+
+    @Test
+    void adoptsIterationsPublishedByFirstNode() {
+        EncryptionProperties properties = properties(0);
+        properties.setKdfMinIterations(1000);
+        properties.setKdfMaxIterations(1000000);
+        properties.setKdfTargetMillis(1);
+        RAtomicLong shared = mock(RAtomicLong.class);
+        when(redissonClient.getAtomicLong(properties.getKdfIterationsKey())).thenReturn(shared);
+        when(shared.get()).thenReturn(4321L);
+
+        PasswordHasher hasher = new PasswordHasher(properties, executor, redissonClient);
+        hasher.init();
+
+        assertEquals(4321, hasher.getIterations());
+        // 本机校准结果只在共用值不存在时写入
+        verify(shared).compareAndSet(eq(0L), anyLong());
+        assertTrue(hasher.hash(PASSWORD).startsWith("$pbkdf2-sha256$4321$"));
+    }
+
+    @Test
+    void rejectsEmptyInput() {
+        PasswordHasher hasher = hasher(1000);
+        assertFalse(hasher.verify("", "$pbkdf2-sha256$1000$a$b", null).matched());
+        assertFalse(hasher.verify(PASSWORD, "", null).matched());
+    }
+
+    private PasswordHasher hasher(int iterations) {
+        PasswordHasher hasher = new PasswordHasher(properties(iterations), executor, redissonClient);
+        hasher.init();
+        return hasher;
+    }
+
+    private static EncryptionProperties properties(int iterations) {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.setSaltLength(16);
+        properties.setKdfIterations(iterations);
+        return properties;
+    }
+}
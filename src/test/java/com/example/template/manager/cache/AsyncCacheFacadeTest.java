@@ -0,0 +1,82 @@
+package com.example.template.manager.cache;
+
+import com.example.template.common.properties.CacheProperties;
+import com.example.template.common.properties.CaffeineProperties;
+import com.example.template.config.cache.LocalCacheRegions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.misc.CompletableFutureWrapper;
+import org.springframework.cache.support.NullValue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AsyncCacheFacadeTest {
+
+    private static final String KEY = "t_user:id:1";
+
+    private static final AsyncCacheFacade.AsyncDataLoader LOADER = () -> CompletableFuture.completedFuture("loaded");
+
+    private LocalCacheRegions localCacheRegions;
+
+    private RBucket<Object> bucket;
+
+    private ThreadPoolExecutor executor;
+
+    private AsyncCacheFacade facade;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        localCacheRegions = mock(LocalCacheRegions.class);
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        bucket = mock(RBucket.class);
+        when(redissonClient.getBucket(KEY)).thenReturn(bucket);
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setNullValueTtl(60);
+        facade = new AsyncCacheFacade(localCacheRegions, redissonClient, executor, cacheProperties,
+                new CaffeineProperties(), mock(CacheMetrics.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void nullValueFromRedisUsesNullValueTtlLocally() {
+        when(bucket.getAsync()).thenReturn(new CompletableFutureWrapper<>(NullValue.INSTANCE));
+
+        assertNull(facade.getTwoLevelCacheAsync(KEY, LOADER, 1800).join());
+
+        // 空值标记不能使用分区的默认过期时间，否则新建的数据在本地长时间不可见
+        verify(localCacheRegions).put(KEY, NullValue.INSTANCE, 60);
+        verify(localCacheRegions, never()).put(eq(KEY), any());
+    }
+
+    @Test
+    void valueFromRedisUsesRegionTtlLocally() {
+        when(bucket.getAsync()).thenReturn(new CompletableFutureWrapper<>("cached"));
+
+        assertEquals("cached", facade.getTwoLevelCacheAsync(KEY, LOADER, 1800).join());
+
+        verify(localCacheRegions).put(KEY, "cached");
+        verify(localCacheRegions, never()).put(eq(KEY), any(), anyLong());
+    }
+}
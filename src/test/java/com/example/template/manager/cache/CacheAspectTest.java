@@ -0,0 +1,105 @@
+package com.example.template.manager.cache;
+
+import com.example.template.manager.cache.partition.PartitionedCache;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CacheAspectTest {
+
+    private Cache cache;
+
+    private CachePenetrationGuard penetrationGuard;
+
+    private CacheAspect cacheAspect;
+
+    @BeforeEach
+    void setUp() {
+        cache = mock(Cache.class);
+        penetrationGuard = mock(CachePenetrationGuard.class);
+        cacheAspect = new CacheAspect(cache, penetrationGuard, mock(NearCache.class), mock(PartitionedCache.class));
+    }
+
+    @Test
+    void keyPrefixDefaultsToFullyQualifiedClassName() throws Exception {
+        Method method = Target.class.getMethod("byClass", String.class);
+
+        assertEquals(Target.class.getName() + ":byClass:",
+                CacheAspect.keyPrefix(Target.class, method, method.getAnnotation(CacheConfig.class)));
+    }
+
+    @Test
+    void twoLevelStrategyUsesCacheNameAndEvaluatedKey() throws Throwable {
+        Method method = Target.class.getMethod("byName", String.class);
+        when(cache.getTwoLevelCache(eq("users:byName:42"), any(), eq(300L))).thenReturn("cached");
+
+        assertEquals("cached", cacheAspect.around(joinPoint(method, "42"), method.getAnnotation(CacheConfig.class)));
+    }
+
+    @Test
+    void bloomFilterMissReturnsNullWithoutLoading() throws Throwable {
+        Method method = Target.class.getMethod("guarded", String.class);
+        ProceedingJoinPoint joinPoint = joinPoint(method, "absent");
+        when(penetrationGuard.mightContain("user", "absent")).thenReturn(false);
+
+        assertNull(cacheAspect.around(joinPoint, method.getAnnotation(CacheConfig.class)));
+        verify(joinPoint, never()).proceed();
+        verifyNoInteractions(cache);
+    }
+
+    @Test
+    void bloomFilterOnPrimitiveReturnIsRejected() throws Throwable {
+        Method method = Target.class.getMethod("count", String.class);
+
+        assertThrows(IllegalStateException.class,
+                () -> cacheAspect.around(joinPoint(method, "1"), method.getAnnotation(CacheConfig.class)));
+        verifyNoInteractions(penetrationGuard, cache);
+    }
+
+    private static ProceedingJoinPoint joinPoint(Method method, Object... args) {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getTarget()).thenReturn(new Target());
+        when(joinPoint.getArgs()).thenReturn(args);
+        return joinPoint;
+    }
+
+    static class Target {
+
+        @CacheConfig(key = "#p0")
+        public String byClass(String id) {
+            return id;
+        }
+
+        @CacheConfig(strategy = CacheSolutionType.TWO_LEVEL_CACHE, cacheName = "users", key = "#p0", expireTime = 300)
+        public String byName(String id) {
+            return id;
+        }
+
+        @CacheConfig(key = "#p0", bloomFilter = "user")
+        public String guarded(String id) {
+            return id;
+        }
+
+        @CacheConfig(key = "#p0", bloomFilter = "user")
+        public long count(String id) {
+            return 0;
+        }
+    }
+}
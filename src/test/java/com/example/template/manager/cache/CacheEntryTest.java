@@ -0,0 +1,64 @@
+package com.example.template.manager.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheEntryTest {
+
+    private static final long SOFT_EXPIRE_AT = 1_000_000;
+
+    private static final int SAMPLES = 10_000;
+
+    @Test
+    void hardExpiryIsInclusive() {
+        CacheEntry entry = new CacheEntry("v", SOFT_EXPIRE_AT, SOFT_EXPIRE_AT + 5000, 100);
+
+        assertFalse(entry.isExpired(SOFT_EXPIRE_AT + 4999));
+        assertTrue(entry.isExpired(SOFT_EXPIRE_AT + 5000));
+    }
+
+    @Test
+    void alwaysRefreshesAfterSoftExpiry() {
+        CacheEntry entry = new CacheEntry("v", SOFT_EXPIRE_AT, SOFT_EXPIRE_AT + 5000, 100);
+
+        assertEquals(SAMPLES, refreshCount(entry, SOFT_EXPIRE_AT, 1.0));
+    }
+
+    @Test
+    void neverRefreshesEarlyWithoutLoadTimeOrBeta() {
+        CacheEntry instant = new CacheEntry("v", SOFT_EXPIRE_AT, SOFT_EXPIRE_AT + 5000, 0);
+        CacheEntry slow = new CacheEntry("v", SOFT_EXPIRE_AT, SOFT_EXPIRE_AT + 5000, 100);
+
+        assertEquals(0, refreshCount(instant, SOFT_EXPIRE_AT - 1, 1.0));
+        assertEquals(0, refreshCount(slow, SOFT_EXPIRE_AT - 1, 0.0));
+    }
+
+    @Test
+    void earlyRefreshBecomesLikelierNearSoftExpiry() {
+        CacheEntry entry = new CacheEntry("v", SOFT_EXPIRE_AT, SOFT_EXPIRE_AT + 5000, 100);
+
+        // 提前 gap 毫秒刷新的概率为 exp(-gap / (delta * beta))
+        // 提前 1000ms：约 0.005%；提前 10ms：约 90%
+        int far = refreshCount(entry, SOFT_EXPIRE_AT - 1000, 1.0);
+        int near = refreshCount(entry, SOFT_EXPIRE_AT - 10, 1.0);
+        assertTrue(far < SAMPLES / 100, "far=" + far);
+        assertTrue(near > SAMPLES * 8 / 10, "near=" + near);
+
+        // beta 越大越倾向于提前刷新，提前 1000ms 且 beta=10 时约 37%
+        int eager = refreshCount(entry, SOFT_EXPIRE_AT - 1000, 10.0);
+        assertTrue(eager > SAMPLES / 4 && eager < SAMPLES / 2, "eager=" + eager);
+    }
+
+    private static int refreshCount(CacheEntry entry, long now, double beta) {
+        int count = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            if (entry.shouldRefresh(now, beta)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
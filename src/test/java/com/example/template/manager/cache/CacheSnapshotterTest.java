@@ -0,0 +1,157 @@
+package com.example.template.manager.cache;
+
+import com.example.template.common.properties.CacheProperties;
+import com.example.template.config.cache.CacheCodec;
+import com.example.template.config.cache.LocalCacheRegions;
+import com.example.template.module.domain.entity.User;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheSnapshotterTest {
+
+    private final CacheCodec codec = new CacheCodec(CacheCodec.Format.SMILE, 256, Map.of());
+
+    @TempDir
+    Path directory;
+
+    private CacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheProperties();
+        properties.getSnapshot().setEnable(true);
+        properties.getSnapshot().setDirectory(directory.toString());
+        properties.getSnapshot().setInterval(3600);
+    }
+
+    @Test
+    void restoresEntriesWithTheirRemainingTtl() throws IOException {
+        LocalCacheRegions source = regions();
+        User user = new User().setId(1L).setUserAccount("alice");
+        source.put("t_user:id:1", user, 600);
+        source.put("t_file:id:2", "file", 60);
+        new CacheSnapshotter(source, codec, properties).snapshot();
+
+        LocalCacheRegions target = regions();
+        new CacheSnapshotter(target, codec, properties).start();
+
+        assertEquals(user, target.getIfPresent("t_user:id:1"));
+        assertEquals("file", target.getIfPresent("t_file:id:2"));
+        Duration remaining = target.remainingTtl("t_user:id:1").orElseThrow();
+        // 恢复时按秒向下取整
+        assertTrue(remaining.compareTo(Duration.ofSeconds(600)) <= 0);
+        assertTrue(remaining.compareTo(Duration.ofSeconds(590)) > 0);
+    }
+
+    @Test
+    void skipsEntriesThatExpireBeforeRestore() throws IOException {
+        LocalCacheRegions source = regions();
+        // 剩余不足 1 秒，恢复时视为已过期
+        source.put("t_user:id:1", "soon", 1);
+        source.put("t_user:id:2", "later", 600);
+        new CacheSnapshotter(source, codec, properties).snapshot();
+
+        LocalCacheRegions target = regions();
+        new CacheSnapshotter(target, codec, properties).start();
+
+        assertNull(target.getIfPresent("t_user:id:1"));
+        assertEquals("later", target.getIfPresent("t_user:id:2"));
+    }
+
+    @Test
+    void rollsSegmentsAndRestoresAllOfThem() throws IOException {
+        properties.getSnapshot().setSegmentSize(64);
+        LocalCacheRegions source = regions();
+        for (int i = 0; i < 10; i++) {
+            source.put("t_user:id:" + i, "value-" + i, 600);
+        }
+        new CacheSnapshotter(source, codec, properties).snapshot();
+
+        assertTrue(segments().size() > 1);
+        LocalCacheRegions target = regions();
+        new CacheSnapshotter(target, codec, properties).start();
+        for (int i = 0; i < 10; i++) {
+            assertEquals("value-" + i, target.getIfPresent("t_user:id:" + i));
+        }
+    }
+
+    @Test
+    void newSnapshotReplacesPreviousGeneration() throws Exception {
+        LocalCacheRegions source = regions();
+        source.put("t_user:id:1", "old", 600);
+        CacheSnapshotter snapshotter = new CacheSnapshotter(source, codec, properties);
+        snapshotter.snapshot();
+        List<Path> previous = segments();
+
+        // 代号为快照开始时间，间隔 1 毫秒以上保证代号不同
+        Thread.sleep(5);
+        source.invalidate("t_user:id:1");
+        source.put("t_user:id:2", "new", 600);
+        snapshotter.snapshot();
+
+        List<Path> current = segments();
+        assertEquals(1, current.size());
+        assertTrue(previous.stream().noneMatch(current::contains));
+        String generation = Files.readString(directory.resolve("CURRENT")).trim();
+        assertTrue(current.get(0).getFileName().toString().startsWith("snapshot-" + generation + "-"));
+
+        LocalCacheRegions target = regions();
+        new CacheSnapshotter(target, codec, properties).start();
+        assertNull(target.getIfPresent("t_user:id:1"));
+        assertEquals("new", target.getIfPresent("t_user:id:2"));
+    }
+
+    @Test
+    void skipsSnapshotOlderThanMaxAge() throws Exception {
+        LocalCacheRegions source = regions();
+        source.put("t_user:id:1", "value", 600);
+        new CacheSnapshotter(source, codec, properties).snapshot();
+
+        properties.getSnapshot().setMaxAge(0);
+        Thread.sleep(5);
+        LocalCacheRegions target = regions();
+        new CacheSnapshotter(target, codec, properties).start();
+
+        assertNull(target.getIfPresent("t_user:id:1"));
+    }
+
+    @Test
+    void skipsSegmentsWithUnknownFormat() throws IOException {
+        long generation = System.currentTimeMillis();
+        Files.writeString(directory.resolve("CURRENT"), Long.toString(generation));
+        Files.writeString(directory.resolve("snapshot-" + generation + "-00000.seg"), "garbage");
+
+        LocalCacheRegions target = regions();
+        new CacheSnapshotter(target, codec, properties).start();
+
+        assertEquals(0, target.getRegions().get(LocalCacheRegions.DEFAULT_REGION).estimatedSize());
+    }
+
+    private LocalCacheRegions regions() {
+        return new LocalCacheRegions(Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfter(Expiry.creating((Object key, Object value) -> Duration.ofSeconds(1800)))
+                .build(), 1800, codec);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+}
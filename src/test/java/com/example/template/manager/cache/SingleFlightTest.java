@@ -0,0 +1,80 @@
+package com.example.template.manager.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    void concurrentCallsShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("k", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "v";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Object> follower = CompletableFuture.supplyAsync(() -> singleFlight.execute("k", () -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        // 等待跟随者进入等待状态后再释放加载
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals("v", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("v", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loaderExceptionIsRethrownAsIs() {
+        IllegalArgumentException error = new IllegalArgumentException("boom");
+
+        assertSame(error, assertThrows(IllegalArgumentException.class,
+                () -> singleFlight.execute("k", () -> {
+                    throw error;
+                })));
+        // 失败的任务已移除，下次调用重新加载
+        assertEquals("v", singleFlight.execute("k", () -> "v"));
+    }
+
+    @Test
+    void reentrantLoadOfSameKeyFailsFast() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute("k", () -> singleFlight.execute("k", () -> "v")));
+        assertTrue(exception.getMessage().contains("k"));
+
+        // 重入检测的状态已清理
+        assertEquals("v", singleFlight.execute("k", () -> "v"));
+    }
+
+    @Test
+    void nestedLoadOfOtherKeyIsAllowed() {
+        assertEquals("outer-inner", singleFlight.execute("outer",
+                () -> "outer-" + singleFlight.execute("inner", () -> "inner")));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
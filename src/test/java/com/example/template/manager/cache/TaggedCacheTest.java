@@ -0,0 +1,190 @@
+package com.example.template.manager.cache;
+
+import com.example.template.common.properties.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RBuckets;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+import org.redisson.client.codec.LongCodec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaggedCacheTest {
+
+    private static final String PREFIX = "test:tag:";
+
+    private static final long TTL = 600;
+
+    // 模拟的两级缓存内容
+    private final Map<String, Object> stored = new HashMap<>();
+
+    // 模拟的 Redis 中的标签代号
+    private final Map<String, Long> remoteGenerations = new HashMap<>();
+
+    private RBuckets buckets;
+
+    private RTopic topic;
+
+    private TaggedCache taggedCache;
+
+    @BeforeEach
+    void setUp() {
+        Cache cache = mock(Cache.class);
+        when(cache.getTwoLevelCache(anyString(), any(), anyLong())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            if (!stored.containsKey(key)) {
+                Object value = invocation.<Cache.DataLoader>getArgument(1).load();
+                if (value != null) {
+                    stored.put(key, value);
+                }
+                return value;
+            }
+            return stored.get(key);
+        });
+        doAnswer(invocation -> stored.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(cache).putTwoLevelCache(anyString(), any(), anyLong());
+        doAnswer(invocation -> stored.remove(invocation.<String>getArgument(0)))
+                .when(cache).evict(anyString());
+
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        topic = mock(RTopic.class);
+        when(redissonClient.getTopic(anyString())).thenReturn(topic);
+        when(redissonClient.getAtomicLong(anyString())).thenAnswer(invocation -> {
+            String name = invocation.getArgument(0);
+            RAtomicLong counter = mock(RAtomicLong.class);
+            when(counter.incrementAndGet()).thenAnswer(ignored -> remoteGenerations.merge(name, 1L, Long::sum));
+            return counter;
+        });
+        buckets = mock(RBuckets.class);
+        when(redissonClient.getBuckets(LongCodec.INSTANCE)).thenReturn(buckets);
+        when(buckets.get(any(String[].class))).thenAnswer(invocation -> {
+            Map<String, Long> result = new HashMap<>();
+            for (String name : names(invocation.getArguments())) {
+                if (remoteGenerations.containsKey(name)) {
+                    result.put(name, remoteGenerations.get(name));
+                }
+            }
+            return result;
+        });
+
+        CacheProperties properties = new CacheProperties();
+        properties.getTag().setKeyPrefix(PREFIX);
+        taggedCache = new TaggedCache(cache, redissonClient, properties);
+        taggedCache.start();
+    }
+
+    @Test
+    void servesCachedValueWhileTagsAreCurrent() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", taggedCache.get("k", () -> "v" + loads.incrementAndGet(), TTL, List.of("user:1")));
+        assertEquals("v1", taggedCache.get("k", () -> "v" + loads.incrementAndGet(), TTL, List.of("user:1")));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidatingAnyTagReloadsOnlyEntriesCarryingIt() {
+        AtomicInteger loads = new AtomicInteger();
+        taggedCache.get("a", () -> "a" + loads.incrementAndGet(), TTL, List.of("user:1", "org:7"));
+        taggedCache.get("b", () -> "b" + loads.incrementAndGet(), TTL, List.of("user:2"));
+
+        taggedCache.invalidateTag("org:7");
+
+        assertEquals("a3", taggedCache.get("a", () -> "a" + loads.incrementAndGet(), TTL, List.of("user:1", "org:7")));
+        assertEquals("b2", taggedCache.get("b", () -> "b" + loads.incrementAndGet(), TTL, List.of("user:2")));
+        // 重新加载的条目记录新代号，之后直接命中
+        assertEquals("a3", taggedCache.get("a", () -> "a" + loads.incrementAndGet(), TTL, List.of("user:1", "org:7")));
+        assertEquals(1L, ((TaggedValue) stored.get("a")).getTagGenerations().get("org:7"));
+        verify(topic).publish("org:7");
+    }
+
+    @Test
+    void invalidationDuringLoadIsNotLost() {
+        AtomicInteger loads = new AtomicInteger();
+        Cache.DataLoader loader = () -> {
+            // 首次加载期间标签失效，条目记录的是加载前的代号
+            if (loads.incrementAndGet() == 1) {
+                taggedCache.invalidateTag("user:1");
+            }
+            return "v" + loads.get();
+        };
+
+        // 写入的条目立即被识别为已失效并重新加载，不会返回失效前加载的数据
+        assertEquals("v2", taggedCache.get("k", loader, TTL, List.of("user:1")));
+        assertEquals("v2", taggedCache.get("k", loader, TTL, List.of("user:1")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void reloadReturningNullEvictsEntry() {
+        taggedCache.get("k", () -> "v", TTL, List.of("user:1"));
+        taggedCache.invalidateTag("user:1");
+
+        assertNull(taggedCache.get("k", () -> null, TTL, List.of("user:1")));
+        assertTrue(stored.isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void remoteInvalidationIsSeenAfterMessage() {
+        ArgumentCaptor<MessageListener<String>> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(topic).addListener(eq(String.class), listener.capture());
+        AtomicInteger loads = new AtomicInteger();
+        taggedCache.get("k", () -> "v" + loads.incrementAndGet(), TTL, List.of("user:1"));
+
+        // 其他节点递增了代号，本地缓存的代号未过期前仍命中旧条目
+        remoteGenerations.put(PREFIX + "user:1", 1L);
+        assertEquals("v1", taggedCache.get("k", () -> "v" + loads.incrementAndGet(), TTL, List.of("user:1")));
+
+        listener.getValue().onMessage("channel", "user:1");
+        assertEquals("v2", taggedCache.get("k", () -> "v" + loads.incrementAndGet(), TTL, List.of("user:1")));
+    }
+
+    @Test
+    void missingGenerationsAreReadInOneBatch() {
+        taggedCache.get("k", () -> "v", TTL, List.of("user:1", "org:7", "team:3"));
+
+        verify(buckets, times(1)).get(any(String[].class));
+        // 本地已缓存代号，再次读取不访问 Redis
+        taggedCache.get("k", () -> "v", TTL, List.of("user:1", "org:7", "team:3"));
+        verify(buckets, times(1)).get(any(String[].class));
+    }
+
+    /**
+     * 兼容 Mockito 展开或不展开可变参数两种情况
+     */
+    private static List<String> names(Object[] arguments) {
+        List<String> names = new ArrayList<>();
+        for (Object argument : arguments) {
+            if (argument instanceof String[] array) {
+                names.addAll(Arrays.asList(array));
+            } else {
+                names.add((String) argument);
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.template.manager.cache;
+
+import com.example.template.common.properties.CacheProperties;
+import com.example.template.config.cache.CacheCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WriteBehindBufferTest {
+
+    private static final String PENDING = "test:wb:{t_user}";
+
+    private static final String FLUSHING = PENDING + ":flushing";
+
+    private RMap<String, Object> pending;
+
+    private RMap<String, Object> flushing;
+
+    private RLock lock;
+
+    private RecordingFlusher flusher;
+
+    private WriteBehindBuffer buffer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        CacheCodec codec = new CacheCodec(CacheCodec.Format.SMILE, 0, Map.of());
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        pending = mock(RMap.class);
+        flushing = mock(RMap.class);
+        lock = mock(RLock.class);
+        when(redissonClient.<String, Object>getMap(PENDING, codec)).thenReturn(pending);
+        when(redissonClient.<String, Object>getMap(FLUSHING, codec)).thenReturn(flushing);
+        when(redissonClient.getLock(PENDING + ":lock")).thenReturn(lock);
+        when(flushing.getName()).thenReturn(FLUSHING);
+        when(lock.tryLock()).thenReturn(true);
+
+        CacheProperties properties = new CacheProperties();
+        properties.getWriteBehind().setKeyPrefix("test:wb:");
+        properties.getWriteBehind().setBatchSize(2);
+        properties.getWriteBehind().setFlushInterval(3_600_000);
+        flusher = new RecordingFlusher();
+        ObjectProvider<WriteBehindFlusher> provider = mock(ObjectProvider.class);
+        when(provider.orderedStream()).thenReturn(Stream.of(flusher));
+        buffer = new WriteBehindBuffer(redissonClient, properties, codec, provider);
+    }
+
+    @Test
+    void flushesPendingBufferInBatches() {
+        when(pending.isExists()).thenReturn(true);
+        when(flushing.readAllMap()).thenReturn(entries("a", "b", "c"));
+
+        buffer.shutdown();
+
+        // 先整体转移为刷新中，再按批量大小写库，每批成功后移除
+        verify(pending).rename(FLUSHING);
+        assertEquals(List.of(entries("a", "b"), entries("c")), flusher.batches);
+        verify(flushing).fastRemove("a", "b");
+        verify(flushing).fastRemove("c");
+        verify(flushing).delete();
+        verify(lock).unlock();
+    }
+
+    @Test
+    void retriesUnfinishedFlushBeforeTakingNewWrites() {
+        when(flushing.isExists()).thenReturn(true);
+        when(flushing.readAllMap()).thenReturn(entries("a"));
+
+        buffer.shutdown();
+
+        verify(pending, never()).rename(any());
+        assertEquals(List.of(entries("a")), flusher.batches);
+    }
+
+    @Test
+    void failedBatchStaysInFlushingBuffer() {
+        when(pending.isExists()).thenReturn(true);
+        when(flushing.readAllMap()).thenReturn(entries("a", "b", "c"));
+        flusher.failOnBatch = 2;
+
+        buffer.shutdown();
+
+        verify(flushing).fastRemove("a", "b");
+        verify(flushing, never()).fastRemove("c");
+        verify(flushing, never()).delete();
+        verify(lock).unlock();
+    }
+
+    @Test
+    void skipsWhenAnotherNodeIsFlushing() {
+        when(lock.tryLock()).thenReturn(false);
+
+        buffer.shutdown();
+
+        assertTrue(flusher.batches.isEmpty());
+        verify(lock, never()).unlock();
+    }
+
+    @Test
+    void reachingBatchSizeTriggersFlush() {
+        when(pending.isExists()).thenReturn(true);
+        when(flushing.readAllMap()).thenReturn(entries("a", "b"));
+
+        buffer.write("t_user", "a", "value-a");
+        verify(pending, never()).rename(any());
+        buffer.write("t_user", "b", "value-b");
+
+        verify(pending).fastPut("a", "value-a");
+        verify(flushing, timeout(5000)).delete();
+        assertEquals(List.of(entries("a", "b")), flusher.batches);
+    }
+
+    @Test
+    void rejectsNamespaceWithoutFlusher() {
+        assertThrows(IllegalArgumentException.class, () -> buffer.write("t_file", "k", "v"));
+    }
+
+    private static Map<String, Object> entries(String... keys) {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (String key : keys) {
+            entries.put(key, "value-" + key);
+        }
+        return entries;
+    }
+
+    /**
+     * 记录每次写库的批次，可指定第几批抛出异常
+     */
+    private static final class RecordingFlusher implements WriteBehindFlusher {
+
+        private final List<Map<String, Object>> batches = new ArrayList<>();
+
+        private int failOnBatch;
+
+        @Override
+        public String namespace() {
+            return "t_user";
+        }
+
+        @Override
+        public void flush(Map<String, Object> entries) {
+            if (batches.size() + 1 == failOnBatch) {
+                throw new IllegalStateException("数据库不可用");
+            }
+            batches.add(new LinkedHashMap<>(entries));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.template.manager.cache.partition;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> MEMBERS = List.of("10.0.0.1:9900", "10.0.0.2:9900", "10.0.0.3:9900");
+
+    private static final int KEY_COUNT = 30000;
+
+    @Test
+    void emptyRingHasNoOwner() {
+        assertNull(new ConsistentHashRing(Set.of(), 160).ownerOf("UserService:getById:1"));
+    }
+
+    @Test
+    void ownershipDoesNotDependOnMemberOrder() {
+        ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, 160);
+        ConsistentHashRing shuffled = new ConsistentHashRing(List.of(MEMBERS.get(2), MEMBERS.get(0), MEMBERS.get(1)), 160);
+        for (int i = 0; i < 1000; i++) {
+            String key = "UserService:getById:" + i;
+            assertEquals(ring.ownerOf(key), shuffled.ownerOf(key));
+        }
+    }
+
+    @Test
+    void keysAreSpreadAcrossMembers() {
+        ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, 160);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            counts.merge(ring.ownerOf("UserService:getById:" + i), 1, Integer::sum);
+        }
+        assertEquals(Set.copyOf(MEMBERS), counts.keySet());
+        // 160 个虚拟节点下每个成员的份额应接近 1/3
+        counts.values().forEach(count -> assertTrue(count > KEY_COUNT / 4 && count < KEY_COUNT * 5 / 12,
+                "分布不均匀：" + counts));
+    }
+
+    @Test
+    void removingMemberOnlyMovesItsOwnKeys() {
+        ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, 160);
+        String removed = MEMBERS.get(1);
+        ConsistentHashRing shrunk = new ConsistentHashRing(List.of(MEMBERS.get(0), MEMBERS.get(2)), 160);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            String key = "UserService:getById:" + i;
+            String before = ring.ownerOf(key);
+            String after = shrunk.ownerOf(key);
+            if (before.equals(removed)) {
+                assertNotEquals(removed, after);
+            } else {
+                assertEquals(before, after);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.template.module.mapper;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.example.template.common.base.ErrorCode;
+import com.example.template.exception.customize.ClientException;
+import com.example.template.manager.auth.UserIdentifierFilter;
+import com.example.template.manager.cache.Cache;
+import com.example.template.module.domain.entity.User;
+import com.example.template.module.service.impl.UserServiceImpl;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 在真实 MySQL 上验证 upsert 的生成键回填，需使用专用的测试库，例如：
+ * -Dmysql.url=jdbc:mysql://127.0.0.1:3306/template_test -Dmysql.username=root -Dmysql.password=root
+ * <p>
+ * 测试前按 sql/create_table.sql 创建 t_user（已存在时跳过），测试后只删除本次写入的行。
+ */
+@EnabledIfSystemProperty(named = "mysql.url", matches = ".+")
+class UserMapperIntegrationTest {
+
+    private static SqlSession sqlSession;
+
+    private UserServiceImpl userService;
+
+    private String email;
+
+    @BeforeAll
+    static void openSession() throws Exception {
+        UnpooledDataSource dataSource = new UnpooledDataSource("com.mysql.cj.jdbc.Driver",
+                System.getProperty("mysql.url"),
+                System.getProperty("mysql.username", "root"),
+                System.getProperty("mysql.password", ""));
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.setEnvironment(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        // 解析 XML 时按命名空间注册 Mapper，同时注入通用 CRUD 方法
+        try (InputStream in = Resources.getResourceAsStream("mapper/UserMapper.xml")) {
+            new XMLMapperBuilder(in, configuration, "mapper/UserMapper.xml", configuration.getSqlFragments()).parse();
+        }
+        sqlSession = new MybatisSqlSessionFactoryBuilder().build(configuration).openSession(true);
+
+        String ddl = Files.readString(Path.of("sql/create_table.sql"));
+        int start = ddl.indexOf("CREATE TABLE IF NOT EXISTS `t_user`");
+        try (Statement statement = sqlSession.getConnection().createStatement()) {
+            statement.execute(ddl.substring(start, ddl.indexOf(';', start)));
+        }
+    }
+
+    @AfterAll
+    static void closeSession() {
+        sqlSession.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        email = UUID.randomUUID().toString().substring(0, 8) + "@it.example.com";
+        Cache cache = mock(Cache.class);
+        // 缓存直接调用加载器，查询走数据库
+        when(cache.getTwoLevelCache(anyString(), any(), anyLong()))
+                .thenAnswer(invocation -> invocation.<Cache.DataLoader>getArgument(1).load());
+        userService = new UserServiceImpl();
+        ReflectionTestUtils.setField(userService, "baseMapper", sqlSession.getMapper(UserMapper.class));
+        ReflectionTestUtils.setField(userService, "cache", cache);
+        ReflectionTestUtils.setField(userService, "userIdentifierFilter", mock(UserIdentifierFilter.class));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try (PreparedStatement statement = connection().prepareStatement("delete from t_user where user_email = ?")) {
+            statement.setString(1, email);
+            statement.executeUpdate();
+        }
+    }
+
+    @Test
+    void insertReturnsPreAssignedId() {
+        User user = newUser();
+
+        Long id = userService.saveOrGetId(user);
+
+        assertEquals(user.getId(), id);
+        assertEquals(email, sqlSession.getMapper(UserMapper.class).selectById(id).getUserEmail());
+    }
+
+    @Test
+    void existingRowReturnsItsIdThroughLastInsertId() {
+        Long first = userService.saveOrGetId(newUser());
+
+        // 驱动回填的是已有行的ID，而不是本次预先分配的ID
+        assertEquals(first, userService.saveOrGetId(newUser()));
+    }
+
+    @Test
+    void softDeletedRowIsNotReturned() throws Exception {
+        Long id = userService.saveOrGetId(newUser());
+        try (PreparedStatement statement = connection().prepareStatement("update t_user set is_deleted = 1 where id = ?")) {
+            statement.setLong(1, id);
+            statement.executeUpdate();
+        }
+
+        ClientException exception = assertThrows(ClientException.class, () -> userService.saveOrGetId(newUser()));
+        assertEquals(ErrorCode.USER_ERROR_A0203, exception.getErrorCode());
+    }
+
+    private User newUser() {
+        return new User().setUserAccount(email).setUserEmail(email);
+    }
+
+    private static Connection connection() {
+        return sqlSession.getConnection();
+    }
+}
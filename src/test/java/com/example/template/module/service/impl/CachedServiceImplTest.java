@@ -0,0 +1,110 @@
+package com.example.template.module.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.example.template.manager.cache.Cache;
+import com.example.template.module.domain.entity.File;
+import com.example.template.module.mapper.FileMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CachedServiceImplTest {
+
+    private FileServiceImpl fileService;
+
+    private FileMapper fileMapper;
+
+    private Cache cache;
+
+    @BeforeAll
+    static void initTableInfo() {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        assistant.setCurrentNamespace(FileMapper.class.getName());
+        TableInfoHelper.initTableInfo(assistant, File.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        fileMapper = mock(FileMapper.class);
+        cache = mock(Cache.class);
+        fileService = new FileServiceImpl();
+        ReflectionTestUtils.setField(fileService, "baseMapper", fileMapper);
+        ReflectionTestUtils.setField(fileService, "cache", cache);
+    }
+
+    @Test
+    void updateByIdEvictsPreImageAndNewUniqueKeys() {
+        File old = new File().setId(1L).setUniqueKey("old-digest");
+        File updated = new File().setId(1L).setUniqueKey("new-digest");
+        when(fileMapper.selectBatchIds(List.of(1L))).thenReturn(List.of(old));
+        when(fileMapper.updateById(updated)).thenReturn(1);
+
+        assertTrue(fileService.updateById(updated));
+
+        verify(cache).evict("t_file:id:1");
+        verify(cache).evict("t_file:uniqueKey:old-digest");
+        verify(cache).evict("t_file:uniqueKey:new-digest");
+    }
+
+    @Test
+    void removeByIdEvictsPreImageUniqueKey() {
+        when(fileMapper.selectBatchIds(List.of(3L))).thenReturn(List.of(new File().setId(3L).setUniqueKey("digest")));
+        when(fileMapper.deleteById(3L)).thenReturn(1);
+
+        assertTrue(fileService.removeById(3L));
+
+        verify(cache).evict("t_file:id:3");
+        verify(cache).evict("t_file:uniqueKey:digest");
+    }
+
+    @Test
+    void failedWriteDoesNotEvict() {
+        File updated = new File().setId(4L).setUniqueKey("digest");
+        when(fileMapper.selectBatchIds(List.of(4L))).thenReturn(List.of());
+        when(fileMapper.updateById(updated)).thenReturn(0);
+
+        assertFalse(fileService.updateById(updated));
+        verify(cache, never()).evict(anyString());
+    }
+
+    @Test
+    void saveEvictsCachedNullOfUniqueKey() {
+        File file = new File().setUniqueKey("digest");
+        when(fileMapper.insert(file)).thenReturn(1);
+
+        assertTrue(fileService.save(file));
+
+        // 新增不需要查询修改前的数据
+        verify(fileMapper, never()).selectBatchIds(any());
+        verify(cache).evict("t_file:uniqueKey:digest");
+    }
+
+    @Test
+    void conditionalWritesAreRejected() {
+        assertThrows(UnsupportedOperationException.class,
+                () -> fileService.update(Wrappers.<File>lambdaUpdate().set(File::getFileName, "name")));
+        assertThrows(UnsupportedOperationException.class, () -> fileService.lambdaUpdate());
+        assertThrows(UnsupportedOperationException.class,
+                () -> fileService.remove(Wrappers.<File>lambdaQuery().eq(File::getFileName, "name")));
+        assertThrows(UnsupportedOperationException.class, () -> fileService.removeByMap(Map.of("file_name", "name")));
+        verifyNoInteractions(fileMapper, cache);
+    }
+}
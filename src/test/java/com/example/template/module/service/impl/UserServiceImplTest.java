@@ -0,0 +1,147 @@
+package com.example.template.module.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.example.template.common.base.ErrorCode;
+import com.example.template.exception.customize.ClientException;
+import com.example.template.manager.auth.UserIdentifierFilter;
+import com.example.template.manager.cache.Cache;
+import com.example.template.module.domain.entity.User;
+import com.example.template.module.mapper.UserMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+    private UserServiceImpl userService;
+
+    private UserMapper userMapper;
+
+    private Cache cache;
+
+    private UserIdentifierFilter userIdentifierFilter;
+
+    @BeforeAll
+    static void initTableInfo() {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        assistant.setCurrentNamespace(UserMapper.class.getName());
+        TableInfoHelper.initTableInfo(assistant, User.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        userMapper = mock(UserMapper.class);
+        cache = mock(Cache.class);
+        userIdentifierFilter = mock(UserIdentifierFilter.class);
+        userService = new UserServiceImpl();
+        ReflectionTestUtils.setField(userService, "baseMapper", userMapper);
+        ReflectionTestUtils.setField(userService, "cache", cache);
+        ReflectionTestUtils.setField(userService, "userIdentifierFilter", userIdentifierFilter);
+    }
+
+    @Test
+    void saveOrGetIdKeepsAssignedIdForNewUser() {
+        User user = new User().setUserEmail("new@example.com");
+        when(userMapper.upsert(any())).thenReturn(1);
+
+        Long id = userService.saveOrGetId(user);
+
+        assertEquals(user.getId(), id);
+        // 新用户：剔除唯一列上缓存的空值，并记录到布隆过滤器
+        verify(cache).evict("t_user:userEmail:new@example.com");
+        verify(cache).evict("t_user:id:" + id);
+        verify(userIdentifierFilter).put(user);
+    }
+
+    @Test
+    void saveOrGetIdReturnsExistingIdWrittenBackByLastInsertId() {
+        User user = new User().setUserEmail("old@example.com");
+        // 唯一列冲突时 ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id) 将已有用户的ID回填
+        doAnswer(invocation -> {
+            invocation.<User>getArgument(0).setId(42L);
+            return 2;
+        }).when(userMapper).upsert(any());
+
+        when(cache.getTwoLevelCache(eq("t_user:id:42"), any(), anyLong())).thenReturn(new User().setId(42L).setDeleted(0));
+
+        assertEquals(42L, userService.saveOrGetId(user));
+        verify(cache, never()).evict(anyString());
+        verifyNoInteractions(userIdentifierFilter);
+    }
+
+    @Test
+    void saveOrGetIdRejectsSoftDeletedUser() {
+        // 唯一索引包含已逻辑删除的行，冲突时回填的是已删除用户的ID
+        doAnswer(invocation -> {
+            invocation.<User>getArgument(0).setId(43L);
+            return 2;
+        }).when(userMapper).upsert(any());
+        when(cache.getTwoLevelCache(eq("t_user:id:43"), any(), anyLong())).thenReturn(new User().setId(43L).setDeleted(1));
+
+        ClientException exception = assertThrows(ClientException.class,
+                () -> userService.saveOrGetId(new User().setUserEmail("gone@example.com")));
+        assertEquals(ErrorCode.USER_ERROR_A0203, exception.getErrorCode());
+        verifyNoInteractions(userIdentifierFilter);
+    }
+
+    @Test
+    void updateByIdEvictsMappingsAndCredentialOfPreImage() {
+        User old = new User().setId(1L).setUserAccount("old_account");
+        User updated = new User().setId(1L).setUserAccount("new_account");
+        when(userMapper.selectBatchIds(List.of(1L))).thenReturn(List.of(old));
+        when(userMapper.updateById(updated)).thenReturn(1);
+
+        assertTrue(userService.updateById(updated));
+
+        // 修改前的数据直接查询数据库，不经过缓存
+        verify(cache, never()).getTwoLevelCache(any(), any(), anyLong());
+        verify(cache).evict("t_user:userAccount:old_account");
+        verify(cache).evict("t_user:userAccount:new_account");
+        verify(cache).evict("credential:id:1");
+        verify(userIdentifierFilter).put(updated);
+    }
+
+    @Test
+    void removeByIdEvictsMappingsAndCredentialOfPreImage() {
+        User old = new User().setId(2L).setUserEmail("gone@example.com");
+        when(userMapper.selectBatchIds(List.of(2L))).thenReturn(List.of(old));
+        when(userMapper.deleteById(2L)).thenReturn(1);
+
+        assertTrue(userService.removeById(2L));
+
+        verify(cache).evict("t_user:id:2");
+        verify(cache).evict("t_user:userEmail:gone@example.com");
+        verify(cache).evict("credential:id:2");
+        verifyNoInteractions(userIdentifierFilter);
+    }
+
+    @Test
+    void saveSucceedsWhenBloomFilterIsUnavailable() {
+        User user = new User().setUserAccount("account");
+        when(userMapper.insert(user)).thenReturn(1);
+        doThrow(new IllegalStateException("redis down")).when(userIdentifierFilter).put(user);
+
+        assertTrue(userService.save(user));
+        verify(cache).evict("t_user:userAccount:account");
+    }
+}